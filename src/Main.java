@@ -1,57 +1,319 @@
+import com.wolfgame.core.Camp;
 import com.wolfgame.core.Game;
 import com.wolfgame.core.Role;
+import com.wolfgame.core.TableConfig;
+import com.wolfgame.sim.AllocationCheck;
+import com.wolfgame.sim.CounterfactualFork;
+import com.wolfgame.sim.Decision;
+import com.wolfgame.sim.DecisionTraceExport;
+import com.wolfgame.sim.ImportanceSampling;
+import com.wolfgame.sim.PairedComparison;
+import com.wolfgame.sim.ParameterSearch;
+import com.wolfgame.sim.RareEvent;
+import com.wolfgame.sim.ResultCache;
+import com.wolfgame.sim.ResultPipeline;
+import com.wolfgame.sim.SimulationConfig;
+import com.wolfgame.sim.SimulationDaemon;
+import com.wolfgame.sim.StratifiedSampling;
+import com.wolfgame.sim.Tournament;
+import com.wolfgame.stat.GameFeature;
+import com.wolfgame.stat.GameFingerprint;
 import com.wolfgame.stat.Statistics;
+import com.wolfgame.stat.StrategyProfile;
 // import com.wolfgame.strategy.BasicLogicStrategy;
+import com.wolfgame.strategy.InstrumentedStrategy;
+import com.wolfgame.strategy.LearningTable;
+import com.wolfgame.strategy.PolicyWeights;
 // import com.wolfgame.strategy.ProbabilityStrategy;
 import com.wolfgame.strategy.RandomStrategy;
 import com.wolfgame.strategy.Strategy;
+import com.wolfgame.strategy.StrategyFactory;
+import com.wolfgame.util.Log;
+import com.wolfgame.util.LogArchive;
+import com.wolfgame.util.RandomSource;
+import com.wolfgame.util.SplitMix64Random;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 程序入口类，负责解析命令行参数、初始化模拟器、运行多轮游戏并生成统计报告
  */
 public class Main {
+    private static final Path LOG_DIR = Path.of("res", "logs"); // 日志归档目录
+    private static final Path CACHE_DIR = Path.of("res", "cache"); // 结果缓存目录
     
     public static void main(String[] args) {
+        // 跨局学习表：运行前载入快照，运行后导出，供学习策略在多次运行之间持续学习
+        String learningTable = getOption(args, "--learning-table");
+        if (learningTable != null) {
+            loadLearningTable(Path.of(learningTable));
+        }
+        // 模型策略权重：运行前载入，模型策略都使用载入的权重
+        String policyWeights = getOption(args, "--policy-weights");
+        if (policyWeights != null) {
+            loadPolicyWeights(Path.of(policyWeights));
+        }
+        run(args);
+        if (learningTable != null) {
+            saveLearningTable(Path.of(learningTable));
+        }
+    }
+    
+    /**
+     * 按命令行参数选择运行模式
+     */
+    private static void run(String[] args) {
+        // 日志归档工具
+        if (args.length > 0 && args[0].equals("logs")) {
+            runLogsTool(args);
+            return;
+        }
+        
+        // 对局指纹比较工具
+        if (args.length > 0 && args[0].equals("verify")) {
+            runVerifyTool(args);
+            return;
+        }
+        
+        // 常驻服务模式
+        if (hasFlag(args, "--daemon")) {
+            runDaemon(args);
+            return;
+        }
+        
+        // 自适应锦标赛模式
+        if (hasFlag(args, "--tournament")) {
+            runTournament(args);
+            return;
+        }
+        
+        // 配对比较模式
+        if (hasFlag(args, "--compare")) {
+            runCompare(args);
+            return;
+        }
+        
+        // 稀有事件估计模式
+        if (getOption(args, "--rare-event") != null) {
+            runRareEvent(args);
+            return;
+        }
+        
+        // 分层抽样模式
+        if (hasFlag(args, "--stratified")) {
+            runStratified(args);
+            return;
+        }
+        
+        // 反事实分叉模式
+        if (hasFlag(args, "--fork")) {
+            runFork(args);
+            return;
+        }
+        
+        // 策略参数搜索模式
+        if (hasFlag(args, "--optimize")) {
+            runOptimize(args);
+            return;
+        }
+        
+        // 决策轨迹导出模式
+        if (hasFlag(args, "--trace-export")) {
+            runTraceExport(args);
+            return;
+        }
+        
+        // 稳态分配检查模式
+        if (hasFlag(args, "--alloc-check")) {
+            runAllocationCheck(args);
+            return;
+        }
+        
         // 解析命令行参数，设置默认值
         int totalRounds = parseTotalRounds(args);
         long randomSeed = parseRandomSeed(args);
+        boolean logEnabled = !hasFlag(args, "--no-log");
+        int threads = parseThreads(args);
+        RandomSource randomSource = new RandomSource(parseRandomAlgorithm(args), randomSeed);
         
         System.out.println("=== 狼人杀游戏模拟器 ===");
         System.out.println("模拟轮数: " + totalRounds);
         System.out.println("随机种子: " + randomSeed);
+        System.out.println("随机数算法: " + randomSource.getAlgorithm());
+        if (threads > 1) {
+            System.out.println("模拟线程数: " + threads);
+        }
         System.out.println("开始模拟游戏...");
         
         // 初始化统计类
-        Statistics statistics = new Statistics();
+        Statistics statistics = createStatistics(args);
         
         // 配置角色策略映射（这里使用默认策略配置，可以通过命令行参数调整）
         Map<Role, Strategy> roleStrategies = getDefaultStrategies();
         
-        // 运行多轮游戏
-        for (int i = 1; i <= totalRounds; i++) {
-            // 每轮使用不同的随机种子，但保持一定的可预测性
-            long seed = randomSeed + i;
-            
-            // 创建并运行游戏
-            Game game = new Game(i, roleStrategies, seed);
-            game.run();
-            
-            // 收集游戏数据
-            statistics.collectGameData(game);
-            
-            // 打印进度
-            if (i % 100 == 0 || i == totalRounds) {
-                System.out.println("已完成 " + i + "/" + totalRounds + " 轮游戏");
+        // 并行模拟时每局结果归约为原始类型记录交给汇总线程，不生成逐局文本日志；剖析记录器只能由单个线程写入
+        if (threads > 1 && logEnabled) {
+            System.err.println("警告：并行模拟不生成对局日志");
+            logEnabled = false;
+        }
+        if (threads > 1 && hasFlag(args, "--profile-strategies")) {
+            System.err.println("警告：并行模拟不支持决策剖析，忽略 --profile-strategies");
+        }
+        
+        // 开启决策剖析时用剖析装饰器包装每个策略，结果附加到统计报告中
+        if (threads == 1 && hasFlag(args, "--profile-strategies")) {
+            StrategyProfile profile = new StrategyProfile();
+            roleStrategies = InstrumentedStrategy.instrumentAll(roleStrategies, profile);
+            statistics.setStrategyProfile(profile);
+        }
+        
+        // 所有对局日志追加到同一个分段归档中
+        LogArchive archive = null;
+        if (logEnabled) {
+            try {
+                archive = new LogArchive(LOG_DIR, hasFlag(args, "--log-compress"));
+            } catch (IOException e) {
+                System.err.println("警告：无法创建日志归档，不再保存对局日志：" + e.getMessage());
+                logEnabled = false;
             }
         }
         
+        // 创建游戏并注册日志和统计监听器，游戏进行中实时收集数据；之后每轮原地重置复用同一个游戏对象
+        Game game = new Game(1, roleStrategies, TableConfig.standard(), randomSource);
+        applyBudget(args, game);
+        if (logEnabled) {
+            game.addListener(new Log(archive));
+        }
+        game.addListener(statistics);
+        
+        // 记录每局事件序列的指纹，指纹文件与统计报告一起保存，可用 verify 命令比较两次运行
+        GameFingerprint fingerprint = new GameFingerprint();
+        game.addListener(fingerprint);
+        statistics.setFingerprint(fingerprint);
+        
+        // 开启结果缓存时载入已缓存的连续轮次，只运行缓存未覆盖的轮次
+        ResultCache cache = hasFlag(args, "--cache") ? new ResultCache(CACHE_DIR) : null;
+        if (cache != null && game.getBudget().isTimed()) {
+            // 设置决策预算后结果取决于运行时的耗时，不能复现，也就不能缓存
+            System.err.println("警告：设置决策预算时结果不可复现，不使用结果缓存");
+            cache = null;
+        }
+        String cacheKey = null;
+        Statistics cached = null;
+        int firstRound = 1;
+        if (cache != null) {
+            cacheKey = cache.key(describeRun(roleStrategies, game.getTable(), randomSource, statistics));
+            cached = new Statistics(statistics.getCube().getFeatures());
+            cached.setFingerprint(new GameFingerprint());
+            firstRound = cache.load(cacheKey, totalRounds, cached) + 1;
+            System.out.println(firstRound > 1 ? "结果缓存：第1-" + (firstRound - 1) + "轮来自缓存（不重新生成日志）"
+                    : "结果缓存：没有可用的缓存");
+            if (firstRound > 1) {
+                game.reset(firstRound);
+            }
+        }
+        
+        if (threads > 1) {
+            // 并行运行：各模拟线程通过无锁环形缓冲区把每局结果交给当前线程汇总
+            ResultPipeline pipeline = new ResultPipeline(Main::getDefaultStrategies, game.getTable(), randomSource, threads);
+            pipeline.setBudget(game.getBudget().getBudgetNanos(), game.getBudget().getLimitNanos());
+            int games = pipeline.run(firstRound, totalRounds, statistics, fingerprint);
+            System.out.println("已完成 " + totalRounds + "/" + totalRounds + " 轮游戏（本次运行" + games + "轮）");
+        } else {
+            // 运行多轮游戏
+            for (int i = firstRound; i <= totalRounds; i++) {
+                // 每轮的随机数流由基础种子和轮次派生，保证可重复
+                if (i > firstRound) {
+                    game.reset(i);
+                }
+                game.run();
+                
+                // 打印进度
+                if (i % 100 == 0 || i == totalRounds) {
+                    System.out.println("已完成 " + i + "/" + totalRounds + " 轮游戏");
+                }
+            }
+        }
+        
+        if (archive != null) {
+            try {
+                archive.close();
+                System.out.println("游戏日志已归档至：" + LOG_DIR + "（" + archive.getEntryCount() + "局，"
+                        + archive.getSegmentCount() + "个分段），可用 logs extract <游戏ID> 导出单局日志");
+            } catch (IOException e) {
+                System.err.println("保存日志文件失败：" + e.getMessage());
+            }
+        }
+        
+        // 新运行的轮次保存为一个缓存分段，再与缓存的结果合并
+        if (cache != null) {
+            if (firstRound <= totalRounds) {
+                try {
+                    cache.store(cacheKey, firstRound, totalRounds, statistics);
+                    System.out.println("结果缓存：第" + firstRound + "-" + totalRounds + "轮已缓存至 " + CACHE_DIR.resolve(cacheKey));
+                } catch (IOException e) {
+                    System.err.println("保存结果缓存失败：" + e.getMessage());
+                }
+            }
+            statistics.merge(cached);
+            fingerprint.merge(cached.getFingerprint());
+        }
+        
         // 生成并输出统计报告
         statistics.printReport();
         statistics.saveReportToFile();
+        Path fingerprintFile = Path.of(getOption(args, "--fingerprints") != null
+                ? getOption(args, "--fingerprints") : "res/fingerprints.bin");
+        try {
+            fingerprint.save(fingerprintFile);
+            System.out.println("对局指纹已保存至：" + fingerprintFile);
+        } catch (IOException e) {
+            System.err.println("保存对局指纹失败：" + e.getMessage());
+        }
         
-        System.out.println("\n模拟完成！所有游戏日志和统计报告已保存至logs文件夹。");
+        System.out.println(logEnabled ? "\n模拟完成！所有游戏日志和统计报告已保存至logs文件夹。" : "\n模拟完成！统计报告已保存。");
+    }
+    
+    /**
+     * 解析 --budget 和 --limit 参数（纳秒），设置每次决策的软预算和硬上限；格式错误时忽略并保持不限
+     */
+    private static void applyBudget(String[] args, Game game) {
+        try {
+            game.getBudget().setBudgetNanos(getOption(args, "--budget") != null ? Long.parseLong(getOption(args, "--budget")) : 0);
+            game.getBudget().setLimitNanos(getOption(args, "--limit") != null ? Long.parseLong(getOption(args, "--limit")) : 0);
+        } catch (IllegalArgumentException e) {
+            System.err.println("警告：无效的决策预算参数，不限制决策耗时：" + e.getMessage());
+            game.getBudget().setBudgetNanos(0);
+            game.getBudget().setLimitNanos(0);
+            return;
+        }
+        if (game.getBudget().isTimed()) {
+            System.out.println("决策预算: 软预算 " + game.getBudget().getBudgetNanos() + " 纳秒, 硬上限 "
+                    + game.getBudget().getLimitNanos() + " 纳秒（0表示不限）");
+        }
+    }
+    
+    /**
+     * 描述决定各局结果的全部条件（不含轮数），作为结果缓存的键
+     */
+    private static String describeRun(Map<Role, Strategy> roleStrategies, TableConfig table,
+                                      RandomSource randomSource, Statistics statistics) {
+        StringBuilder description = new StringBuilder();
+        description.append("seed=").append(randomSource.getSeed()).append(" rng=").append(randomSource.getAlgorithm());
+        for (Role role : Role.values()) {
+            Strategy strategy = roleStrategies.get(role);
+            description.append(' ').append(role.name()).append('=').append(strategy != null ? strategy.getName() : "-");
+        }
+        description.append(" table=").append(table).append(" features=").append(statistics.getCube().getFeatures());
+        return description.toString();
     }
     
     /**
@@ -73,6 +335,47 @@ public class Main {
         return defaultRounds;
     }
     
+    /**
+     * 按 --cube-features（逗号分隔的分层特征，默认全部）和 --slice（报告中的切片条件）创建统计对象
+     */
+    private static Statistics createStatistics(String[] args) {
+        Statistics statistics = new Statistics();
+        String value = getOption(args, "--cube-features");
+        if (value != null) {
+            try {
+                List<GameFeature> features = new ArrayList<>();
+                for (String name : value.split(",")) {
+                    features.add(GameFeature.valueOf(name.trim().toUpperCase()));
+                }
+                statistics = new Statistics(features);
+            } catch (IllegalArgumentException e) {
+                System.err.println("警告：无效的分层特征参数，使用全部特征：" + e.getMessage());
+            }
+        }
+        try {
+            statistics.setReportSlice(getOption(args, "--slice"));
+        } catch (IllegalArgumentException e) {
+            System.err.println("警告：无效的切片条件，报告全部对局：" + e.getMessage());
+        }
+        return statistics;
+    }
+    
+    /**
+     * 解析命令行参数，获取主模式的模拟线程数（默认1，即在当前线程上逐局运行）
+     */
+    private static int parseThreads(String[] args) {
+        try {
+            int threads = intOption(args, "--threads", 1);
+            if (threads > 0) {
+                return threads;
+            }
+        } catch (NumberFormatException e) {
+            // 使用默认值
+        }
+        System.err.println("警告：无效的线程数参数，使用默认值1");
+        return 1;
+    }
+    
     /**
      * 解析命令行参数，获取随机种子
      */
@@ -92,6 +395,464 @@ public class Main {
         return defaultSeed;
     }
     
+    /**
+     * 解析命令行参数，获取随机数算法名称；算法已过时时在这里提示一次
+     */
+    private static String parseRandomAlgorithm(String[] args) {
+        String algorithm = getOption(args, "--rng");
+        if (algorithm == null) {
+            return RandomSource.DEFAULT_ALGORITHM;
+        }
+        try {
+            RandomSource.validate(algorithm);
+            if (RandomSource.isDeprecated(algorithm)) {
+                System.err.println("警告：随机数算法 " + algorithm + " 已过时");
+            }
+            return algorithm;
+        } catch (IllegalArgumentException e) {
+            System.err.println("警告：无效的随机数算法参数，使用默认值：" + RandomSource.DEFAULT_ALGORITHM);
+            return RandomSource.DEFAULT_ALGORITHM;
+        }
+    }
+    
+    /**
+     * 以常驻服务模式运行，通过 --port 指定本机TCP端口（默认7077）或 --socket 指定Unix域套接字路径，
+     * 通过 --threads 指定工作线程数（默认CPU核数）
+     */
+    private static void runDaemon(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int port = 7077;
+        String socketPath = getOption(args, "--socket");
+        try {
+            String value = getOption(args, "--threads");
+            if (value != null) {
+                threads = Integer.parseInt(value);
+            }
+            value = getOption(args, "--port");
+            if (value != null) {
+                port = Integer.parseInt(value);
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("警告：无效的线程数或端口参数，使用默认值");
+        }
+        
+        SimulationDaemon daemon = new SimulationDaemon(threads);
+        try {
+            if (socketPath != null) {
+                daemon.serveUnix(Path.of(socketPath));
+            } else {
+                daemon.serveTcp(port);
+            }
+        } catch (IOException e) {
+            System.err.println("模拟服务启动失败：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 以自适应锦标赛模式运行，按角色对策略排名
+     * 参数：--strategies 参赛策略（逗号分隔，默认全部）、--baseline 基准策略（默认Random）、
+     * --confidence 置信水平（默认0.95）、--max-games 总对局数上限（默认200000）、--threads 线程数、--seed、--rng
+     */
+    private static void runTournament(String[] args) {
+        SimulationConfig base = new SimulationConfig();
+        base.setSeed(parseRandomSeed(args));
+        base.setRngAlgorithm(parseRandomAlgorithm(args));
+        String value = getOption(args, "--strategies");
+        List<String> strategies = value != null
+                ? Arrays.asList(value.split(","))
+                : new ArrayList<>(StrategyFactory.names());
+        String baseline = getOption(args, "--baseline");
+        double confidence = 0.95;
+        int maxGames = 200000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            value = getOption(args, "--confidence");
+            if (value != null) {
+                confidence = Double.parseDouble(value);
+            }
+            value = getOption(args, "--max-games");
+            if (value != null) {
+                maxGames = Integer.parseInt(value);
+            }
+            value = getOption(args, "--threads");
+            if (value != null) {
+                threads = Integer.parseInt(value);
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("警告：无效的锦标赛参数，使用默认值");
+        }
+        
+        try {
+            // 提前校验策略名称
+            for (String name : strategies) {
+                StrategyFactory.create(name);
+            }
+            Tournament tournament = new Tournament(strategies, baseline != null ? baseline : "Random",
+                    base, confidence, maxGames, threads);
+            System.out.println("=== 策略锦标赛 ===");
+            long start = System.currentTimeMillis();
+            tournament.run();
+            System.out.println(tournament.generateReport());
+            System.out.println("耗时: " + (System.currentTimeMillis() - start) + " ms");
+            tournament.saveReportToFile();
+        } catch (IllegalArgumentException e) {
+            System.err.println("锦标赛参数错误：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 以配对比较模式运行，用公共随机数比较两组策略配置
+     * 参数：--a、--b 两组配置字符串（如 "WOLF=BasicLogic PROPHET=Bayesian"，见 SimulationConfig）、--camp 比较的阵营（默认GOOD）、
+     * --antithetic 开启对偶随机数、--rounds、--seed、--rng、--confidence、--threads；轮数、种子和随机数算法对两组配置统一生效
+     */
+    private static void runCompare(String[] args) {
+        try {
+            SimulationConfig configA = SimulationConfig.parse(getOption(args, "--a") != null ? getOption(args, "--a") : "");
+            SimulationConfig configB = SimulationConfig.parse(getOption(args, "--b") != null ? getOption(args, "--b") : "");
+            long seed = parseRandomSeed(args);
+            String algorithm = parseRandomAlgorithm(args);
+            int rounds = intOption(args, "--rounds", 10000);
+            for (SimulationConfig config : List.of(configA, configB)) {
+                config.setSeed(seed);
+                config.setRngAlgorithm(algorithm);
+                config.setRounds(rounds);
+            }
+            String value = getOption(args, "--camp");
+            Camp camp = value != null ? Camp.valueOf(value.toUpperCase()) : Camp.GOOD;
+            double confidence = doubleOption(args, "--confidence", 0.95);
+            
+            PairedComparison comparison = new PairedComparison(configA, configB, camp, hasFlag(args, "--antithetic"),
+                    confidence, intOption(args, "--threads", Runtime.getRuntime().availableProcessors()));
+            System.out.println("=== 配对比较 ===");
+            long start = System.currentTimeMillis();
+            comparison.run();
+            System.out.println(comparison.generateReport());
+            System.out.println("耗时: " + (System.currentTimeMillis() - start) + " ms");
+            comparison.saveReportToFile();
+        } catch (IllegalArgumentException e) {
+            System.err.println("配对比较参数错误：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 以参数搜索模式运行，用交叉熵方法调整可参数化策略的参数
+     * 参数：--strategy 被调整的策略（默认Probability）、--roles 使用该策略的角色（逗号分隔，默认WITCH）、
+     * --camp 目标阵营（默认为第一个角色所属阵营）、--baseline 其余角色的策略（默认Random）、
+     * --population 每轮候选数（默认24）、--iterations 最大轮数（默认10）、--games 每个候选的对局数（默认2000）、
+     * --validation 验证对局数（默认50000）、--confidence、--threads、--seed、--rng
+     */
+    private static void runOptimize(String[] args) {
+        try {
+            SimulationConfig base = new SimulationConfig();
+            base.setSeed(parseRandomSeed(args));
+            base.setRngAlgorithm(parseRandomAlgorithm(args));
+            String baseline = getOption(args, "--baseline");
+            for (Role role : Role.values()) {
+                base.setStrategy(role, baseline != null ? baseline : "Random");
+            }
+            String strategy = getOption(args, "--strategy");
+            String value = getOption(args, "--roles");
+            Set<Role> roles = EnumSet.noneOf(Role.class);
+            for (String name : (value != null ? value : "WITCH").split(",")) {
+                roles.add(Role.valueOf(name.trim().toUpperCase()));
+            }
+            value = getOption(args, "--camp");
+            Camp camp = value != null ? Camp.valueOf(value.toUpperCase()) : roles.iterator().next().getCamp();
+            
+            ParameterSearch search = new ParameterSearch(strategy != null ? strategy : "Probability", roles, camp, base,
+                    intOption(args, "--population", 24), intOption(args, "--iterations", 10),
+                    intOption(args, "--games", 2000), intOption(args, "--validation", 50000),
+                    doubleOption(args, "--confidence", 0.95),
+                    intOption(args, "--threads", Runtime.getRuntime().availableProcessors()));
+            System.out.println("=== 策略参数搜索 ===");
+            long start = System.currentTimeMillis();
+            search.run();
+            System.out.println(search.generateReport());
+            System.out.println("耗时: " + (System.currentTimeMillis() - start) + " ms");
+            search.saveReportToFile();
+        } catch (IllegalArgumentException e) {
+            System.err.println("参数搜索参数错误：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 以稀有事件估计模式运行，用重要性抽样估计随机策略下稀有事件的概率
+     * 参数：--rare-event 目标事件（GODS_DEAD_NIGHT1_GOOD_WIN 或 HUNTER_WINS_DAY1）、--rounds（默认100000）、
+     * --confidence（默认0.95）、--threads、--seed、--rng
+     */
+    private static void runRareEvent(String[] args) {
+        try {
+            RareEvent event = RareEvent.valueOf(getOption(args, "--rare-event").toUpperCase());
+            SimulationConfig config = new SimulationConfig();
+            config.setSeed(parseRandomSeed(args));
+            config.setRngAlgorithm(parseRandomAlgorithm(args));
+            config.setRounds(intOption(args, "--rounds", 100000));
+            double confidence = doubleOption(args, "--confidence", 0.95);
+            
+            ImportanceSampling sampling = new ImportanceSampling(config, event, confidence,
+                    intOption(args, "--threads", Runtime.getRuntime().availableProcessors()));
+            System.out.println("=== 稀有事件估计 ===");
+            long start = System.currentTimeMillis();
+            sampling.run();
+            System.out.println(sampling.generateReport());
+            System.out.println("耗时: " + (System.currentTimeMillis() - start) + " ms");
+            sampling.saveReportToFile();
+        } catch (IllegalArgumentException e) {
+            System.err.println("稀有事件估计参数错误：" + e.getMessage() + "，可选事件：" + Arrays.toString(RareEvent.values()));
+        }
+    }
+    
+    /**
+     * 以分层抽样模式运行，按座位角色分配分层估计阵营胜率并报告座位效应
+     * 参数：--config 对局配置字符串（见 SimulationConfig）、--camp 估计的阵营（默认GOOD）、--rounds（默认12600）、
+     * --confidence（默认0.95）、--threads、--seed、--rng
+     */
+    private static void runStratified(String[] args) {
+        try {
+            SimulationConfig config = SimulationConfig.parse(getOption(args, "--config") != null ? getOption(args, "--config") : "");
+            config.setSeed(parseRandomSeed(args));
+            config.setRngAlgorithm(parseRandomAlgorithm(args));
+            config.setRounds(intOption(args, "--rounds", 12600));
+            String value = getOption(args, "--camp");
+            Camp camp = value != null ? Camp.valueOf(value.toUpperCase()) : Camp.GOOD;
+            double confidence = doubleOption(args, "--confidence", 0.95);
+            
+            StratifiedSampling sampling = new StratifiedSampling(config, camp, confidence,
+                    intOption(args, "--threads", Runtime.getRuntime().availableProcessors()));
+            System.out.println("=== 分层抽样 ===");
+            long start = System.currentTimeMillis();
+            sampling.run();
+            System.out.println(sampling.generateReport());
+            System.out.println("耗时: " + (System.currentTimeMillis() - start) + " ms");
+            sampling.saveReportToFile();
+        } catch (IllegalArgumentException e) {
+            System.err.println("分层抽样参数错误：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 以决策轨迹导出模式运行，把每次策略决策的特征、选择和对局结果导出为二进制训练数据
+     * 参数：--config 对局配置字符串（见 SimulationConfig）、--rounds（默认100000）、--out 输出目录（默认res/trace）、
+     * --threads、--seed、--rng
+     */
+    private static void runTraceExport(String[] args) {
+        try {
+            SimulationConfig config = SimulationConfig.parse(getOption(args, "--config") != null ? getOption(args, "--config") : "");
+            config.setSeed(parseRandomSeed(args));
+            config.setRngAlgorithm(parseRandomAlgorithm(args));
+            config.setRounds(intOption(args, "--rounds", 100000));
+            Path directory = Path.of(getOption(args, "--out") != null ? getOption(args, "--out") : "res/trace");
+            
+            DecisionTraceExport export = new DecisionTraceExport(config, directory,
+                    intOption(args, "--threads", Runtime.getRuntime().availableProcessors()));
+            System.out.println("=== 决策轨迹导出 ===");
+            export.run();
+            System.out.println(export.generateReport());
+            export.saveReportToFile();
+        } catch (IllegalArgumentException e) {
+            System.err.println("决策轨迹导出参数错误：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 以反事实分叉模式运行，比较某局某个决策点上各个选项的胜率
+     * 参数：--game 目标对局（默认1）、--decision 目标决策（KILL、CHECK、ANTIDOTE、POISON 或 GUN）、--day 目标天数（默认1）、
+     * --forks 每个选项的分叉数（默认2000）、--config 对局配置字符串（见 SimulationConfig）、--camp 比较的阵营（默认GOOD）、
+     * --confidence、--threads、--seed；随机数算法固定为 SplitMix64，与 --rng SplitMix64 运行的同一局一致
+     */
+    private static void runFork(String[] args) {
+        try {
+            String value = getOption(args, "--decision");
+            if (value == null) {
+                throw new IllegalArgumentException("缺少 --decision");
+            }
+            Decision decision = Decision.valueOf(value.toUpperCase());
+            SimulationConfig config = SimulationConfig.parse(getOption(args, "--config") != null ? getOption(args, "--config") : "");
+            config.setSeed(parseRandomSeed(args));
+            config.setRngAlgorithm(SplitMix64Random.ALGORITHM);
+            value = getOption(args, "--camp");
+            Camp camp = value != null ? Camp.valueOf(value.toUpperCase()) : Camp.GOOD;
+            double confidence = doubleOption(args, "--confidence", 0.95);
+            
+            CounterfactualFork fork = new CounterfactualFork(config, intOption(args, "--game", 1), decision,
+                    intOption(args, "--day", 1), intOption(args, "--forks", 2000), camp, confidence,
+                    intOption(args, "--threads", Runtime.getRuntime().availableProcessors()));
+            System.out.println("=== 反事实分叉 ===");
+            long start = System.currentTimeMillis();
+            fork.run();
+            System.out.println(fork.generateReport());
+            System.out.println("耗时: " + (System.currentTimeMillis() - start) + " ms");
+            fork.saveReportToFile();
+        } catch (IllegalArgumentException e) {
+            System.err.println("反事实分叉参数错误：" + e.getMessage() + "，可选决策：" + Arrays.toString(Decision.values()));
+        }
+    }
+    
+    /**
+     * 获取整数选项，不存在时返回默认值，格式错误时抛出 {@link NumberFormatException}
+     */
+    private static int intOption(String[] args, String option, int defaultValue) {
+        String value = getOption(args, option);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+    
+    /**
+     * 获取浮点数选项，不存在时返回默认值，格式错误时抛出 {@link NumberFormatException}
+     */
+    private static double doubleOption(String[] args, String option, double defaultValue) {
+        String value = getOption(args, option);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+    
+    /**
+     * 检查复用游戏对象的稳态分配量，参数：--strategy 各角色使用的策略（默认依次检查所有内置策略）、--rng（默认算法）、--seed
+     * 任一策略未通过时以非零状态码退出
+     */
+    private static void runAllocationCheck(String[] args) {
+        long seed = parseRandomSeed(args);
+        String algorithm = parseRandomAlgorithm(args);
+        List<String> strategies = new ArrayList<>(StrategyFactory.names());
+        String strategy = getOption(args, "--strategy");
+        if (strategy != null) {
+            try {
+                StrategyFactory.create(strategy);
+                strategies = List.of(strategy);
+            } catch (IllegalArgumentException e) {
+                System.err.println("警告：无效的策略参数，检查所有内置策略");
+            }
+        }
+        boolean passed = true;
+        for (String name : strategies) {
+            SimulationConfig config = new SimulationConfig();
+            config.setSeed(seed);
+            config.setRngAlgorithm(algorithm);
+            for (Role role : Role.values()) {
+                config.setStrategy(role, name);
+            }
+            passed &= AllocationCheck.run(config);
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * 载入跨局学习表快照，文件不存在时从空表开始
+     */
+    private static void loadLearningTable(Path file) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            LearningTable.shared().load(file);
+            System.out.println("已载入学习表：" + file + "（" + LearningTable.shared().getTotalVisits() + "条决策记录）");
+        } catch (IOException e) {
+            System.err.println("警告：无法载入学习表，从空表开始：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 导出跨局学习表快照
+     */
+    private static void saveLearningTable(Path file) {
+        try {
+            LearningTable.shared().save(file);
+            System.out.println("学习表已保存至：" + file + "（" + LearningTable.shared().getTotalVisits() + "条决策记录）");
+        } catch (IOException e) {
+            System.err.println("保存学习表失败：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 载入模型策略权重，失败时使用默认权重
+     */
+    private static void loadPolicyWeights(Path file) {
+        try {
+            PolicyWeights weights = PolicyWeights.load(file);
+            PolicyWeights.setShared(weights);
+            System.out.println("已载入模型权重：" + file + "（隐层宽度" + weights.getHidden() + "）");
+        } catch (IOException e) {
+            System.err.println("警告：无法载入模型权重，使用默认权重：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 日志归档工具：logs extract <游戏ID> [--stdout]，从归档中导出单局日志为 res/logs/log<游戏ID>.txt 或打印到控制台
+     */
+    private static void runLogsTool(String[] args) {
+        if (args.length < 3 || !args[1].equals("extract")) {
+            System.err.println("用法：logs extract <游戏ID> [--stdout]");
+            return;
+        }
+        try {
+            int gameId = Integer.parseInt(args[2]);
+            String content = LogArchive.read(LOG_DIR, gameId);
+            if (content == null) {
+                System.err.println("归档中不存在游戏#" + gameId + "的日志");
+                return;
+            }
+            if (hasFlag(args, "--stdout")) {
+                System.out.print(content);
+            } else {
+                Path file = LOG_DIR.resolve("log" + gameId + ".txt");
+                Files.writeString(file, content);
+                System.out.println("游戏日志已导出至：" + file);
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("无效的游戏ID：" + args[2]);
+        } catch (IOException e) {
+            System.err.println("读取日志归档失败：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 对局指纹比较工具：verify <指纹文件A> <指纹文件B>，报告第一个不一致的对局，不一致时以非零状态码退出
+     */
+    private static void runVerifyTool(String[] args) {
+        if (args.length < 3) {
+            System.err.println("用法：verify <指纹文件A> <指纹文件B>");
+            return;
+        }
+        try {
+            StringBuilder report = new StringBuilder();
+            boolean identical = GameFingerprint.verify(Path.of(args[1]), Path.of(args[2]), report);
+            System.out.print(report);
+            if (!identical) {
+                System.exit(1);
+            }
+        } catch (IOException e) {
+            System.err.println("读取对局指纹失败：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 获取命令行参数中指定选项的值，不存在时返回null
+     */
+    private static String getOption(String[] args, String option) {
+        if (args != null) {
+            for (int i = 0; i < args.length - 1; i++) {
+                if (args[i].equals(option)) {
+                    return args[i + 1];
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 判断命令行参数中是否包含指定开关
+     */
+    private static boolean hasFlag(String[] args, String flag) {
+        if (args != null) {
+            for (String arg : args) {
+                if (arg.equals(flag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
     /**
      * 获取默认的角色策略配置
      */
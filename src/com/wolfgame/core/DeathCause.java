@@ -0,0 +1,21 @@
+package com.wolfgame.core;
+
+/**
+ * 死亡原因枚举类，定义玩家出局的方式
+ */
+public enum DeathCause {
+    WOLF_KILL("狼人击杀"),  // 夜晚被狼人击杀且未被解救
+    POISON("女巫毒杀"),     // 被女巫毒死
+    SHOT("猎人开枪"),       // 被猎人开枪带走
+    LYNCH("公投出局");      // 白天被公投出局
+    
+    private final String name;
+    
+    DeathCause(String name) {
+        this.name = name;
+    }
+    
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,84 @@
+package com.wolfgame.core;
+
+/**
+ * 决策时间预算类，每个游戏对象持有一个实例，在每次策略调用前后由引擎计时
+ * 软预算是策略可以用来逐步改进答案的时间，策略在 {@link #isExpired()} 之前可以继续计算，之后应尽快返回当前最优答案；
+ * 硬上限由引擎在调用返回后执行：超过硬上限的决策被丢弃并改用默认动作（不击杀、不查验、不用药、不开枪、弃票，发言作废），
+ * 超过软预算或硬上限都会通知监听器。两者都为0（默认）时不计时，与未设置预算的行为完全相同
+ */
+public final class DecisionBudget {
+    private long budgetNanos; // 每次决策的软预算（纳秒），0表示不限
+    private long limitNanos;  // 每次决策的硬上限（纳秒），0表示不限
+    private long start;       // 当前决策开始的时刻
+
+    /**
+     * 是否设置了软预算或硬上限
+     */
+    public boolean isTimed() {
+        return budgetNanos > 0 || limitNanos > 0;
+    }
+
+    /**
+     * 当前决策的软预算是否已经用完，未设置软预算时总是返回false
+     */
+    public boolean isExpired() {
+        return budgetNanos > 0 && System.nanoTime() - start >= budgetNanos;
+    }
+
+    /**
+     * 当前决策剩余的软预算（纳秒），未设置软预算时返回 {@link Long#MAX_VALUE}
+     */
+    public long remainingNanos() {
+        return budgetNanos > 0 ? Math.max(0, budgetNanos - (System.nanoTime() - start)) : Long.MAX_VALUE;
+    }
+
+    /**
+     * 开始一次决策的计时
+     */
+    void start() {
+        if (isTimed()) {
+            start = System.nanoTime();
+        }
+    }
+
+    /**
+     * 结束一次决策的计时，超过软预算或硬上限时通知监听器
+     * @return 是否超过硬上限，此时调用方应丢弃策略的结果并改用默认动作
+     */
+    boolean finish(String decision, int day, Player actor, GameEventListener[] listeners) {
+        if (!isTimed()) {
+            return false;
+        }
+        long elapsed = System.nanoTime() - start;
+        boolean fallback = limitNanos > 0 && elapsed > limitNanos;
+        if (fallback || (budgetNanos > 0 && elapsed > budgetNanos)) {
+            for (GameEventListener listener : listeners) {
+                listener.onBudgetOverrun(day, actor, decision, elapsed, fallback);
+            }
+        }
+        return fallback;
+    }
+
+    // getter和setter方法
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    public void setBudgetNanos(long budgetNanos) {
+        if (budgetNanos < 0) {
+            throw new IllegalArgumentException("决策预算不能为负数：" + budgetNanos);
+        }
+        this.budgetNanos = budgetNanos;
+    }
+
+    public long getLimitNanos() {
+        return limitNanos;
+    }
+
+    public void setLimitNanos(long limitNanos) {
+        if (limitNanos < 0) {
+            throw new IllegalArgumentException("决策硬上限不能为负数：" + limitNanos);
+        }
+        this.limitNanos = limitNanos;
+    }
+}
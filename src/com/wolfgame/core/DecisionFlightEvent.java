@@ -0,0 +1,79 @@
+package com.wolfgame.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 单次策略决策的JFR事件，持续时间为一次策略调用（击杀、查验、解药、毒药、开枪、发言、投票）
+ * 未开启飞行记录或本事件被禁用时不创建事件对象，稳态模拟不产生分配
+ */
+@Name("com.wolfgame.Decision")
+@Label("策略决策")
+@Category({"狼人杀", "决策"})
+@StackTrace(false)
+@Description("一次策略调用")
+public class DecisionFlightEvent extends jdk.jfr.Event {
+    static final String KILL = "狼人击杀";
+    static final String CHECK = "预言家查验";
+    static final String ANTIDOTE = "女巫解药";
+    static final String POISON = "女巫毒药";
+    static final String GUN = "猎人开枪";
+    static final String SPEAK = "发言";
+    static final String VOTE = "投票";
+
+    private static final EventType TYPE = EventType.getEventType(DecisionFlightEvent.class);
+
+    @Label("游戏ID")
+    int gameId;
+
+    @Label("天数")
+    int day;
+
+    @Label("决策")
+    String decision;
+
+    @Label("角色")
+    String role;
+
+    @Label("策略")
+    String strategy;
+
+    @Label("结果")
+    @Description("目标玩家ID，0表示没有目标；解药决策为1表示使用")
+    int result;
+
+    /**
+     * 事件启用时创建事件并开始计时，否则返回null
+     */
+    static DecisionFlightEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        DecisionFlightEvent event = new DecisionFlightEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 结束计时，超过阈值时填写决策信息并提交
+     */
+    static void finish(DecisionFlightEvent event, String decision, int gameId, int day, Player actor, int result) {
+        if (event != null && event.shouldCommit()) {
+            event.decision = decision;
+            event.gameId = gameId;
+            event.day = day;
+            event.role = actor.getRole().getName();
+            event.strategy = actor.getStrategy().getName();
+            event.result = result;
+            event.commit();
+        }
+    }
+
+    static void finish(DecisionFlightEvent event, String decision, int gameId, int day, Player actor, Player target) {
+        finish(event, decision, gameId, day, actor, target != null ? target.getId() : 0);
+    }
+}
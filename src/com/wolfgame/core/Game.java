@@ -1,162 +1,378 @@
 package com.wolfgame.core;
 
 import com.wolfgame.strategy.Strategy;
-import com.wolfgame.util.Log;
+import com.wolfgame.util.RandomSource;
+import com.wolfgame.util.SplitMix64Random;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.random.RandomGenerator;
 
 /**
  * 游戏主控制类，负责游戏流程的控制和胜负判定
+ * 同一个Game对象可以通过 {@link #reset(int)} 原地重置后运行下一局，玩家、角色和投票等数组在各局之间复用
  */
 public class Game {
-    private List<Player> players; // 所有玩家列表
+    private static final GameEventListener[] NO_LISTENERS = new GameEventListener[0];
+
+    private int gameId; // 游戏ID
+    private final List<Player> players; // 所有玩家列表
+    private final Role[] seatRoles; // 座位角色数组，每局原地洗牌
+    private final List<Player> alivePlayers; // 存活玩家列表（复用）
+    private final List<Player> deadPlayers; // 死亡玩家列表（复用）
+    private final int[] voteCounts; // 每个座位的得票数（复用）
+    private final Player[] voteTargets; // 每个投票者的投票目标（复用）
     private int dayCount; // 天数计数
     private boolean isGameOver; // 游戏是否结束
     private Camp winnerCamp; // 胜利阵营
-    private final Log gameLog; // 游戏日志
+    private GameEventListener[] listeners; // 已注册的事件监听器
+    private final MessageBus messageBus; // 白天公开消息总线
     private final Map<Role, Strategy> roleStrategies; // 角色策略映射
-    private final Random random; // 随机数生成器
-    private boolean antidoteUsed; // 解药是否已使用
-    private boolean lock; // 单回合解药锁/毒药锁
-    private final boolean poisonUsed; // 毒药是否已使用
+    private final Strategy[] strategies; // 按角色顺序去重后的策略实例
+    private final RandomGenerator[] strategyRandoms; // 各策略实例的随机数流
+    private final TableConfig table; // 对局阵容配置
+    private final RandomSource randomSource; // 随机数源
+    private RandomGenerator random; // 本局随机数生成器
+    private final NightPipeline nightPipeline; // 按阵容编译的夜晚行动流水线
+    private final Night night; // 夜晚行动上下文（复用）
+    private RoleAssignments assignments; // 角色分配编号，指定座位分配时才创建
+    private long assignment = -1; // 指定的座位分配序号，-1表示随机洗牌
+    private final long[] claims; // 公开的身份声明位图，按角色序号存放
+    private final Knowledge[] knowledge; // 各座位的知识
+    private final DecisionBudget budget; // 每次策略决策的时间预算
 
     public Game(int gameId, Map<Role, Strategy> roleStrategies, long randomSeed) {
+        this(gameId, roleStrategies, TableConfig.standard(), randomSeed);
+    }
+
+    public Game(int gameId, Map<Role, Strategy> roleStrategies, TableConfig table, long randomSeed) {
+        this(roleStrategies, table, new RandomSource(RandomSource.DEFAULT_ALGORITHM, randomSeed));
+        reset(gameId, randomSeed);
+    }
+
+    /**
+     * 创建一局游戏，本局随机数流由随机数源按游戏ID派生，各策略的随机数流再从本局随机数流中分出
+     */
+    public Game(int gameId, Map<Role, Strategy> roleStrategies, TableConfig table, RandomSource randomSource) {
+        this(roleStrategies, table, randomSource);
+        reset(gameId);
+    }
+
+    /**
+     * 分配各局之间复用的玩家、角色和投票数组
+     */
+    private Game(Map<Role, Strategy> roleStrategies, TableConfig table, RandomSource randomSource) {
         this.roleStrategies = roleStrategies;
-        this.random = new Random(randomSeed);
+        this.table = table;
+        this.randomSource = randomSource;
+        this.listeners = NO_LISTENERS;
+        this.messageBus = new MessageBus();
+
+        int playerCount = table.getPlayerCount();
+        this.seatRoles = new Role[playerCount];
+        this.players = new ArrayList<>(playerCount);
+        this.claims = new long[Role.values().length];
+        this.knowledge = new Knowledge[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            Player player = new Player(i + 1, table.getRoles().get(i), null);
+            knowledge[i] = new Knowledge(claims);
+            player.setKnowledge(knowledge[i]);
+            players.add(player);
+        }
+        this.alivePlayers = new ArrayList<>(playerCount);
+        this.deadPlayers = new ArrayList<>(playerCount);
+        this.voteCounts = new int[playerCount];
+        this.voteTargets = new Player[playerCount];
+        this.nightPipeline = NightPipeline.compile(table);
+        this.budget = new DecisionBudget();
+        this.night = new Night(budget);
+
+        // 按角色顺序去重策略实例，顺序决定各策略分到的随机数子流
+        List<Strategy> distinct = new ArrayList<>();
+        for (Role role : Role.values()) {
+            Strategy strategy = roleStrategies.get(role);
+            if (strategy != null && distinct.stream().noneMatch(s -> s == strategy)) {
+                distinct.add(strategy);
+            }
+        }
+        this.strategies = distinct.toArray(new Strategy[0]);
+        this.strategyRandoms = new RandomGenerator[strategies.length];
+        for (Strategy strategy : strategies) {
+            strategy.setBudget(budget);
+            strategy.setTable(table);
+        }
+    }
+
+    /**
+     * 重置为第 gameId 局，随机数流由随机数源按游戏ID派生
+     */
+    public final void reset(int gameId) {
+        reset(gameId, randomSource.gameSeed(gameId));
+    }
+
+    /**
+     * 原地重置为一局新游戏：重新播种随机数流、洗牌分配角色并重置玩家状态，不创建新的玩家对象
+     * @param gameId 游戏ID
+     * @param seed 本局随机种子
+     */
+    public final void reset(int gameId, long seed) {
+        this.gameId = gameId;
+        this.random = randomSource.reseed(random, seed);
         this.dayCount = 0;
         this.isGameOver = false;
-        this.antidoteUsed = false;
-        this.lock = false;
-        this.poisonUsed = false;
-        this.gameLog = new Log(gameId);
+        this.winnerCamp = null;
+        messageBus.clear();
+        assignStrategyStreams();
         initializePlayers();
+        nightPipeline.reset(seatRoles);
+        for (Strategy strategy : strategies) {
+            strategy.startGame(players);
+        }
+    }
+
+    /**
+     * 按角色顺序为每个策略实例分出独立的随机数流，使策略决策可以复现
+     */
+    private void assignStrategyStreams() {
+        for (int i = 0; i < strategies.length; i++) {
+            strategyRandoms[i] = randomSource.split(random, strategyRandoms[i]);
+            strategies[i].setRandom(strategyRandoms[i]);
+        }
     }
 
     /**
      * 初始化玩家列表，分配角色和策略
      */
     private void initializePlayers() {
-        players = new ArrayList<>();
-        List<Role> roles = new ArrayList<>();
-
-        // 添加标准7人局角色配置
-        roles.add(Role.WOLF);
-        roles.add(Role.WOLF);
-        roles.add(Role.PROPHET);
-        roles.add(Role.WITCH);
-        roles.add(Role.HUNTER);
-        roles.add(Role.VILLAGER);
-        roles.add(Role.VILLAGER);
-
-        // 随机打乱角色顺序
-        Collections.shuffle(roles, random);
-
-        // 创建玩家并分配角色和策略
-        for (int i = 0; i < roles.size(); i++) {
-            Role role = roles.get(i);
+        List<Role> roles = table.getRoles();
+        for (int i = 0; i < seatRoles.length; i++) {
+            seatRoles[i] = roles.get(i);
+        }
+
+        if (assignment >= 0) {
+            // 使用指定的座位分配（分层抽样）
+            assignments.unrank(assignment, seatRoles);
+        } else {
+            // 随机打乱角色顺序（与 Collections.shuffle 相同的Fisher-Yates过程）
+            for (int i = seatRoles.length; i > 1; i--) {
+                int j = random.nextInt(i);
+                Role tmp = seatRoles[i - 1];
+                seatRoles[i - 1] = seatRoles[j];
+                seatRoles[j] = tmp;
+            }
+        }
+
+        // 为玩家分配角色和策略
+        for (int i = 0; i < seatRoles.length; i++) {
+            Role role = seatRoles[i];
             Strategy strategy = roleStrategies.getOrDefault(role, roleStrategies.get(Role.VILLAGER));
-            players.add(new Player(i + 1, "玩家" + (i + 1), role, strategy));
+            players.get(i).reset(role, strategy);
         }
+        dealKnowledge();
+    }
 
-        // 记录角色分配信息
-        gameLog.logRoleAssignment(players);
+    /**
+     * 发牌时的知识：每个座位知道自己的阵营，狼人还知道所有同伴（因此也知道其余玩家都是好人）；清空公开的身份声明
+     */
+    private void dealKnowledge() {
+        long all = seatRoles.length == Long.SIZE ? -1L : (1L << seatRoles.length) - 1;
+        long wolves = 0;
+        for (int i = 0; i < seatRoles.length; i++) {
+            if (seatRoles[i] == Role.WOLF) {
+                wolves |= 1L << i;
+            }
+        }
+        for (int i = 0; i < seatRoles.length; i++) {
+            if (seatRoles[i] == Role.WOLF) {
+                knowledge[i].reset(wolves, all & ~wolves);
+            } else {
+                knowledge[i].reset(0, 1L << i);
+            }
+        }
+        Arrays.fill(claims, 0);
+    }
+
+    /**
+     * 指定下一次 {@link #reset(int)} 起使用的座位角色分配，取值为 {@link RoleAssignments} 中的分配序号，-1 恢复随机洗牌
+     * 指定分配时不再为洗牌消耗本局随机数，各策略的随机数流不受影响
+     */
+    public void setAssignment(long assignment) {
+        if (assignment >= 0) {
+            if (assignments == null) {
+                assignments = RoleAssignments.of(table.getRoles());
+            }
+            if (assignment >= assignments.getCount()) {
+                throw new IllegalArgumentException("座位分配序号超出范围：" + assignment);
+            }
+        }
+        this.assignment = Math.max(assignment, -1);
+    }
+
+    /**
+     * 注册游戏事件监听器，需在 {@link #run()} 之前调用，监听器在 {@link #reset(int)} 之后仍然保留
+     */
+    public void addListener(GameEventListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
     }
 
     /**
      * 运行一局游戏
      */
     public void run() {
+        GameFlightEvent event = GameFlightEvent.start();
+        for (GameEventListener listener : listeners) {
+            listener.onGameStart(this);
+        }
+        play();
+        GameFlightEvent.finish(event, this);
+    }
+
+    /**
+     * 从当前天数开始逐天进行，直到游戏结束
+     */
+    private void play() {
         while (!isGameOver) {
             dayCount++;
-            gameLog.logDayStart(dayCount);
+            for (GameEventListener listener : listeners) {
+                listener.onDayStart(dayCount);
+            }
 
             // 夜晚阶段
+            PhaseFlightEvent phase = PhaseFlightEvent.start(PhaseFlightEvent.NIGHT, gameId, dayCount, players);
             nightPhase();
+            PhaseFlightEvent.finish(phase);
             if (checkGameOver())
                 break;
 
             // 白天阶段
+            phase = PhaseFlightEvent.start(PhaseFlightEvent.DAY, gameId, dayCount, players);
             dayPhase();
+            PhaseFlightEvent.finish(phase);
             checkGameOver();
         }
 
-        // 记录游戏结果
-        gameLog.logGameResult(winnerCamp, players);
-        // 保存日志到文件
-        gameLog.saveToFile();
+        // 通知策略和监听器游戏结果
+        for (Strategy strategy : strategies) {
+            strategy.endGame(winnerCamp);
+        }
+        for (GameEventListener listener : listeners) {
+            listener.onGameEnd(this);
+        }
     }
 
     /**
-     * 夜晚阶段处理
+     * 把当前对局状态保存到快照，只能在某一天开始时（{@link GameEventListener#onDayStart} 或
+     * {@link GameEventListener#onNightStart} 回调中）调用；要求各策略的随机数流可以保存状态（--rng SplitMix64）
      */
-    private void nightPhase() {
-        gameLog.logNightStart();
-
-        // 获取存活玩家
-        List<Player> alivePlayers = getAlivePlayers();
-        List<Player> wolves = alivePlayers.stream()
-                .filter(Player::isWolf)
-                .collect(Collectors.toList());
-
-        // 1. 狼人选择击杀目标
-        Player victim = null;
-        if (!wolves.isEmpty()) {
-            // 狼人共同商议选择击杀目标（这里简化为使用第一个狼人的策略）
-            victim = wolves.getFirst().getStrategy().chooseKillTarget(wolves, players);
-            if (victim != null) {
-                gameLog.logWolfKill(victim);
+    public void snapshot(GameSnapshot snapshot) {
+        snapshot.gameId = gameId;
+        snapshot.day = dayCount;
+        if (snapshot.roles.length != seatRoles.length) {
+            snapshot.roles = new byte[seatRoles.length];
+        }
+        snapshot.alive = 0;
+        snapshot.poisoned = 0;
+        for (int i = 0; i < seatRoles.length; i++) {
+            Player player = players.get(i);
+            snapshot.roles[i] = (byte) seatRoles[i].ordinal();
+            snapshot.alive |= player.isAlive() ? 1L << i : 0;
+            snapshot.poisoned |= player.isPoisoned() ? 1L << i : 0;
+        }
+        snapshot.stageStates = nightPipeline.saveStates(snapshot.stageStates);
+        if (snapshot.randomStates.length != strategies.length) {
+            snapshot.randomStates = new long[strategies.length];
+        }
+        for (int i = 0; i < strategies.length; i++) {
+            if (!(strategyRandoms[i] instanceof SplitMix64Random splitMix)) {
+                throw new IllegalStateException("保存对局快照需要可保存状态的随机数算法：" + SplitMix64Random.ALGORITHM);
             }
+            snapshot.randomStates[i] = splitMix.getState();
+        }
+        snapshot.bus.copyFrom(messageBus);
+        if (snapshot.knowledge.length != knowledge.length * 2 + claims.length) {
+            snapshot.knowledge = new long[knowledge.length * 2 + claims.length];
         }
+        for (int i = 0; i < knowledge.length; i++) {
+            snapshot.knowledge[2 * i] = knowledge[i].getKnownWolves();
+            snapshot.knowledge[2 * i + 1] = knowledge[i].getKnownGood();
+        }
+        System.arraycopy(claims, 0, snapshot.knowledge, knowledge.length * 2, claims.length);
+    }
 
-        // 2. 预言家查验身份
-        Player prophet = alivePlayers.stream()
-                .filter(p -> p.getRole() == Role.PROPHET)
-                .findFirst().orElse(null);
-        if (prophet != null) {
-            Player checkTarget = prophet.getStrategy().chooseCheckTarget(prophet, players);
-            if (checkTarget != null) {
-                boolean isWolf = checkTarget.isWolf();
-                gameLog.logProphetCheck(prophet, checkTarget, isWolf);
+    /**
+     * 从快照恢复对局状态，并从快照所在的那一天开始继续运行到游戏结束（不再通知 onGameStart）
+     * 快照必须来自阵容和策略组合相同的游戏；策略的对局内记忆不属于快照，恢复时通过 startGame 重新开始，
+     * 因此首日的快照可以精确复现，之后的快照中策略会忘记此前各天的推理
+     */
+    public void resume(GameSnapshot snapshot) {
+        if (snapshot.roles.length != seatRoles.length || snapshot.randomStates.length != strategies.length) {
+            throw new IllegalArgumentException("快照与游戏的阵容或策略组合不一致");
+        }
+        this.gameId = snapshot.gameId;
+        this.dayCount = snapshot.day - 1;
+        this.isGameOver = false;
+        this.winnerCamp = null;
+        Role[] roles = Role.values();
+        for (int i = 0; i < seatRoles.length; i++) {
+            Role role = roles[snapshot.roles[i]];
+            seatRoles[i] = role;
+            Player player = players.get(i);
+            player.reset(role, roleStrategies.getOrDefault(role, roleStrategies.get(Role.VILLAGER)));
+            player.setAlive((snapshot.alive & 1L << i) != 0);
+            player.setPoisoned((snapshot.poisoned & 1L << i) != 0);
+        }
+        nightPipeline.reset(seatRoles);
+        nightPipeline.restoreStates(snapshot.stageStates);
+        messageBus.copyFrom(snapshot.bus);
+        for (int i = 0; i < knowledge.length; i++) {
+            knowledge[i].reset(snapshot.knowledge[2 * i], snapshot.knowledge[2 * i + 1]);
+        }
+        System.arraycopy(snapshot.knowledge, knowledge.length * 2, claims, 0, claims.length);
+        for (int i = 0; i < strategies.length; i++) {
+            strategies[i].startGame(players);
+            if (!(strategyRandoms[i] instanceof SplitMix64Random splitMix)) {
+                throw new IllegalStateException("恢复对局快照需要可保存状态的随机数算法：" + SplitMix64Random.ALGORITHM);
             }
+            splitMix.setSeed(snapshot.randomStates[i]);
         }
+        play();
+    }
 
-        // 3. 女巫使用解药或毒药
-        Player witch = alivePlayers.stream()
-                .filter(p -> p.getRole() == Role.WITCH)
-                .findFirst().orElse(null);
-        if (witch != null) {
-            lock = false; // 解药锁/毒药锁关闭
-            // 检查是否使用解药
-            if (victim != null && !antidoteUsed && witch.getStrategy().useAntidote(witch, victim, players)) {
-                gameLog.logWitchSave(victim);
-                victim = null; // 被害人被救活
-                antidoteUsed = true; // 解药已使用
-                lock = true; // 解药锁打开
-            }
+    /**
+     * 夜晚阶段处理
+     */
+    private void nightPhase() {
+        for (GameEventListener listener : listeners) {
+            listener.onNightStart(dayCount);
+        }
 
-            // 检查是否使用毒药：1. 毒药未被使用；2. 本回合未使用解药
-            if (!poisonUsed && !lock) {
-                Player poisonTarget = witch.getStrategy().usePoison(witch, players);
-                if (poisonTarget != null) {
-                    gameLog.logWitchPoison(poisonTarget);
-                    poisonTarget.setPoisoned(true);
-                    poisonTarget.setAlive(false);
-                    // 猎人被毒死时无法开枪
-                    checkHunterSkill(poisonTarget, true);
-                }
-            }
+        // 按行动顺序执行各夜晚阶段，各阶段只登记行动结果
+        night.begin(gameId, dayCount, players, listeners);
+        nightPipeline.run(night, players);
+
+        // 结算毒杀：猎人被毒死时无法开枪
+        Player poisonTarget = night.getPoisonTarget();
+        if (poisonTarget != null && poisonTarget.isAlive()) {
+            poisonTarget.setPoisoned(true);
+            killPlayer(poisonTarget, DeathCause.POISON);
+            checkHunterSkill(poisonTarget, true);
         }
 
-        // 执行狼人击杀
-        if (victim != null) {
-            victim.setAlive(false);
+        // 结算狼人击杀（被害人已被毒死时不再重复出局）
+        Player victim = night.getVictim();
+        if (victim != null && victim.isAlive()) {
+            killPlayer(victim, DeathCause.WOLF_KILL);
             // 猎人被狼人杀死时可以开枪
             checkHunterSkill(victim, false);
         }
 
-        // 记录夜晚结束信息
-        gameLog.logNightEnd(getDeadPlayersThisNight());
+        // 通知夜晚结束信息（无监听器时不构造死亡列表）
+        if (listeners.length > 0) {
+            List<Player> deadPlayers = getDeadPlayersThisNight();
+            for (GameEventListener listener : listeners) {
+                listener.onNightEnd(dayCount, deadPlayers);
+            }
+        }
     }
 
     /**
@@ -164,10 +380,18 @@ public class Game {
      */
     private void checkHunterSkill(Player player, boolean isPoisoned) {
         if (player.getRole() == Role.HUNTER && !player.isAlive()) {
+            DecisionFlightEvent event = DecisionFlightEvent.start();
+            budget.start();
             Player gunTarget = player.getStrategy().useGun(player, isPoisoned, players);
+            DecisionFlightEvent.finish(event, DecisionFlightEvent.GUN, gameId, dayCount, player, gunTarget);
+            if (budget.finish(DecisionFlightEvent.GUN, dayCount, player, listeners)) {
+                gunTarget = null;
+            }
             if (gunTarget != null && gunTarget.isAlive()) {
-                gameLog.logHunterShoot(player, gunTarget);
-                gunTarget.setAlive(false);
+                for (GameEventListener listener : listeners) {
+                    listener.onShot(dayCount, player, gunTarget);
+                }
+                killPlayer(gunTarget, DeathCause.SHOT);
                 // 被猎人带走的玩家如果是猎人，也需要检查技能，但这里简化处理
             }
         }
@@ -177,7 +401,9 @@ public class Game {
      * 白天阶段处理
      */
     private void dayPhase() {
-        gameLog.logDayStartDiscussion();
+        for (GameEventListener listener : listeners) {
+            listener.onDiscussionStart(dayCount);
+        }
 
         // 获取存活玩家
         List<Player> alivePlayers = getAlivePlayers();
@@ -185,56 +411,134 @@ public class Game {
             return;
         }
 
-        // 模拟发言讨论（简化处理，直接进入投票阶段）
+        // 发言阶段：按座位顺序发言，发言内容发布到消息总线
+        messageBus.beginDay(dayCount);
+        long firstMessage = messageBus.head();
+        for (int i = 0; i < alivePlayers.size(); i++) {
+            Player speaker = alivePlayers.get(i);
+            long before = messageBus.head();
+            DecisionFlightEvent event = DecisionFlightEvent.start();
+            budget.start();
+            speaker.getStrategy().speak(speaker, alivePlayers, players, messageBus);
+            DecisionFlightEvent.finish(event, DecisionFlightEvent.SPEAK, gameId, dayCount, speaker, 0);
+            if (budget.finish(DecisionFlightEvent.SPEAK, dayCount, speaker, listeners)) {
+                messageBus.discardFrom(before);
+            }
+            recordClaims(before);
+        }
+        if (listeners.length > 0) {
+            for (long seq = firstMessage; seq < messageBus.head(); seq++) {
+                Player speaker = players.get(messageBus.speaker(seq) - 1);
+                for (GameEventListener listener : listeners) {
+                    listener.onMessage(dayCount, speaker, messageBus.type(seq),
+                            getPlayerById(messageBus.target(seq)), messageBus.role(seq));
+                }
+            }
+        }
 
         // 投票阶段
-        Map<Player, Integer> voteCount = new HashMap<>();
-        for (Player voter : alivePlayers) {
-            Player voteTarget = voter.getStrategy().vote(voter, alivePlayers, players);
+        Arrays.fill(voteCounts, 0);
+        Arrays.fill(voteTargets, null);
+        boolean anyVote = false;
+        for (int i = 0; i < alivePlayers.size(); i++) {
+            Player voter = alivePlayers.get(i);
+            DecisionFlightEvent event = DecisionFlightEvent.start();
+            budget.start();
+            Player voteTarget = voter.getStrategy().vote(voter, alivePlayers, players, messageBus);
+            DecisionFlightEvent.finish(event, DecisionFlightEvent.VOTE, gameId, dayCount, voter, voteTarget);
+            if (budget.finish(DecisionFlightEvent.VOTE, dayCount, voter, listeners)) {
+                voteTarget = null;
+            }
             if (voteTarget != null && voteTarget.isAlive()) {
-                voteCount.put(voteTarget, voteCount.getOrDefault(voteTarget, 0) + 1);
-                gameLog.logVote(voter, voteTarget);
+                voteCounts[voteTarget.getId() - 1]++;
+                voteTargets[i] = voteTarget;
+                anyVote = true;
+                for (GameEventListener listener : listeners) {
+                    listener.onVote(dayCount, voter, voteTarget);
+                }
+            }
+        }
+        // 投票结束后统一公开投票记录，避免后投票的玩家看到本轮前面的投票
+        for (int i = 0; i < alivePlayers.size(); i++) {
+            if (voteTargets[i] != null) {
+                messageBus.publish(alivePlayers.get(i), MessageType.VOTE, voteTargets[i], null);
             }
         }
 
         // 统计投票结果
-        if (!voteCount.isEmpty()) {
+        if (anyVote) {
             // 找出得票最多的玩家
             Player mostVoted = null;
             int maxVotes = 0;
             boolean tie = false;
 
-            for (Map.Entry<Player, Integer> entry : voteCount.entrySet()) {
-                if (entry.getValue() > maxVotes) {
-                    maxVotes = entry.getValue();
-                    mostVoted = entry.getKey();
+            for (int seat = 0; seat < voteCounts.length; seat++) {
+                if (voteCounts[seat] > maxVotes) {
+                    maxVotes = voteCounts[seat];
+                    mostVoted = players.get(seat);
                     tie = false;
-                } else if (entry.getValue() == maxVotes) {
+                } else if (voteCounts[seat] > 0 && voteCounts[seat] == maxVotes) {
                     tie = true;
                 }
             }
 
             // 处理投票结果
             if (!tie && mostVoted != null) {
-                mostVoted.setAlive(false);
-                gameLog.logLynching(mostVoted, maxVotes);
+                for (GameEventListener listener : listeners) {
+                    listener.onLynch(dayCount, mostVoted, maxVotes);
+                }
+                killPlayer(mostVoted, DeathCause.LYNCH);
                 // 检查猎人技能
                 checkHunterSkill(mostVoted, mostVoted.isPoisoned());
             } else {
-                gameLog.logVoteTie();
+                for (GameEventListener listener : listeners) {
+                    listener.onVoteTie(dayCount);
+                }
             }
         }
 
-        gameLog.logDayEnd();
+        for (GameEventListener listener : listeners) {
+            listener.onDayEnd(dayCount);
+        }
+    }
+
+    /**
+     * 把从 fromSeq 开始新发布的身份声明记入公开知识，之后发言和投票的玩家都能查询到
+     */
+    private void recordClaims(long fromSeq) {
+        for (long seq = fromSeq; seq < messageBus.head(); seq++) {
+            if (messageBus.type(seq) == MessageType.ROLE_CLAIM && messageBus.role(seq) != null) {
+                Knowledge.claim(claims, players.get(messageBus.speaker(seq) - 1), messageBus.role(seq));
+            }
+        }
+    }
+
+    /**
+     * 使玩家出局并通知死亡事件
+     */
+    private void killPlayer(Player player, DeathCause cause) {
+        player.setAlive(false);
+        for (GameEventListener listener : listeners) {
+            listener.onDeath(dayCount, player, cause);
+        }
     }
 
     /**
      * 检查游戏是否结束
      */
     private boolean checkGameOver() {
-        List<Player> alivePlayers = getAlivePlayers();
-        int wolfCount = (int) alivePlayers.stream().filter(Player::isWolf).count();
-        int goodCount = alivePlayers.size() - wolfCount;
+        int wolfCount = 0;
+        int goodCount = 0;
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (player.isAlive()) {
+                if (player.isWolf()) {
+                    wolfCount++;
+                } else {
+                    goodCount++;
+                }
+            }
+        }
 
         // 狼人胜利条件：狼人数量等于或大于好人数量
         if (wolfCount >= goodCount) {
@@ -254,24 +558,45 @@ public class Game {
     }
 
     /**
-     * 获取存活玩家列表
+     * 获取存活玩家列表，返回的列表在各阶段之间复用
      */
     private List<Player> getAlivePlayers() {
-        return players.stream()
-                .filter(Player::isAlive)
-                .collect(Collectors.toList());
+        alivePlayers.clear();
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (player.isAlive()) {
+                alivePlayers.add(player);
+            }
+        }
+        return alivePlayers;
+    }
+
+    /**
+     * 根据玩家ID获取玩家，ID无效时返回null
+     */
+    private Player getPlayerById(int id) {
+        return id >= 1 && id <= players.size() ? players.get(id - 1) : null;
     }
 
     /**
-     * 获取本晚死亡的玩家列表
+     * 获取本晚死亡的玩家列表，返回的列表在各夜之间复用，仅在监听回调期间有效
      */
     private List<Player> getDeadPlayersThisNight() {
-        return players.stream()
-                .filter(p -> !p.isAlive())
-                .collect(Collectors.toList());
+        deadPlayers.clear();
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (!player.isAlive()) {
+                deadPlayers.add(player);
+            }
+        }
+        return deadPlayers;
     }
 
     // getter方法
+    public int getGameId() {
+        return gameId;
+    }
+
     public boolean isGameOver() {
         return isGameOver;
     }
@@ -287,4 +612,19 @@ public class Game {
     public int getDayCount() {
         return dayCount;
     }
+
+    public TableConfig getTable() {
+        return table;
+    }
+
+    public MessageBus getMessageBus() {
+        return messageBus;
+    }
+
+    /**
+     * 获取本游戏对象的决策预算，设置后对之后的所有对局生效
+     */
+    public DecisionBudget getBudget() {
+        return budget;
+    }
 }
\ No newline at end of file
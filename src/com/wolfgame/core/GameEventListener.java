@@ -0,0 +1,121 @@
+package com.wolfgame.core;
+
+import java.util.List;
+
+/**
+ * 游戏事件监听接口，游戏进程中的每个关键事件都会按发生顺序通知已注册的监听器
+ * 所有方法默认为空实现，监听器只需覆盖关心的事件；没有监听器时游戏不会构造任何事件参数
+ */
+public interface GameEventListener {
+    /**
+     * 游戏开始，角色已分配
+     */
+    default void onGameStart(Game game) {
+    }
+    
+    /**
+     * 新的一天开始
+     */
+    default void onDayStart(int day) {
+    }
+    
+    /**
+     * 夜晚开始
+     */
+    default void onNightStart(int day) {
+    }
+    
+    /**
+     * 狼人选择击杀目标（目标可能随后被女巫救活）
+     */
+    default void onKill(int day, Player victim) {
+    }
+    
+    /**
+     * 预言家查验
+     */
+    default void onCheck(int day, Player prophet, Player target, boolean isWolf) {
+    }
+    
+    /**
+     * 女巫使用解药
+     */
+    default void onSave(int day, Player witch, Player victim) {
+    }
+    
+    /**
+     * 女巫使用毒药
+     */
+    default void onPoison(int day, Player witch, Player target) {
+    }
+    
+    /**
+     * 猎人开枪
+     */
+    default void onShot(int day, Player hunter, Player target) {
+    }
+    
+    /**
+     * 玩家出局
+     */
+    default void onDeath(int day, Player player, DeathCause cause) {
+    }
+    
+    /**
+     * 夜晚结束
+     * @param deadPlayers 截至本晚已出局的玩家
+     */
+    default void onNightEnd(int day, List<Player> deadPlayers) {
+    }
+    
+    /**
+     * 白天讨论开始
+     */
+    default void onDiscussionStart(int day) {
+    }
+    
+    /**
+     * 玩家发言
+     */
+    default void onMessage(int day, Player speaker, MessageType type, Player target, Role role) {
+    }
+    
+    /**
+     * 玩家投票
+     */
+    default void onVote(int day, Player voter, Player target) {
+    }
+    
+    /**
+     * 玩家被公投出局
+     */
+    default void onLynch(int day, Player player, int votes) {
+    }
+    
+    /**
+     * 投票平局，无人出局
+     */
+    default void onVoteTie(int day) {
+    }
+    
+    /**
+     * 白天结束
+     */
+    default void onDayEnd(int day) {
+    }
+    
+    /**
+     * 策略决策超过软预算或硬上限（只在设置了 {@link DecisionBudget} 时发生）
+     * @param decision 决策名称
+     * @param nanos 决策耗时（纳秒）
+     * @param fallback 是否超过硬上限，策略的结果已被丢弃并改用默认动作
+     */
+    default void onBudgetOverrun(int day, Player actor, String decision, long nanos, boolean fallback) {
+    }
+    
+    /**
+     * 游戏结束，胜利阵营已确定
+     */
+    default void onGameEnd(Game game) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.wolfgame.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 对局的JFR事件，持续时间为整局游戏，可在JMC中与GC停顿等JVM事件对照
+ * 未开启飞行记录或本事件被禁用时不创建事件对象，稳态模拟不产生分配
+ */
+@Name("com.wolfgame.Game")
+@Label("对局")
+@Category({"狼人杀", "对局"})
+@StackTrace(false)
+@Description("一局游戏从开始到结束")
+public class GameFlightEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(GameFlightEvent.class);
+
+    @Label("游戏ID")
+    int gameId;
+
+    @Label("玩家数")
+    int players;
+
+    @Label("天数")
+    int days;
+
+    @Label("胜利阵营")
+    String winner;
+
+    /**
+     * 事件启用时创建事件并开始计时，否则返回null
+     */
+    static GameFlightEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        GameFlightEvent event = new GameFlightEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 结束计时，超过阈值时提交
+     */
+    static void finish(GameFlightEvent event, Game game) {
+        if (event != null && event.shouldCommit()) {
+            event.gameId = game.getGameId();
+            event.players = game.getPlayers().size();
+            event.days = game.getDayCount();
+            event.winner = game.getWinnerCamp() != null ? game.getWinnerCamp().getName() : null;
+            event.commit();
+        }
+    }
+}
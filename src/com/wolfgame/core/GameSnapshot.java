@@ -0,0 +1,27 @@
+package com.wolfgame.core;
+
+/**
+ * 对局快照类，保存某一天开始时的完整对局状态，只包含原始类型数据，不复制玩家和策略对象
+ * 座位角色按序号保存，存活和被毒状态按座位保存为位图（对局人数不超过64人），
+ * 夜晚阶段状态（如女巫药剂）和各策略随机数流的内部状态各保存为一个long，公开消息总线复制其原始类型缓冲区。
+ * 快照可以反复写入复用；写入完成后只读，可以被多个线程同时用于恢复
+ */
+public final class GameSnapshot {
+    int gameId;                             // 游戏ID
+    int day;                                // 快照所在天数，恢复后从这一天开始继续
+    byte[] roles = new byte[0];             // 各座位的角色序号
+    long alive;                             // 存活位图
+    long poisoned;                          // 被毒位图
+    long[] stageStates = new long[0];       // 各夜晚阶段的状态
+    long[] randomStates = new long[0];      // 各策略随机数流的内部状态
+    long[] knowledge = new long[0];         // 各座位确知的狼人和好人位图，之后是按角色的公开身份声明位图
+    final MessageBus bus = new MessageBus(); // 公开消息总线副本
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public int getDay() {
+        return day;
+    }
+}
@@ -0,0 +1,113 @@
+package com.wolfgame.core;
+
+/**
+ * 玩家知识类，记录某个座位确知的狼人和好人，以及全场公开的身份声明，全部以座位位图保存（座位i对应第i-1位）
+ * 由游戏引擎在发牌（自己的身份，狼人还知道所有同伴）、查验结果和发言中的身份声明时更新，所有查询都是O(1)的位运算。
+ * 策略应只通过决策玩家自己的 {@link Player#getKnowledge()} 了解其他玩家的身份，而不是读取其他玩家的角色
+ */
+public final class Knowledge {
+    private static final Role[] ROLES = Role.values();
+
+    private final long[] claims; // 公开的身份声明：按角色序号存放声称该角色的座位位图，同一局所有座位共享
+    private long wolves;         // 确知是狼人的座位
+    private long good;           // 确知是好人的座位
+
+    Knowledge(long[] claims) {
+        this.claims = claims;
+    }
+
+    /**
+     * 新的一局：重置为发牌时确知的狼人和好人
+     */
+    void reset(long wolves, long good) {
+        this.wolves = wolves;
+        this.good = good;
+    }
+
+    /**
+     * 得知某名玩家的阵营（如预言家的查验结果）
+     */
+    void learn(Player target, boolean isWolf) {
+        long bit = bit(target);
+        if (isWolf) {
+            wolves |= bit;
+            good &= ~bit;
+        } else {
+            good |= bit;
+            wolves &= ~bit;
+        }
+    }
+
+    /**
+     * 记录一次公开的身份声明，对同一局所有座位可见
+     */
+    static void claim(long[] claims, Player speaker, Role role) {
+        claims[role.ordinal()] |= bit(speaker);
+    }
+
+    private static long bit(Player player) {
+        return 1L << (player.getId() - 1);
+    }
+
+    /**
+     * 是否确知该玩家是狼人
+     */
+    public boolean isKnownWolf(Player player) {
+        return (wolves & bit(player)) != 0;
+    }
+
+    /**
+     * 是否确知该玩家是好人
+     */
+    public boolean isKnownGood(Player player) {
+        return (good & bit(player)) != 0;
+    }
+
+    /**
+     * 是否确知该玩家的阵营
+     */
+    public boolean isKnown(Player player) {
+        return ((wolves | good) & bit(player)) != 0;
+    }
+
+    /**
+     * 该玩家是否公开声称过某个身份
+     */
+    public boolean hasClaimed(Player player, Role role) {
+        return (claims[role.ordinal()] & bit(player)) != 0;
+    }
+
+    /**
+     * 该玩家是否公开声称过有技能的好人身份（预言家、女巫、猎人）
+     */
+    public boolean hasClaimedSkill(Player player) {
+        long bit = bit(player);
+        for (Role role : ROLES) {
+            if (role.isHasSkill() && role.getCamp() == Camp.GOOD && (claims[role.ordinal()] & bit) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 确知是狼人的座位位图
+     */
+    public long getKnownWolves() {
+        return wolves;
+    }
+
+    /**
+     * 确知是好人的座位位图
+     */
+    public long getKnownGood() {
+        return good;
+    }
+
+    /**
+     * 公开声称某个身份的座位位图
+     */
+    public long getClaims(Role role) {
+        return claims[role.ordinal()];
+    }
+}
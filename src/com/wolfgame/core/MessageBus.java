@@ -0,0 +1,132 @@
+package com.wolfgame.core;
+
+/**
+ * 单局游戏的公开消息总线，使用预分配的环形缓冲区保存原始类型的消息记录
+ * 消息按序号顺序发布，读取方通过 {@link #tail()} 和 {@link #head()} 之间的序号遍历仍在缓冲区中的消息
+ */
+public class MessageBus {
+    private static final int DEFAULT_CAPACITY = 256; // 默认容量（2的幂）
+    private static final MessageType[] TYPES = MessageType.values();
+    private static final Role[] ROLES = Role.values();
+
+    private final int mask;        // 序号取模掩码
+    private final int[] days;      // 消息所在天数
+    private final int[] speakers;  // 发言者ID
+    private final byte[] types;    // 消息类型序号
+    private final int[] targets;   // 目标玩家ID，无目标时为0
+    private final byte[] roles;    // 声称的角色序号，无角色时为-1
+    private long head;             // 下一条消息的序号
+    private int currentDay;        // 当前天数
+
+    public MessageBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MessageBus(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.days = new int[size];
+        this.speakers = new int[size];
+        this.types = new byte[size];
+        this.targets = new int[size];
+        this.roles = new byte[size];
+    }
+
+    /**
+     * 开始新的一天，之后发布的消息都归属于该天
+     */
+    public void beginDay(int day) {
+        this.currentDay = day;
+    }
+
+    /**
+     * 清空总线，供新的一局游戏复用
+     */
+    public void clear() {
+        head = 0;
+        currentDay = 0;
+    }
+
+    /**
+     * 复制另一条容量相同的总线的全部消息和当前天数
+     */
+    public void copyFrom(MessageBus other) {
+        if (other.mask != mask) {
+            throw new IllegalArgumentException("消息总线容量不一致");
+        }
+        int count = (int) Math.min(other.head, days.length);
+        for (long seq = other.head - count; seq < other.head; seq++) {
+            int slot = (int) (seq & mask);
+            days[slot] = other.days[slot];
+            speakers[slot] = other.speakers[slot];
+            types[slot] = other.types[slot];
+            targets[slot] = other.targets[slot];
+            roles[slot] = other.roles[slot];
+        }
+        head = other.head;
+        currentDay = other.currentDay;
+    }
+
+    /**
+     * 发布一条消息
+     * @param speaker 发言者
+     * @param type 消息类型
+     * @param target 目标玩家，可以为null
+     * @param role 声称的角色，可以为null
+     */
+    public void publish(Player speaker, MessageType type, Player target, Role role) {
+        int slot = (int) (head & mask);
+        days[slot] = currentDay;
+        speakers[slot] = speaker.getId();
+        types[slot] = (byte) type.ordinal();
+        targets[slot] = target != null ? target.getId() : 0;
+        roles[slot] = (byte) (role != null ? role.ordinal() : -1);
+        head++;
+    }
+
+    /**
+     * 撤回序号 seq 及之后发布的消息（如超过决策硬上限的发言），seq 之前的消息不受影响
+     */
+    void discardFrom(long seq) {
+        head = Math.min(head, Math.max(seq, 0));
+    }
+
+    /**
+     * 获取下一条待发布消息的序号（即已发布消息总数）
+     */
+    public long head() {
+        return head;
+    }
+
+    /**
+     * 获取缓冲区中最早的仍可读取的消息序号
+     */
+    public long tail() {
+        return Math.max(0, head - days.length);
+    }
+
+    public int getCurrentDay() {
+        return currentDay;
+    }
+
+    public int day(long seq) {
+        return days[(int) (seq & mask)];
+    }
+
+    public int speaker(long seq) {
+        return speakers[(int) (seq & mask)];
+    }
+
+    public MessageType type(long seq) {
+        return TYPES[types[(int) (seq & mask)]];
+    }
+
+    public int target(long seq) {
+        return targets[(int) (seq & mask)];
+    }
+
+    public Role role(long seq) {
+        byte role = roles[(int) (seq & mask)];
+        return role >= 0 ? ROLES[role] : null;
+    }
+}
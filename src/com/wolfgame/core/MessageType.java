@@ -0,0 +1,21 @@
+package com.wolfgame.core;
+
+/**
+ * 白天公开消息类型枚举，定义发言和投票阶段可以发布到消息总线上的消息
+ */
+public enum MessageType {
+    ROLE_CLAIM("声称身份"),  // 发言者声称自己的角色
+    ACCUSE("指认狼人"),      // 发言者指认目标是狼人
+    VOUCH("担保好人"),       // 发言者担保目标是好人
+    VOTE("投票");            // 发言者投票给目标
+
+    private final String name;
+
+    MessageType(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,109 @@
+package com.wolfgame.core;
+
+import java.util.List;
+
+/**
+ * 夜晚行动上下文类，记录本晚的击杀和毒杀目标并通知监听器
+ * 各阶段只登记行动结果，出局在所有阶段结束后统一结算（先毒杀、后狼人击杀），因此后行动的角色不受本晚死亡影响。
+ * 每个游戏对象复用同一个实例
+ */
+public final class Night {
+    private final DecisionBudget budget;   // 游戏的决策预算
+    private List<Player> players;          // 所有玩家列表
+    private GameEventListener[] listeners; // 游戏的事件监听器
+    private int gameId;                    // 游戏ID
+    private int day;                       // 当前天数
+    private Player victim;                 // 狼人击杀目标，被解药救活后为null
+    private Player poisonTarget;           // 女巫毒杀目标
+
+    Night(DecisionBudget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * 开始新的一晚，清空上一晚的行动结果
+     */
+    void begin(int gameId, int day, List<Player> players, GameEventListener[] listeners) {
+        this.gameId = gameId;
+        this.day = day;
+        this.players = players;
+        this.listeners = listeners;
+        this.victim = null;
+        this.poisonTarget = null;
+    }
+
+    /**
+     * 开始一次策略决策的计时
+     */
+    void startDecision() {
+        budget.start();
+    }
+
+    /**
+     * 结束一次策略决策的计时，返回是否超过硬上限（此时应改用默认动作）
+     */
+    boolean exceedsLimit(String decision, Player actor) {
+        return budget.finish(decision, day, actor, listeners);
+    }
+
+    /**
+     * 登记狼人击杀目标
+     */
+    public void kill(Player target) {
+        victim = target;
+        for (GameEventListener listener : listeners) {
+            listener.onKill(day, target);
+        }
+    }
+
+    /**
+     * 女巫对狼人击杀目标使用解药，被害人被救活
+     */
+    public void save(Player witch) {
+        for (GameEventListener listener : listeners) {
+            listener.onSave(day, witch, victim);
+        }
+        victim = null;
+    }
+
+    /**
+     * 登记女巫毒杀目标
+     */
+    public void poison(Player witch, Player target) {
+        poisonTarget = target;
+        for (GameEventListener listener : listeners) {
+            listener.onPoison(day, witch, target);
+        }
+    }
+
+    /**
+     * 预言家查验目标身份
+     */
+    public void check(Player prophet, Player target) {
+        boolean isWolf = target.isWolf();
+        prophet.getKnowledge().learn(target, isWolf);
+        for (GameEventListener listener : listeners) {
+            listener.onCheck(day, prophet, target, isWolf);
+        }
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public int getDay() {
+        return day;
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public Player getVictim() {
+        return victim;
+    }
+
+    public Player getPoisonTarget() {
+        return poisonTarget;
+    }
+}
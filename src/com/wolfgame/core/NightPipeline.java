@@ -0,0 +1,134 @@
+package com.wolfgame.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 夜晚行动流水线类，按对局阵容把已注册的行动阶段编译成固定顺序的阶段数组，并维护每个角色的座位下标
+ * 阵容中没有行动角色的阶段在编译时剔除；座位下标在每局洗牌后重建一次，每晚只需扫描行动角色自己的座位，不再搜索全部玩家
+ */
+public final class NightPipeline {
+    private static final List<Supplier<NightStage>> REGISTRY = new ArrayList<>();
+
+    static {
+        // 夜晚行动顺序：狼人 → 女巫 → 预言家
+        register(WolfKillStage::new);
+        register(WitchStage::new);
+        register(ProphetCheckStage::new);
+    }
+
+    private final NightStage[] stages; // 按行动顺序排列的阶段
+    private final int[][] roleSeats;   // 每个角色的座位下标（按角色序号），阵容中没有的角色为null
+    private final int[] seatCounts;    // 重建座位下标时各角色已填入的座位数（复用）
+    private final List<Player> actors; // 当前阶段的存活行动玩家（复用）
+
+    private NightPipeline(TableConfig table, List<NightStage> stages) {
+        List<Role> roles = table.getRoles();
+        this.roleSeats = new int[Role.values().length][];
+        this.seatCounts = new int[Role.values().length];
+        for (Role role : Role.values()) {
+            int count = 0;
+            for (int i = 0; i < roles.size(); i++) {
+                if (roles.get(i) == role) {
+                    count++;
+                }
+            }
+            roleSeats[role.ordinal()] = count > 0 ? new int[count] : null;
+        }
+        List<NightStage> active = new ArrayList<>();
+        for (NightStage stage : stages) {
+            if (roleSeats[stage.getRole().ordinal()] != null) {
+                active.add(stage);
+            }
+        }
+        this.stages = active.toArray(new NightStage[0]);
+        this.actors = new ArrayList<>(roles.size());
+    }
+
+    /**
+     * 注册新的夜晚行动阶段，按注册顺序行动；只影响之后编译的流水线
+     */
+    public static synchronized void register(Supplier<NightStage> supplier) {
+        REGISTRY.add(supplier);
+    }
+
+    /**
+     * 按对局阵容编译流水线，为每个已注册的阶段创建新实例
+     */
+    public static synchronized NightPipeline compile(TableConfig table) {
+        List<NightStage> stages = new ArrayList<>();
+        for (Supplier<NightStage> supplier : REGISTRY) {
+            stages.add(supplier.get());
+        }
+        return compile(table, stages);
+    }
+
+    /**
+     * 按对局阵容编译给定顺序的阶段
+     */
+    public static NightPipeline compile(TableConfig table, List<NightStage> stages) {
+        return new NightPipeline(table, stages);
+    }
+
+    /**
+     * 新的一局开始：按洗牌后的座位角色重建座位下标，并清理各阶段状态
+     */
+    void reset(Role[] seatRoles) {
+        Arrays.fill(seatCounts, 0);
+        for (int seat = 0; seat < seatRoles.length; seat++) {
+            int role = seatRoles[seat].ordinal();
+            roleSeats[role][seatCounts[role]++] = seat;
+        }
+        for (NightStage stage : stages) {
+            stage.reset();
+        }
+    }
+
+    /**
+     * 保存各阶段状态，返回的数组可能是新分配的
+     */
+    long[] saveStates(long[] into) {
+        long[] states = into.length == stages.length ? into : new long[stages.length];
+        for (int i = 0; i < stages.length; i++) {
+            states[i] = stages[i].saveState();
+        }
+        return states;
+    }
+
+    /**
+     * 恢复各阶段状态
+     */
+    void restoreStates(long[] states) {
+        for (int i = 0; i < stages.length; i++) {
+            stages[i].restoreState(states[i]);
+        }
+    }
+
+    /**
+     * 依次执行各阶段，跳过没有存活行动玩家的阶段
+     */
+    void run(Night night, List<Player> players) {
+        for (NightStage stage : stages) {
+            int[] seats = roleSeats[stage.getRole().ordinal()];
+            actors.clear();
+            for (int seat : seats) {
+                Player player = players.get(seat);
+                if (player.isAlive()) {
+                    actors.add(player);
+                }
+            }
+            if (!actors.isEmpty()) {
+                stage.act(night, actors);
+            }
+        }
+    }
+
+    /**
+     * 获取编入流水线的阶段，按行动顺序排列
+     */
+    public List<NightStage> getStages() {
+        return List.of(stages);
+    }
+}
@@ -0,0 +1,40 @@
+package com.wolfgame.core;
+
+import java.util.List;
+
+/**
+ * 夜晚行动阶段接口，每个阶段对应一个行动角色，按夜晚行动顺序依次执行
+ * 阶段实例属于一个游戏对象，可以保存对局内状态（如女巫的药剂），在 {@link #reset()} 中清理
+ */
+public interface NightStage {
+    /**
+     * 行动角色，阵容中没有该角色时阶段不会编入夜晚流水线
+     */
+    Role getRole();
+
+    /**
+     * 新的一局开始时调用，清理上一局的阶段状态，默认无状态
+     */
+    default void reset() {
+    }
+
+    /**
+     * 把阶段的对局内状态打包为一个long，用于对局快照，默认无状态
+     */
+    default long saveState() {
+        return 0;
+    }
+
+    /**
+     * 从 {@link #saveState()} 的结果恢复阶段状态
+     */
+    default void restoreState(long state) {
+    }
+
+    /**
+     * 执行本阶段行动，行动角色没有存活玩家时不会调用
+     * @param night 本晚的行动上下文
+     * @param actors 行动角色的存活玩家（座位顺序），列表在各阶段之间复用，仅在本次调用期间有效
+     */
+    void act(Night night, List<Player> actors);
+}
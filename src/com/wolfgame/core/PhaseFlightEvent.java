@@ -0,0 +1,64 @@
+package com.wolfgame.core;
+
+import java.util.List;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 夜晚或白天阶段的JFR事件，夜晚包含所有夜晚行动和出局结算，白天包含发言、投票和放逐
+ * 未开启飞行记录或本事件被禁用时不创建事件对象，稳态模拟不产生分配
+ */
+@Name("com.wolfgame.Phase")
+@Label("游戏阶段")
+@Category({"狼人杀", "阶段"})
+@StackTrace(false)
+@Description("一局游戏中的一个夜晚或白天阶段")
+public class PhaseFlightEvent extends jdk.jfr.Event {
+    static final String NIGHT = "夜晚";
+    static final String DAY = "白天";
+
+    private static final EventType TYPE = EventType.getEventType(PhaseFlightEvent.class);
+
+    @Label("游戏ID")
+    int gameId;
+
+    @Label("天数")
+    int day;
+
+    @Label("阶段")
+    String phase;
+
+    @Label("阶段开始时存活人数")
+    int alive;
+
+    /**
+     * 事件启用时创建事件、记录阶段开始时的状态并开始计时，否则返回null
+     */
+    static PhaseFlightEvent start(String phase, int gameId, int day, List<Player> players) {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        PhaseFlightEvent event = new PhaseFlightEvent();
+        event.phase = phase;
+        event.gameId = gameId;
+        event.day = day;
+        for (int i = 0; i < players.size(); i++) {
+            event.alive += players.get(i).isAlive() ? 1 : 0;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 结束计时，超过阈值时提交
+     */
+    static void finish(PhaseFlightEvent event) {
+        if (event != null && event.shouldCommit()) {
+            event.commit();
+        }
+    }
+}
@@ -6,12 +6,21 @@ import com.wolfgame.strategy.Strategy;
  * 玩家类，包含玩家基本信息、角色、状态和策略
  */
 public class Player {
+    private static final String[] NAMES = new String[Long.SIZE + 1]; // 预先拼接的玩家名称
+
+    static {
+        for (int i = 1; i < NAMES.length; i++) {
+            NAMES[i] = "玩家" + i;
+        }
+    }
+
     private final int id;              // 玩家ID
     private final String name;         // 玩家名称
-    private final Role role;           // 角色
+    private Role role;                 // 角色
     private boolean isAlive;     // 是否存活
     private boolean isPoisoned;  // 是否被女巫毒死（用于猎人技能判断）
     private Strategy strategy;   // AI策略
+    private Knowledge knowledge; // 本座位的知识，由游戏引擎更新
     
     public Player(int id, String name, Role role, Strategy strategy) {
         this.id = id;
@@ -22,6 +31,27 @@ public class Player {
         this.strategy = strategy;
     }
     
+    public Player(int id, Role role, Strategy strategy) {
+        this(id, nameOf(id), role, strategy);
+    }
+    
+    /**
+     * 获取ID对应的默认玩家名称，常用ID的名称预先拼接好以避免重复创建字符串
+     */
+    public static String nameOf(int id) {
+        return id > 0 && id < NAMES.length ? NAMES[id] : "玩家" + id;
+    }
+    
+    /**
+     * 为新的一局重置玩家的角色、策略和状态
+     */
+    public void reset(Role role, Strategy strategy) {
+        this.role = role;
+        this.strategy = strategy;
+        this.isAlive = true;
+        this.isPoisoned = false;
+    }
+    
     //  getter和setter方法
     public int getId() {
         return id;
@@ -51,6 +81,17 @@ public class Player {
         isPoisoned = poisoned;
     }
     
+    /**
+     * 获取本座位的知识：确知的狼人、好人和公开的身份声明；不在游戏中的玩家返回null
+     */
+    public Knowledge getKnowledge() {
+        return knowledge;
+    }
+
+    void setKnowledge(Knowledge knowledge) {
+        this.knowledge = knowledge;
+    }
+
     public Strategy getStrategy() {
         return strategy;
     }
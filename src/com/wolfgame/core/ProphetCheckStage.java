@@ -0,0 +1,26 @@
+package com.wolfgame.core;
+
+import java.util.List;
+
+/**
+ * 预言家查验阶段：选择一名玩家查验身份
+ */
+public class ProphetCheckStage implements NightStage {
+    @Override
+    public Role getRole() {
+        return Role.PROPHET;
+    }
+
+    @Override
+    public void act(Night night, List<Player> actors) {
+        Player prophet = actors.getFirst();
+        DecisionFlightEvent event = DecisionFlightEvent.start();
+        night.startDecision();
+        Player target = prophet.getStrategy().chooseCheckTarget(prophet, night.getPlayers());
+        DecisionFlightEvent.finish(event, DecisionFlightEvent.CHECK, night.getGameId(), night.getDay(), prophet, target);
+        boolean timedOut = night.exceedsLimit(DecisionFlightEvent.CHECK, prophet);
+        if (target != null && !timedOut) {
+            night.check(prophet, target);
+        }
+    }
+}
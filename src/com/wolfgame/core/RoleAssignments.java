@@ -0,0 +1,194 @@
+package com.wolfgame.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 角色分配类，按字典序为给定角色配置下所有不同的座位角色分配编号
+ * 标准7人局（2狼、预言家、女巫、猎人、2村民）共有1260种不同分配，16人局（5狼、3神、8村民）有4324320种。
+ * 分配数只由角色组成算出，任意序号的分配可以用 {@link #unrank(long, Role[])} 直接还原，不需要枚举；
+ * 需要遍历所有分配的调用方（贝叶斯策略）先调用 {@link #enumerate()} 展开枚举表，之后才能使用按序号查询的方法
+ */
+public final class RoleAssignments {
+    private static final int MAX_TABLE_COUNT = 1 << 20; // 可展开为枚举表的最大分配数
+    private static final int COUNT_BITS = 7;            // 打包的剩余角色数中每种角色占用的位数
+    private static final Role[] ROLES = Role.values();
+    private static final Map<String, RoleAssignments> CACHE = new ConcurrentHashMap<>();
+
+    private final int seats;        // 座位数
+    private final long count;       // 分配总数
+    private final long roleCounts;  // 各角色人数，按角色序号每 COUNT_BITS 位打包
+    private byte[] roles;           // 第a种分配第s个座位的角色序号，下标为 a * seats + s；展开枚举表后才有
+    private long[] wolfMasks;       // 第a种分配中狼人座位的位掩码；展开枚举表后才有
+
+    private RoleAssignments(int[] roleCounts, int seats) {
+        this.seats = seats;
+        this.count = multinomial(roleCounts);
+        if (count > Long.MAX_VALUE / seats) {
+            throw new IllegalArgumentException("角色分配数过多，无法编号：" + count);
+        }
+        long packed = 0;
+        for (int r = 0; r < roleCounts.length; r++) {
+            packed |= (long) roleCounts[r] << (r * COUNT_BITS);
+        }
+        this.roleCounts = packed;
+    }
+
+    /**
+     * 获取角色配置对应的分配编号，结果按角色组成缓存
+     */
+    public static RoleAssignments of(List<Role> roleList) {
+        if (roleList.size() > Long.SIZE) {
+            throw new IllegalArgumentException("玩家数不能超过" + Long.SIZE);
+        }
+        int[] roleCounts = new int[ROLES.length];
+        for (Role role : roleList) {
+            roleCounts[role.ordinal()]++;
+        }
+        StringBuilder key = new StringBuilder();
+        for (int roleCount : roleCounts) {
+            key.append(roleCount).append(',');
+        }
+        return CACHE.computeIfAbsent(key.toString(), k -> new RoleAssignments(roleCounts, roleList.size()));
+    }
+
+    /**
+     * 展开所有分配的枚举表，只展开一次；分配数超过 {@value #MAX_TABLE_COUNT} 时抛出异常
+     * 枚举表在线程之间共享，每个使用枚举表的线程都应先调用本方法
+     * @return 本对象
+     */
+    public synchronized RoleAssignments enumerate() {
+        if (roles != null) {
+            return this;
+        }
+        if (count > MAX_TABLE_COUNT) {
+            throw new IllegalArgumentException("角色分配数过多，无法展开为枚举表：" + count + "（上限" + MAX_TABLE_COUNT + "）");
+        }
+        int total = (int) count;
+        byte[] table = new byte[total * seats];
+        long[] masks = new long[total];
+        int[] remaining = new int[ROLES.length];
+        for (int r = 0; r < remaining.length; r++) {
+            remaining[r] = countOf(roleCounts, r);
+        }
+        fill(table, masks, remaining, new byte[seats], 0, new int[1]);
+        wolfMasks = masks;
+        roles = table;
+        return this;
+    }
+
+    /**
+     * 按字典序递归枚举所有分配
+     */
+    private void fill(byte[] table, long[] masks, int[] remaining, byte[] current, int seat, int[] next) {
+        if (seat == seats) {
+            int a = next[0]++;
+            System.arraycopy(current, 0, table, a * seats, seats);
+            long mask = 0;
+            for (int s = 0; s < seats; s++) {
+                if (current[s] == Role.WOLF.ordinal()) {
+                    mask |= 1L << s;
+                }
+            }
+            masks[a] = mask;
+            return;
+        }
+        for (int r = 0; r < remaining.length; r++) {
+            if (remaining[r] > 0) {
+                remaining[r]--;
+                current[seat] = (byte) r;
+                fill(table, masks, remaining, current, seat + 1, next);
+                remaining[r]++;
+            }
+        }
+    }
+
+    /**
+     * 按字典序还原第a种分配，把各座位的角色写入 out 的前 {@link #getSeats()} 个元素，不分配对象
+     * 剩余座位的分配数为 block 时，下一个座位坐角色 r 的分配数为 block × 剩余r人数 / 剩余座位数，依次跳过即可定位
+     */
+    public void unrank(long a, Role[] out) {
+        if (a < 0 || a >= count) {
+            throw new IllegalArgumentException("座位分配序号超出范围：" + a);
+        }
+        long remaining = roleCounts;
+        long block = count;
+        for (int seat = 0; seat < seats; seat++) {
+            int left = seats - seat;
+            for (int r = 0; r < ROLES.length; r++) {
+                int n = countOf(remaining, r);
+                if (n == 0) {
+                    continue;
+                }
+                long sub = block * n / left;
+                if (a < sub) {
+                    out[seat] = ROLES[r];
+                    remaining -= 1L << (r * COUNT_BITS);
+                    block = sub;
+                    break;
+                }
+                a -= sub;
+            }
+        }
+    }
+
+    private static int countOf(long packed, int r) {
+        return (int) (packed >>> (r * COUNT_BITS)) & ((1 << COUNT_BITS) - 1);
+    }
+
+    /**
+     * 计算多重集排列数，每一步的中间结果都是整数；超出 long 范围时抛出异常
+     */
+    private static long multinomial(int[] roleCounts) {
+        long result = 1;
+        int placed = 0;
+        try {
+            for (int roleCount : roleCounts) {
+                for (int i = 1; i <= roleCount; i++) {
+                    placed++;
+                    result = Math.multiplyExact(result, placed) / i;
+                }
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("角色分配数过多，无法编号", e);
+        }
+        return result;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * 获取第a种分配中指定座位的角色序号，需先展开枚举表
+     */
+    public int roleOrdinalAt(int a, int seat) {
+        return roles[a * seats + seat];
+    }
+
+    /**
+     * 获取第a种分配中指定座位的角色，需先展开枚举表
+     */
+    public Role roleAt(int a, int seat) {
+        return ROLES[roles[a * seats + seat]];
+    }
+
+    /**
+     * 获取第a种分配中狼人座位的位掩码，需先展开枚举表
+     */
+    public long wolfMask(int a) {
+        return wolfMasks[a];
+    }
+
+    /**
+     * 判断第a种分配中指定座位是否是狼人，需先展开枚举表
+     */
+    public boolean isWolf(int a, int seat) {
+        return (wolfMasks[a] >>> seat & 1L) != 0;
+    }
+}
@@ -0,0 +1,106 @@
+package com.wolfgame.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 对局阵容配置类，定义一局游戏中的角色组成，创建时检查阵容合法性
+ */
+public class TableConfig {
+    private final List<Role> roles; // 角色列表
+
+    public TableConfig(List<Role> roles) {
+        if (roles == null || roles.isEmpty()) {
+            throw new IllegalArgumentException("对局阵容不能为空");
+        }
+        if (roles.size() > Long.SIZE) {
+            throw new IllegalArgumentException("对局人数不能超过" + Long.SIZE + "人");
+        }
+        if (!roles.contains(Role.WOLF)) {
+            throw new IllegalArgumentException("对局阵容至少需要一名狼人");
+        }
+        List<Role> sorted = new ArrayList<>(roles);
+        Collections.sort(sorted);
+        this.roles = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * 获取标准7人局配置：2狼人、预言家、女巫、猎人、2村民
+     */
+    public static TableConfig standard() {
+        return new TableConfig(List.of(Role.WOLF, Role.WOLF, Role.PROPHET, Role.WITCH,
+                Role.HUNTER, Role.VILLAGER, Role.VILLAGER));
+    }
+
+    /**
+     * 解析阵容配置字符串，格式如 "WOLF:2,PROPHET:1,WITCH:1,HUNTER:1,VILLAGER:2"
+     */
+    public static TableConfig parse(String spec) {
+        List<Role> roles = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            Role role = Role.valueOf(pair[0].trim().toUpperCase());
+            int count = pair.length > 1 ? Integer.parseInt(pair[1].trim()) : 1;
+            if (count < 0) {
+                throw new IllegalArgumentException("角色数量不能为负数：" + part);
+            }
+            for (int i = 0; i < count; i++) {
+                roles.add(role);
+            }
+        }
+        return new TableConfig(roles);
+    }
+
+    /**
+     * 获取按角色排序的角色列表
+     */
+    public List<Role> getRoles() {
+        return roles;
+    }
+
+    public int getPlayerCount() {
+        return roles.size();
+    }
+
+    /**
+     * 获取指定角色的数量
+     */
+    public int count(Role role) {
+        int count = 0;
+        for (Role r : roles) {
+            if (r == role) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 转换为可被 {@link #parse(String)} 解析的配置字符串
+     */
+    @Override
+    public String toString() {
+        StringBuilder spec = new StringBuilder();
+        for (Role role : Role.values()) {
+            int count = count(role);
+            if (count > 0) {
+                if (spec.length() > 0) {
+                    spec.append(',');
+                }
+                spec.append(role.name()).append(':').append(count);
+            }
+        }
+        return spec.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TableConfig other && roles.equals(other.roles);
+    }
+
+    @Override
+    public int hashCode() {
+        return roles.hashCode();
+    }
+}
@@ -0,0 +1,67 @@
+package com.wolfgame.core;
+
+import java.util.List;
+
+/**
+ * 女巫用药阶段：先决定是否对狼人击杀目标使用解药，本晚未用解药时再决定是否用毒；解药和毒药各一瓶
+ */
+public class WitchStage implements NightStage {
+    private boolean antidoteUsed; // 解药是否已使用
+    private boolean poisonUsed;   // 毒药是否已使用
+
+    @Override
+    public Role getRole() {
+        return Role.WITCH;
+    }
+
+    @Override
+    public void reset() {
+        antidoteUsed = false;
+        poisonUsed = false;
+    }
+
+    @Override
+    public long saveState() {
+        return (antidoteUsed ? 1 : 0) | (poisonUsed ? 2 : 0);
+    }
+
+    @Override
+    public void restoreState(long state) {
+        antidoteUsed = (state & 1) != 0;
+        poisonUsed = (state & 2) != 0;
+    }
+
+    @Override
+    public void act(Night night, List<Player> actors) {
+        Player witch = actors.getFirst();
+        List<Player> players = night.getPlayers();
+
+        // 检查是否使用解药
+        Player victim = night.getVictim();
+        if (victim != null && !antidoteUsed) {
+            DecisionFlightEvent event = DecisionFlightEvent.start();
+            night.startDecision();
+            boolean use = witch.getStrategy().useAntidote(witch, victim, players);
+            DecisionFlightEvent.finish(event, DecisionFlightEvent.ANTIDOTE, night.getGameId(), night.getDay(), witch, use ? 1 : 0);
+            boolean timedOut = night.exceedsLimit(DecisionFlightEvent.ANTIDOTE, witch);
+            if (use && !timedOut) {
+                night.save(witch);
+                antidoteUsed = true;
+                return; // 解药和毒药不能在同一晚使用
+            }
+        }
+
+        // 检查是否使用毒药
+        if (!poisonUsed) {
+            DecisionFlightEvent event = DecisionFlightEvent.start();
+            night.startDecision();
+            Player poisonTarget = witch.getStrategy().usePoison(witch, players);
+            DecisionFlightEvent.finish(event, DecisionFlightEvent.POISON, night.getGameId(), night.getDay(), witch, poisonTarget);
+            boolean timedOut = night.exceedsLimit(DecisionFlightEvent.POISON, witch);
+            if (poisonTarget != null && poisonTarget.isAlive() && !timedOut) {
+                night.poison(witch, poisonTarget);
+                poisonUsed = true;
+            }
+        }
+    }
+}
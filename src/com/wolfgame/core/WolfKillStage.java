@@ -0,0 +1,26 @@
+package com.wolfgame.core;
+
+import java.util.List;
+
+/**
+ * 狼人击杀阶段：狼人共同商议选择击杀目标（简化为使用第一个狼人的策略）
+ */
+public class WolfKillStage implements NightStage {
+    @Override
+    public Role getRole() {
+        return Role.WOLF;
+    }
+
+    @Override
+    public void act(Night night, List<Player> actors) {
+        Player wolf = actors.getFirst();
+        DecisionFlightEvent event = DecisionFlightEvent.start();
+        night.startDecision();
+        Player victim = wolf.getStrategy().chooseKillTarget(actors, night.getPlayers());
+        DecisionFlightEvent.finish(event, DecisionFlightEvent.KILL, night.getGameId(), night.getDay(), wolf, victim);
+        boolean timedOut = night.exceedsLimit(DecisionFlightEvent.KILL, wolf);
+        if (victim != null && !timedOut) {
+            night.kill(victim);
+        }
+    }
+}
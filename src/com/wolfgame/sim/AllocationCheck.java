@@ -0,0 +1,53 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Game;
+import com.wolfgame.stat.Statistics;
+import java.lang.management.ManagementFactory;
+
+/**
+ * 分配检查类，用线程分配计数器验证预热后复用的游戏对象在稳态下每局不分配内存
+ */
+public final class AllocationCheck {
+    private static final int WARMUP_ROUNDS = 50000;   // 预热轮数，使JIT完成逃逸分析和内联
+    private static final int MEASURE_ROUNDS = 20000;  // 计量轮数
+    private static final long TOLERANCE_BYTES = 4096; // 计量期间允许的总分配量（计数器自身的少量噪声）
+
+    private AllocationCheck() {
+    }
+
+    /**
+     * 按配置预热后计量一段轮次的线程分配量，打印每局分配字节数，稳态零分配时返回true
+     */
+    public static boolean run(SimulationConfig config) {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threadBean.isThreadAllocatedMemorySupported()) {
+            System.err.println("当前JVM不支持线程分配计数器，无法进行分配检查");
+            return false;
+        }
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        Statistics statistics = new Statistics();
+        Game game = config.createGame(1, config.createStrategies(), config.createRandomSource());
+        game.addListener(statistics);
+        game.run();
+        for (int i = 2; i <= WARMUP_ROUNDS; i++) {
+            game.reset(i);
+            game.run();
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = WARMUP_ROUNDS + 1; i <= WARMUP_ROUNDS + MEASURE_ROUNDS; i++) {
+            game.reset(i);
+            game.run();
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        boolean passed = allocated <= TOLERANCE_BYTES;
+        System.out.println("分配检查配置: " + config.toSpec());
+        System.out.printf("计量对局: %d, 总分配: %d 字节, 每局: %.2f 字节 -> %s%n",
+                MEASURE_ROUNDS, allocated, (double) allocated / MEASURE_ROUNDS, passed ? "通过" : "未通过");
+        return passed;
+    }
+}
@@ -0,0 +1,201 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Camp;
+import com.wolfgame.core.Game;
+import com.wolfgame.core.GameSnapshot;
+import com.wolfgame.core.Player;
+import com.wolfgame.core.Role;
+import com.wolfgame.stat.Confidence;
+import com.wolfgame.strategy.Strategy;
+import com.wolfgame.util.RandomSource;
+import com.wolfgame.util.SplitMix64Random;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 反事实分叉类，回答“如果某一局在某个决策点做了另一个选择，结果会怎样”
+ * 先运行一次目标对局，在目标那一天开始时保存快照并记录目标决策的实际选择和全部可选项；
+ * 再从快照恢复，对每个可选项各分叉若干局，目标决策被强制为该选项，之后的随机数流由分叉序号决定。
+ * 各选项的第k个分叉使用相同的随机数流，因此与实际选择的胜率差按配对样本估计
+ */
+public class CounterfactualFork {
+    private static final int CHUNK_SIZE = 250; // 每个任务的分叉数
+
+    private final SimulationConfig config; // 种子、随机数算法和对局阵容
+    private final int gameId;              // 目标对局
+    private final Decision decision;       // 目标决策
+    private final int day;                 // 目标天数
+    private final int forks;               // 每个选项的分叉数
+    private final Camp camp;               // 比较的阵营胜率
+    private final double confidence;       // 置信水平
+    private final int threads;             // 并行线程数
+    private final GameSnapshot snapshot;   // 目标那一天开始时的快照
+    private int actual;                    // 实际选择
+    private int[] options;                 // 全部可选项
+    private String[] labels;               // 各选项的说明
+    private byte[][] wins;                 // 各选项每个分叉的目标阵营是否获胜
+    private boolean reached;               // 目标对局是否出现了目标决策
+
+    public CounterfactualFork(SimulationConfig config, int gameId, Decision decision, int day, int forks,
+                              Camp camp, double confidence, int threads) {
+        if (decision == Decision.VOTE) {
+            throw new IllegalArgumentException("投票由多名玩家同时决定，不支持分叉");
+        }
+        if (!SplitMix64Random.ALGORITHM.equals(config.getRngAlgorithm())) {
+            throw new IllegalArgumentException("反事实分叉需要可保存状态的随机数算法：" + SplitMix64Random.ALGORITHM);
+        }
+        if (gameId < 1 || day < 1 || forks < 2) {
+            throw new IllegalArgumentException("对局和天数必须为正数，分叉数至少为2");
+        }
+        Confidence.checkLevel(confidence);
+        this.config = config;
+        this.gameId = gameId;
+        this.decision = decision;
+        this.day = day;
+        this.forks = forks;
+        this.camp = camp;
+        this.confidence = confidence;
+        this.threads = threads;
+        this.snapshot = new GameSnapshot();
+    }
+
+    /**
+     * 包装策略映射，同一策略实例只包装一次，保持角色之间的共享关系
+     * 按角色顺序包装：分叉策略注册到控制器的顺序决定分叉后各自的种子，不能依赖策略映射的迭代顺序
+     */
+    private Map<Role, Strategy> wrap(Map<Role, Strategy> strategies, ForkController controller) {
+        Map<Strategy, Strategy> wrapped = new IdentityHashMap<>();
+        Map<Role, Strategy> result = new EnumMap<>(Role.class);
+        for (Role role : Role.values()) {
+            Strategy strategy = strategies.get(role);
+            if (strategy != null) {
+                result.put(role, wrapped.computeIfAbsent(strategy, s -> new ForkingStrategy(s, controller)));
+            }
+        }
+        return result;
+    }
+
+    private Game createGame(ForkController controller) {
+        RandomSource randomSource = config.createRandomSource();
+        Game game = config.createGame(gameId, wrap(config.createStrategies(), controller), randomSource);
+        controller.attach(game);
+        return game;
+    }
+
+    /**
+     * 运行目标对局，保存快照并记录实际选择，再在线程池上运行全部分叉
+     * @return 目标对局是否在目标那一天出现了目标决策
+     */
+    public boolean run() {
+        ForkController probe = new ForkController(decision, day, snapshot);
+        Game game = createGame(probe);
+        probe.probe();
+        game.run();
+        reached = probe.isReached();
+        if (!reached) {
+            return false;
+        }
+        actual = probe.getActual();
+        options = probe.getOptions();
+        labels = new String[options.length];
+        for (int i = 0; i < options.length; i++) {
+            labels[i] = label(options[i], game.getPlayers());
+        }
+        wins = new byte[options.length][forks];
+
+        // 分块区间从1开始计数，对应下标为 from-1 到 to-1 的分叉
+        Simulator.runChunked(forks, CHUNK_SIZE, threads, "反事实分叉", (from, to) -> {
+            runRange(from - 1, to);
+            return null;
+        });
+        return true;
+    }
+
+    /**
+     * 对每个选项运行第 from 到 end-1 个分叉，每个任务使用自己的游戏对象，快照只读共享
+     */
+    private void runRange(int from, int end) {
+        ForkController controller = new ForkController(decision, day, snapshot);
+        Game game = createGame(controller);
+        long base = RandomSource.mix(config.createRandomSource().gameSeed(gameId) ^ day);
+        for (int j = 0; j < options.length; j++) {
+            for (int k = from; k < end; k++) {
+                controller.fork(options[j], RandomSource.mix(base + k));
+                game.resume(snapshot);
+                wins[j][k] = (byte) (game.getWinnerCamp() == camp ? 1 : 0);
+            }
+        }
+    }
+
+    private String label(int option, List<Player> players) {
+        if (decision == Decision.ANTIDOTE) {
+            return option == 1 ? "救" : "不救";
+        }
+        if (option == 0) {
+            return decision == Decision.POISON ? "不用毒" : "不开枪";
+        }
+        Player target = players.get(option - 1);
+        return "玩家" + target.getId() + "（" + target.getRole().getName() + "）";
+    }
+
+    /**
+     * 生成反事实分叉报告
+     */
+    public String generateReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("===== 反事实分叉报告 =====\n");
+        report.append("配置: ").append(config.toSpec()).append("\n");
+        report.append("分叉点: 游戏#").append(gameId).append(" 第").append(day).append("天 ")
+                .append(decision.getName());
+        if (!reached) {
+            report.append("\n该局在这一天没有出现这个决策，没有可分叉的选项\n");
+            report.append("==============================\n");
+            return report.toString();
+        }
+        int actualIndex = 0;
+        for (int i = 0; i < options.length; i++) {
+            if (options[i] == actual) {
+                actualIndex = i;
+            }
+        }
+        report.append(", 实际选择: ").append(labels[actualIndex]).append("\n");
+        report.append("比较指标: ").append(camp.getName()).append("阵营胜率, 每个选项分叉 ").append(forks)
+                .append(" 局（各选项的第k个分叉在决策之后使用相同的随机数流）\n\n");
+
+        double z = Confidence.z(confidence);
+        byte[] base = wins[actualIndex];
+        for (int i = 0; i < options.length; i++) {
+            long count = 0;
+            double sumD = 0;
+            double sumD2 = 0;
+            for (int k = 0; k < forks; k++) {
+                count += wins[i][k];
+                int d = wins[i][k] - base[k];
+                sumD += d;
+                sumD2 += d * d;
+            }
+            double[] interval = Confidence.wilson(count, forks, confidence);
+            report.append(String.format("%s%s: %.2f%% [%.2f%%, %.2f%%]", labels[i], i == actualIndex ? "（实际）" : "",
+                    (double) count / forks * 100, interval[0] * 100, interval[1] * 100));
+            if (i != actualIndex) {
+                double mean = sumD / forks;
+                double se = Math.sqrt((sumD2 - forks * mean * mean) / (forks - 1) / forks);
+                report.append(String.format(", 相对实际选择: %+.2f%% [%+.2f%%, %+.2f%%]",
+                        mean * 100, (mean - z * se) * 100, (mean + z * se) * 100));
+            }
+            report.append("\n");
+        }
+        report.append(String.format("（%.0f%% 置信区间，胜率差按配对样本计算）%n", confidence * 100));
+        report.append("==============================\n");
+        return report.toString();
+    }
+
+    /**
+     * 保存反事实分叉报告到文件
+     */
+    public void saveReportToFile() {
+        Reports.save("fork.txt", "反事实分叉", generateReport());
+    }
+}
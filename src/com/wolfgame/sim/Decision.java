@@ -0,0 +1,23 @@
+package com.wolfgame.sim;
+
+/**
+ * 策略决策点枚举类，用于重要性抽样的偏置和反事实分叉的定位
+ */
+public enum Decision {
+    KILL("狼人击杀"),     // 狼人选择击杀目标
+    CHECK("预言家查验"),  // 预言家选择查验目标
+    ANTIDOTE("女巫解药"), // 女巫是否使用解药
+    POISON("女巫毒药"),   // 女巫是否用毒及毒杀目标
+    GUN("猎人开枪"),      // 猎人是否开枪及开枪目标
+    VOTE("投票");         // 投票目标
+
+    private final String name;
+
+    Decision(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
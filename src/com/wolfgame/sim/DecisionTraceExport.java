@@ -0,0 +1,112 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Game;
+import com.wolfgame.stat.DecisionFeatures;
+import com.wolfgame.stat.DecisionTraceWriter;
+import com.wolfgame.strategy.TracingStrategy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * 决策轨迹导出类，按配置运行对局，把每次策略决策的特征、选择和对局结果导出为训练数据
+ * 每 {@link #CHUNK_SIZE} 局写入一个文件 trace-000000.bin、trace-000001.bin……，文件格式见 {@link DecisionTraceWriter}；
+ * 每个文件由一个任务独立生成，每局的随机数流只取决于种子和轮次，因此文件内容与线程数无关
+ */
+public class DecisionTraceExport {
+    private static final int CHUNK_SIZE = 10000; // 每个文件的对局数
+
+    private final SimulationConfig config;  // 轮数、种子、随机数算法和对局配置
+    private final Path directory;           // 输出目录
+    private final int threads;              // 并行线程数
+    private final long[] records;           // 各文件的记录数
+    private final long[] bytes;             // 各文件的字节数
+    private long elapsedNanos;              // 导出耗时
+
+    public DecisionTraceExport(SimulationConfig config, Path directory, int threads) {
+        if (config.getTable().getPlayerCount() > DecisionFeatures.MAX_SEATS) {
+            throw new IllegalArgumentException("决策轨迹最多支持" + DecisionFeatures.MAX_SEATS + "个座位："
+                    + config.getTable().getPlayerCount());
+        }
+        this.config = config;
+        this.directory = directory;
+        this.threads = threads;
+        int files = (config.getRounds() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.records = new long[files];
+        this.bytes = new long[files];
+    }
+
+    /**
+     * 在线程池上按文件分块运行全部对局
+     */
+    public void run() {
+        long start = System.nanoTime();
+        Simulator.runChunked(config.getRounds(), CHUNK_SIZE, threads, "决策轨迹导出", (from, to) -> {
+            runChunk(from, to);
+            return null;
+        });
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * 运行第 fromRound 到 toRound 局并写入该段对应的文件，复用一个游戏对象和写入器
+     */
+    private void runChunk(int fromRound, int toRound) {
+        int chunk = (fromRound - 1) / CHUNK_SIZE;
+        DecisionTraceWriter writer = new DecisionTraceWriter();
+        try {
+            writer.open(directory.resolve(String.format("trace-%06d.bin", chunk)));
+            Game game = config.createGame(fromRound,
+                    TracingStrategy.traceAll(config.createStrategies(), writer), config.createRandomSource());
+            writer.setGameId(fromRound);
+            game.run();
+            for (int i = fromRound + 1; i <= toRound; i++) {
+                game.reset(i);
+                writer.setGameId(i);
+                game.run();
+            }
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入决策轨迹失败", e);
+        }
+        records[chunk] = writer.getRecords();
+        bytes[chunk] = writer.getBytes();
+    }
+
+    /**
+     * 生成导出报告
+     */
+    public String generateReport() {
+        long totalRecords = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < records.length; i++) {
+            totalRecords += records[i];
+            totalBytes += bytes[i];
+        }
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder report = new StringBuilder();
+        report.append("===== 决策轨迹导出报告 =====\n");
+        report.append("配置: ").append(config.toSpec()).append("\n");
+        report.append("输出目录: ").append(directory.toAbsolutePath()).append("\n");
+        report.append(String.format("对局数: %d, 文件数: %d（每个文件%d局）%n", config.getRounds(), records.length, CHUNK_SIZE));
+        report.append(String.format("记录数: %d（每条%d字节，平均每局%.1f条）, 总大小: %.1f MB%n", totalRecords,
+                DecisionFeatures.RECORD_SIZE, (double) totalRecords / Math.max(1, config.getRounds()), totalBytes / 1e6));
+        if (seconds > 0) {
+            report.append(String.format("耗时: %.2f 秒, 每秒 %.0f 条记录, %.1f MB/s%n",
+                    seconds, totalRecords / seconds, totalBytes / 1e6 / seconds));
+        }
+        report.append("\n【字段】名称:类型:个数:偏移\n");
+        for (String field : DecisionFeatures.FIELDS) {
+            report.append("  ").append(field).append("\n");
+        }
+        report.append("==============================\n");
+        return report.toString();
+    }
+
+    /**
+     * 保存导出报告到文件
+     */
+    public void saveReportToFile() {
+        Reports.save("trace_export.txt", "决策轨迹导出", generateReport());
+    }
+}
@@ -0,0 +1,115 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.DeathCause;
+import com.wolfgame.core.Game;
+import com.wolfgame.core.GameEventListener;
+import com.wolfgame.core.Player;
+import com.wolfgame.core.Role;
+import java.util.List;
+
+/**
+ * 稀有事件轨迹类，跟踪一局中判断目标事件所需的状态，并累计重要性抽样的对数似然比
+ * 似然比为原始策略下本局所有随机选择的概率与偏置后概率之比的乘积，每局开始时清零
+ */
+public final class EventTrace implements GameEventListener {
+    private int day;                  // 当前天数
+    private boolean night;            // 是否处于夜晚
+    private int aliveWolves;          // 存活狼人数
+    private int aliveGood;            // 存活好人数
+    private boolean prophetDiedNight1; // 预言家是否死于首夜
+    private boolean witchDiedNight1;  // 女巫是否死于首夜
+    private boolean hunterDecided;    // 是否由猎人开枪决定了胜负
+    private Game game;                // 当前对局
+    private double logWeight;         // 本局的对数似然比
+
+    @Override
+    public void onGameStart(Game game) {
+        this.game = game;
+        this.day = 0;
+        this.night = false;
+        this.aliveWolves = 0;
+        this.aliveGood = 0;
+        this.prophetDiedNight1 = false;
+        this.witchDiedNight1 = false;
+        this.hunterDecided = false;
+        this.logWeight = 0;
+        List<Player> players = game.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).isWolf()) {
+                aliveWolves++;
+            } else {
+                aliveGood++;
+            }
+        }
+    }
+
+    @Override
+    public void onNightStart(int day) {
+        this.day = day;
+        this.night = true;
+    }
+
+    @Override
+    public void onNightEnd(int day, List<Player> deadPlayers) {
+        this.night = false;
+    }
+
+    @Override
+    public void onDeath(int day, Player player, DeathCause cause) {
+        boolean overBefore = isOver();
+        if (player.isWolf()) {
+            aliveWolves--;
+        } else {
+            aliveGood--;
+        }
+        if (cause == DeathCause.SHOT && !overBefore && isOver()) {
+            hunterDecided = true;
+        }
+        if (night && day == 1) {
+            prophetDiedNight1 |= player.getRole() == Role.PROPHET;
+            witchDiedNight1 |= player.getRole() == Role.WITCH;
+        }
+    }
+
+    private boolean isOver() {
+        return aliveWolves == 0 || aliveWolves >= aliveGood;
+    }
+
+    /**
+     * 记录一次随机选择：原始概率为 nominal，实际按偏置后的概率 proposal 抽样
+     */
+    void tilt(double nominal, double proposal) {
+        logWeight += Math.log(nominal / proposal);
+    }
+
+    public int getDay() {
+        return day;
+    }
+
+    public boolean isNight() {
+        return night;
+    }
+
+    public boolean isProphetDiedNight1() {
+        return prophetDiedNight1;
+    }
+
+    public boolean isWitchDiedNight1() {
+        return witchDiedNight1;
+    }
+
+    public boolean isHunterDecided() {
+        return hunterDecided;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * 本局的似然比
+     */
+    public double getWeight() {
+        return Math.exp(logWeight);
+    }
+}
@@ -0,0 +1,108 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Game;
+import com.wolfgame.core.GameEventListener;
+import com.wolfgame.core.GameSnapshot;
+import com.wolfgame.util.RandomSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分叉控制器类，跟踪当前天数并协调同一游戏中的所有分叉策略装饰器
+ * 探测运行在目标那一天开始时保存快照，并记录目标决策的实际选择；分叉运行中目标决策第一次出现时返回强制选项，
+ * 随后按分叉种子重新播种所有策略的随机数流
+ */
+final class ForkController implements GameEventListener {
+    private final Decision decision;                 // 目标决策
+    private final int day;                           // 目标天数
+    private final List<ForkingStrategy> strategies;  // 同一游戏中的分叉策略
+    private final GameSnapshot snapshot;             // 探测运行保存的快照
+    private Game game;                               // 所控制的游戏
+    private boolean probing;                         // 是否为探测运行
+    private int currentDay;                          // 当前天数
+    private boolean reached;                         // 本次运行是否已到达目标决策
+    private int actual;                              // 探测运行中的实际选择
+    private int[] options;                           // 探测运行中的全部可选项
+    private int forced;                              // 分叉运行的强制选项
+    private long forkSeed;                           // 分叉运行在决策之后使用的种子
+
+    ForkController(Decision decision, int day, GameSnapshot snapshot) {
+        this.decision = decision;
+        this.day = day;
+        this.strategies = new ArrayList<>();
+        this.snapshot = snapshot;
+    }
+
+    void register(ForkingStrategy strategy) {
+        strategies.add(strategy);
+    }
+
+    void attach(Game game) {
+        this.game = game;
+        game.addListener(this);
+    }
+
+    /**
+     * 准备探测运行
+     */
+    void probe() {
+        probing = true;
+        reached = false;
+    }
+
+    /**
+     * 准备一次分叉运行
+     */
+    void fork(int option, long seed) {
+        probing = false;
+        reached = false;
+        forced = option;
+        forkSeed = seed;
+    }
+
+    @Override
+    public void onDayStart(int day) {
+        currentDay = day;
+    }
+
+    @Override
+    public void onNightStart(int day) {
+        if (probing && day == this.day) {
+            game.snapshot(snapshot);
+        }
+    }
+
+    boolean isTarget(Decision decision) {
+        return !reached && decision == this.decision && currentDay == day;
+    }
+
+    boolean isProbing() {
+        return probing;
+    }
+
+    void observe(int choice, int[] options) {
+        reached = true;
+        this.actual = choice;
+        this.options = options;
+    }
+
+    int force() {
+        reached = true;
+        for (int i = 0; i < strategies.size(); i++) {
+            strategies.get(i).reseed(RandomSource.mix(forkSeed + 0x9E3779B97F4A7C15L * (i + 1)));
+        }
+        return forced;
+    }
+
+    boolean isReached() {
+        return reached;
+    }
+
+    int getActual() {
+        return actual;
+    }
+
+    int[] getOptions() {
+        return options;
+    }
+}
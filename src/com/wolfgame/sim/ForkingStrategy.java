@@ -0,0 +1,163 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Camp;
+import com.wolfgame.core.DecisionBudget;
+import com.wolfgame.core.MessageBus;
+import com.wolfgame.core.Player;
+import com.wolfgame.core.TableConfig;
+import com.wolfgame.strategy.Strategy;
+import com.wolfgame.util.SplitMix64Random;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * 分叉策略装饰器：探测运行中记录目标决策的实际选择和全部可选项，分叉运行中把目标决策强制为指定选项
+ * 选项编码：解药为1（救）或0（不救）；目标类决策为玩家ID，用毒和开枪另有0表示不使用。
+ * 强制的选择不会通知被包装策略，之后的决策照常交给被包装策略
+ */
+class ForkingStrategy implements Strategy {
+    private final Strategy delegate;        // 被包装的策略
+    private final ForkController controller; // 分叉控制器
+    private RandomGenerator random;         // 游戏分配的随机数流
+
+    ForkingStrategy(Strategy delegate, ForkController controller) {
+        this.delegate = delegate;
+        this.controller = controller;
+        controller.register(this);
+    }
+
+    @Override
+    public Player chooseKillTarget(List<Player> wolves, List<Player> allPlayers) {
+        if (!controller.isTarget(Decision.KILL)) {
+            return delegate.chooseKillTarget(wolves, allPlayers);
+        }
+        return target(Decision.KILL, allPlayers, null, true, false,
+                () -> delegate.chooseKillTarget(wolves, allPlayers));
+    }
+
+    @Override
+    public Player chooseCheckTarget(Player prophet, List<Player> allPlayers) {
+        if (!controller.isTarget(Decision.CHECK)) {
+            return delegate.chooseCheckTarget(prophet, allPlayers);
+        }
+        return target(Decision.CHECK, allPlayers, prophet, false, false,
+                () -> delegate.chooseCheckTarget(prophet, allPlayers));
+    }
+
+    @Override
+    public boolean useAntidote(Player witch, Player victim, List<Player> allPlayers) {
+        if (!controller.isTarget(Decision.ANTIDOTE)) {
+            return delegate.useAntidote(witch, victim, allPlayers);
+        }
+        if (controller.isProbing()) {
+            boolean use = delegate.useAntidote(witch, victim, allPlayers);
+            controller.observe(use ? 1 : 0, new int[]{0, 1});
+            return use;
+        }
+        return controller.force() == 1;
+    }
+
+    @Override
+    public Player usePoison(Player witch, List<Player> allPlayers) {
+        if (!controller.isTarget(Decision.POISON)) {
+            return delegate.usePoison(witch, allPlayers);
+        }
+        return target(Decision.POISON, allPlayers, witch, false, true, () -> delegate.usePoison(witch, allPlayers));
+    }
+
+    @Override
+    public Player useGun(Player hunter, boolean isPoisoned, List<Player> allPlayers) {
+        if (isPoisoned || !controller.isTarget(Decision.GUN)) {
+            return delegate.useGun(hunter, isPoisoned, allPlayers);
+        }
+        return target(Decision.GUN, allPlayers, hunter, false, true,
+                () -> delegate.useGun(hunter, isPoisoned, allPlayers));
+    }
+
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers) {
+        return delegate.vote(voter, candidates, allPlayers);
+    }
+
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers, MessageBus bus) {
+        return delegate.vote(voter, candidates, allPlayers, bus);
+    }
+
+    @Override
+    public void speak(Player speaker, List<Player> alivePlayers, List<Player> allPlayers, MessageBus bus) {
+        delegate.speak(speaker, alivePlayers, allPlayers, bus);
+    }
+
+    /**
+     * 目标类决策：探测时记录实际选择和存活候选，分叉时返回强制的目标
+     */
+    private Player target(Decision decision, List<Player> allPlayers, Player excluded, boolean excludeWolves,
+                          boolean optional, java.util.function.Supplier<Player> natural) {
+        if (controller.isProbing()) {
+            Player chosen = natural.get();
+            int count = optional ? 1 : 0;
+            for (Player p : allPlayers) {
+                if (isCandidate(p, excluded, excludeWolves)) {
+                    count++;
+                }
+            }
+            int[] options = new int[count];
+            int i = 0;
+            if (optional) {
+                options[i++] = 0;
+            }
+            for (Player p : allPlayers) {
+                if (isCandidate(p, excluded, excludeWolves)) {
+                    options[i++] = p.getId();
+                }
+            }
+            controller.observe(chosen != null ? chosen.getId() : 0, options);
+            return chosen;
+        }
+        int id = controller.force();
+        return id > 0 ? allPlayers.get(id - 1) : null;
+    }
+
+    private static boolean isCandidate(Player p, Player excluded, boolean excludeWolves) {
+        return p.isAlive() && p != excluded && !(excludeWolves && p.isWolf());
+    }
+
+    /**
+     * 目标决策被强制之后重新播种，使同一分叉序号的各选项在决策之后使用相同的随机数流
+     */
+    void reseed(long seed) {
+        ((SplitMix64Random) random).setSeed(seed);
+    }
+
+    @Override
+    public void startGame(List<Player> allPlayers) {
+        delegate.startGame(allPlayers);
+    }
+
+    @Override
+    public void endGame(Camp winner) {
+        delegate.endGame(winner);
+    }
+
+    @Override
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+        delegate.setRandom(random);
+    }
+
+    @Override
+    public void setBudget(DecisionBudget budget) {
+        delegate.setBudget(budget);
+    }
+
+    @Override
+    public void setTable(TableConfig table) {
+        delegate.setTable(table);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+}
@@ -0,0 +1,143 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Game;
+import com.wolfgame.core.Role;
+import com.wolfgame.stat.Confidence;
+import com.wolfgame.strategy.Strategy;
+import com.wolfgame.util.RandomSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 重要性抽样类，估计随机策略下稀有事件的发生概率
+ * 所有角色使用偏置随机策略，把抽样分布推向目标事件；每局的事件指示乘以似然比后求平均即为原始分布下的无偏估计，
+ * 报告估计值、置信区间以及朴素模拟达到同等精度所需的对局数
+ */
+public class ImportanceSampling {
+    private static final int CHUNK_SIZE = 1000; // 每个任务的轮数
+
+    private final SimulationConfig config; // 轮数、种子、随机数算法和对局阵容
+    private final RareEvent event;         // 目标事件
+    private final double confidence;       // 置信水平
+    private final int threads;             // 并行线程数
+    private final Tally total;             // 汇总结果
+
+    public ImportanceSampling(SimulationConfig config, RareEvent event, double confidence, int threads) {
+        Confidence.checkLevel(confidence);
+        this.config = config;
+        this.event = event;
+        this.confidence = confidence;
+        this.threads = threads;
+        this.total = new Tally();
+    }
+
+    /**
+     * 在线程池上分块运行全部对局
+     */
+    public void run() {
+        for (Tally tally : Simulator.runChunked(config.getRounds(), CHUNK_SIZE, threads, "重要性抽样", this::runRange)) {
+            total.merge(tally);
+        }
+    }
+
+    /**
+     * 运行第 fromRound 到 toRound 轮对局
+     */
+    private Tally runRange(int fromRound, int toRound) {
+        EventTrace trace = new EventTrace();
+        Strategy strategy = new TiltedRandomStrategy(event, trace);
+        Map<Role, Strategy> strategies = new EnumMap<>(Role.class);
+        for (Role role : Role.values()) {
+            strategies.put(role, strategy);
+        }
+        RandomSource randomSource = config.createRandomSource();
+        Game game = config.createGame(fromRound, strategies, randomSource);
+        game.addListener(trace);
+        Tally tally = new Tally();
+        for (int i = fromRound; i <= toRound; i++) {
+            if (i > fromRound) {
+                game.reset(i);
+            }
+            game.run();
+            tally.add(event.occurred(trace), trace.getWeight());
+        }
+        return tally;
+    }
+
+    /**
+     * 生成稀有事件估计报告
+     */
+    public String generateReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("===== 稀有事件估计报告 =====\n");
+        report.append("目标事件: ").append(event.getName()).append("（随机策略）\n");
+        report.append("配置: ").append(config.toSpec()).append("\n");
+        report.append("偏置对局: ").append(total.games).append(", 其中事件发生: ").append(total.hits).append("\n\n");
+
+        double estimate = total.mean();
+        double se = Math.sqrt(total.variance() / total.games);
+        double z = Confidence.z(confidence);
+        report.append(String.format("概率估计: %.4e [%.4e, %.4e]（%.0f%% 置信区间）%n",
+                estimate, Math.max(0, estimate - z * se), estimate + z * se, confidence * 100));
+        if (estimate > 0) {
+            report.append(String.format("相对标准误差: %.2f%%%n", se / estimate * 100));
+            double naiveGames = estimate * (1 - estimate) / (se * se);
+            report.append(String.format("朴素模拟达到同等精度约需 %.3e 局，约为本次对局数的 %.1f 倍%n",
+                    naiveGames, naiveGames / total.games));
+        }
+        report.append(String.format("平均似然比: %.4f（应接近1，明显偏离说明偏置过强或对局数不足）%n",
+                total.sumWeight / total.games));
+        report.append("==============================\n");
+        return report.toString();
+    }
+
+    /**
+     * 保存稀有事件估计报告到文件
+     */
+    public void saveReportToFile() {
+        Reports.save("rare_event.txt", "稀有事件估计", generateReport());
+    }
+
+    /**
+     * 加权样本累加器：每局样本 x = 事件指示 × 似然比
+     */
+    private static class Tally {
+        private long games;       // 对局数
+        private long hits;        // 事件发生次数（偏置分布下）
+        private double sumX;      // 样本之和
+        private double sumX2;     // 样本平方和
+        private double sumWeight; // 似然比之和
+
+        void add(boolean occurred, double weight) {
+            double x = occurred ? weight : 0;
+            games++;
+            hits += occurred ? 1 : 0;
+            sumX += x;
+            sumX2 += x * x;
+            sumWeight += weight;
+        }
+
+        void merge(Tally other) {
+            games += other.games;
+            hits += other.hits;
+            sumX += other.sumX;
+            sumX2 += other.sumX2;
+            sumWeight += other.sumWeight;
+        }
+
+        double mean() {
+            return games > 0 ? sumX / games : 0;
+        }
+
+        /**
+         * 样本方差
+         */
+        double variance() {
+            if (games < 2) {
+                return 0;
+            }
+            double mean = mean();
+            return (sumX2 - games * mean * mean) / (games - 1);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Camp;
+import com.wolfgame.core.Game;
+import com.wolfgame.stat.Confidence;
+import com.wolfgame.util.RandomSource;
+
+/**
+ * 配对比较类，用公共随机数比较两组策略配置的胜率
+ * 两组配置的第n局使用相同的游戏种子，因此角色洗牌和每个策略的随机数流完全相同，胜率差中的共同噪声相互抵消；
+ * 开启对偶模式时每局再用镜像随机数流（见 {@link com.wolfgame.util.AntitheticRandom}）各运行一次，取平均作为一个配对样本。
+ * 报告配对胜率差及其置信区间，并与独立运行相同局数时的方差比较
+ */
+public class PairedComparison {
+    private static final int CHUNK_SIZE = 1000; // 每个任务的轮数
+
+    private final SimulationConfig configA;  // 配置A
+    private final SimulationConfig configB;  // 配置B
+    private final Camp camp;                 // 比较的阵营胜率
+    private final boolean antithetic;        // 是否使用对偶随机数
+    private final double confidence;         // 置信水平
+    private final int threads;               // 并行线程数
+    private final Tally total;               // 汇总结果
+
+    public PairedComparison(SimulationConfig configA, SimulationConfig configB, Camp camp,
+                            boolean antithetic, double confidence, int threads) {
+        if (!configA.getTable().equals(configB.getTable())) {
+            throw new IllegalArgumentException("配对比较的两组配置必须使用相同的对局阵容");
+        }
+        if (configA.getSeed() != configB.getSeed() || !configA.getRngAlgorithm().equals(configB.getRngAlgorithm())
+                || configA.getRounds() != configB.getRounds()) {
+            throw new IllegalArgumentException("配对比较的两组配置必须使用相同的轮数、种子和随机数算法");
+        }
+        Confidence.checkLevel(confidence);
+        this.configA = configA;
+        this.configB = configB;
+        this.camp = camp;
+        this.antithetic = antithetic;
+        this.confidence = confidence;
+        this.threads = threads;
+        this.total = new Tally();
+    }
+
+    /**
+     * 在线程池上分块运行全部配对对局
+     */
+    public void run() {
+        for (Tally tally : Simulator.runChunked(configA.getRounds(), CHUNK_SIZE, threads, "配对比较", this::runRange)) {
+            total.merge(tally);
+        }
+    }
+
+    /**
+     * 运行第 fromRound 到 toRound 轮的配对对局
+     */
+    private Tally runRange(int fromRound, int toRound) {
+        RandomSource randomSource = configA.createRandomSource();
+        Game gameA = configA.createGame(fromRound, configA.createStrategies(), randomSource);
+        Game gameB = configB.createGame(fromRound, configB.createStrategies(), randomSource);
+        Game mirrorA = null;
+        Game mirrorB = null;
+        if (antithetic) {
+            RandomSource mirror = randomSource.antithetic();
+            mirrorA = configA.createGame(fromRound, configA.createStrategies(), mirror);
+            mirrorB = configB.createGame(fromRound, configB.createStrategies(), mirror);
+        }
+        Tally tally = new Tally();
+        for (int i = fromRound; i <= toRound; i++) {
+            int winA = play(gameA, i, fromRound);
+            int winB = play(gameB, i, fromRound);
+            if (antithetic) {
+                int mirrorWinA = play(mirrorA, i, fromRound);
+                int mirrorWinB = play(mirrorB, i, fromRound);
+                tally.add(winA + mirrorWinA, winB + mirrorWinB, 2);
+            } else {
+                tally.add(winA, winB, 1);
+            }
+        }
+        return tally;
+    }
+
+    /**
+     * 运行一局并返回目标阵营是否获胜；游戏对象逐局重置复用，重置后立即运行以免策略随机数流被其他游戏覆盖
+     */
+    private int play(Game game, int gameId, int firstGameId) {
+        if (gameId > firstGameId) {
+            game.reset(gameId);
+        }
+        game.run();
+        return game.getWinnerCamp() == camp ? 1 : 0;
+    }
+
+    /**
+     * 生成配对比较报告
+     */
+    public String generateReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("===== 配对比较报告 =====\n");
+        report.append("配置A: ").append(configA.toSpec()).append("\n");
+        report.append("配置B: ").append(configB.toSpec()).append("\n");
+        report.append("比较指标: ").append(camp.getName()).append("阵营胜率, 配对样本: ").append(total.pairs)
+                .append(antithetic ? "（每个样本含原始和对偶各一局）" : "").append("\n\n");
+
+        double z = Confidence.z(confidence);
+        double[] intervalA = Confidence.wilson(total.winsA, total.games, confidence);
+        double[] intervalB = Confidence.wilson(total.winsB, total.games, confidence);
+        double rateA = total.rate(total.winsA);
+        double rateB = total.rate(total.winsB);
+        report.append(String.format("配置A胜率: %.2f%% [%.2f%%, %.2f%%], 对局 %d%n",
+                rateA * 100, intervalA[0] * 100, intervalA[1] * 100, total.games));
+        report.append(String.format("配置B胜率: %.2f%% [%.2f%%, %.2f%%], 对局 %d%n",
+                rateB * 100, intervalB[0] * 100, intervalB[1] * 100, total.games));
+
+        double diff = total.meanDiff();
+        double pairedSe = Math.sqrt(total.diffVariance() / total.pairs);
+        report.append(String.format("%n胜率差(A-B): %+.2f%% [%+.2f%%, %+.2f%%]（配对，%.0f%% 置信区间）%n",
+                diff * 100, (diff - z * pairedSe) * 100, (diff + z * pairedSe) * 100, confidence * 100));
+        double independentSe = Math.sqrt(rateA * (1 - rateA) / total.games + rateB * (1 - rateB) / total.games);
+        report.append(String.format("独立运行相同局数时的区间半宽: ±%.2f%%, 配对区间半宽: ±%.2f%%%n",
+                z * independentSe * 100, z * pairedSe * 100));
+        if (pairedSe > 0) {
+            double ratio = independentSe * independentSe / (pairedSe * pairedSe);
+            report.append(String.format("方差缩减倍数: %.1f, 独立运行达到同等精度约需每组 %d 局%n",
+                    ratio, (long) Math.ceil(ratio * total.games)));
+        }
+        report.append("==============================\n");
+        return report.toString();
+    }
+
+    /**
+     * 保存配对比较报告到文件
+     */
+    public void saveReportToFile() {
+        Reports.save("compare.txt", "配对比较", generateReport());
+    }
+
+    /**
+     * 配对结果累加器：每个配对样本的胜率差 d = (A胜局数 - B胜局数) / 每组局数
+     */
+    private static class Tally {
+        private long pairs;    // 配对样本数
+        private long games;    // 每组配置的对局数
+        private long winsA;    // 配置A胜局数
+        private long winsB;    // 配置B胜局数
+        private double sumD;   // 差值之和
+        private double sumD2;  // 差值平方和
+
+        void add(int winA, int winB, int gamesPerPair) {
+            double d = (double) (winA - winB) / gamesPerPair;
+            pairs++;
+            games += gamesPerPair;
+            winsA += winA;
+            winsB += winB;
+            sumD += d;
+            sumD2 += d * d;
+        }
+
+        void merge(Tally other) {
+            pairs += other.pairs;
+            games += other.games;
+            winsA += other.winsA;
+            winsB += other.winsB;
+            sumD += other.sumD;
+            sumD2 += other.sumD2;
+        }
+
+        double rate(long wins) {
+            return games > 0 ? (double) wins / games : 0;
+        }
+
+        double meanDiff() {
+            return pairs > 0 ? sumD / pairs : 0;
+        }
+
+        /**
+         * 配对差值的样本方差
+         */
+        double diffVariance() {
+            if (pairs < 2) {
+                return 0;
+            }
+            double mean = meanDiff();
+            return (sumD2 - pairs * mean * mean) / (pairs - 1);
+        }
+    }
+}
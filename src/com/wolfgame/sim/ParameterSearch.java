@@ -0,0 +1,326 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Camp;
+import com.wolfgame.core.Role;
+import com.wolfgame.stat.Confidence;
+import com.wolfgame.stat.Statistics;
+import com.wolfgame.strategy.ParameterSpec;
+import com.wolfgame.strategy.ParameterVector;
+import com.wolfgame.strategy.StrategyFactory;
+import com.wolfgame.util.RandomSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+/**
+ * 策略参数搜索类，用交叉熵方法调整可参数化策略中作用于指定角色的参数，使指定阵营的胜率最大
+ * 每轮从截断正态分布中采样一批候选参数向量，在并行线程池上各自运行一段对局，
+ * 同一轮的所有候选使用相同的对局种子（公共随机数），取胜率最高的精英样本更新分布均值和标准差；
+ * 结束后在全新的种子上用相同的对局验证交叉熵均值、最后一轮的精英样本和默认参数，取验证胜率最高者为最终参数，
+ * 给出各候选胜率的置信区间；搜索胜率更高的均值在验证中不一定更好，因此默认参数也参与挑选
+ */
+public class ParameterSearch {
+    private static final double ELITE_FRACTION = 0.25; // 精英样本比例
+    private static final double SMOOTHING = 0.7;       // 分布更新的平滑系数
+    private static final double MIN_SIGMA = 0.01;      // 标准差下限（相对参数范围）
+    private static final double CONVERGED_SIGMA = 0.02; // 所有标准差低于该值（相对参数范围）时停止
+
+    private final String strategy;          // 被调整的策略名称
+    private final Set<Role> roles;          // 使用被调整策略的角色
+    private final Camp camp;                // 目标阵营
+    private final SimulationConfig base;    // 其余角色的策略、阵容、种子和随机数算法
+    private final int population;           // 每轮候选数
+    private final int iterations;           // 最大轮数
+    private final int gamesPerCandidate;    // 每个候选的对局数
+    private final int validationGames;      // 验证对局数
+    private final double confidence;        // 置信水平
+    private final int threads;              // 并行线程数
+    private final List<ParameterSpec> specs; // 策略的全部参数定义
+    private final int[] searched;           // 被搜索的参数序号（作用于指定角色的参数）
+    private final double[] mean;            // 当前分布均值
+    private final double[] sigma;           // 当前分布标准差
+    private final List<String> history;     // 每轮摘要
+    private final List<String> finalistLabels; // 参与验证的候选名称
+    private final List<ParameterVector> finalists; // 参与验证的候选参数
+    private List<Result> validation;        // 各候选的验证结果
+    private ParameterVector best;           // 最终参数（验证胜率最高的候选）
+    private int bestIndex;                  // 最终参数在验证候选中的序号
+    private int totalGames;                 // 已运行总局数
+
+    public ParameterSearch(String strategy, Set<Role> roles, Camp camp, SimulationConfig base,
+                           int population, int iterations, int gamesPerCandidate, int validationGames,
+                           double confidence, int threads) {
+        if (population < 4 || iterations <= 0 || gamesPerCandidate <= 0 || validationGames <= 0) {
+            throw new IllegalArgumentException("候选数至少为4，轮数和对局数必须为正数");
+        }
+        Confidence.checkLevel(confidence);
+        this.strategy = strategy;
+        this.roles = roles;
+        this.camp = camp;
+        this.base = base;
+        this.population = population;
+        this.iterations = iterations;
+        this.gamesPerCandidate = gamesPerCandidate;
+        this.validationGames = validationGames;
+        this.confidence = confidence;
+        this.threads = threads;
+        this.specs = StrategyFactory.parameterSpecs(strategy);
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < specs.size(); i++) {
+            if (roles.contains(specs.get(i).getRole())) {
+                indices.add(i);
+            }
+        }
+        if (indices.isEmpty()) {
+            throw new IllegalArgumentException("策略 " + strategy + " 没有作用于 " + roles + " 的参数");
+        }
+        this.searched = indices.stream().mapToInt(Integer::intValue).toArray();
+        this.mean = new double[searched.length];
+        this.sigma = new double[searched.length];
+        for (int d = 0; d < searched.length; d++) {
+            ParameterSpec spec = specs.get(searched[d]);
+            mean[d] = spec.getDefaultValue();
+            sigma[d] = 0.25 * (spec.getMax() - spec.getMin());
+        }
+        this.history = new ArrayList<>();
+        this.finalistLabels = new ArrayList<>();
+        this.finalists = new ArrayList<>();
+    }
+
+    /**
+     * 运行参数搜索和最终验证
+     */
+    public void run() {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            RandomGenerator sampler = new RandomSource(base.getRngAlgorithm(), base.getSeed()).create(base.getSeed());
+            int eliteCount = Math.max(2, (int) Math.round(population * ELITE_FRACTION));
+            List<ParameterVector> elites = new ArrayList<>(); // 最近一轮的精英样本，按胜率从高到低
+            for (int iteration = 1; iteration <= iterations; iteration++) {
+                List<ParameterVector> candidates = new ArrayList<>();
+                for (int c = 0; c < population; c++) {
+                    candidates.add(sample(sampler));
+                }
+                // 同一轮的候选使用相同的对局区间，胜率差异只来自参数
+                int from = (iteration - 1) * gamesPerCandidate + 1;
+                List<Result> results = evaluate(pool, candidates, base.getSeed(), from, gamesPerCandidate);
+                Integer[] order = new Integer[population];
+                for (int c = 0; c < population; c++) {
+                    order[c] = c;
+                }
+                Arrays.sort(order, Comparator.comparingDouble((Integer c) -> results.get(c).rate()).reversed());
+                updateDistribution(candidates, order, eliteCount);
+                elites.clear();
+                for (int e = 0; e < eliteCount; e++) {
+                    elites.add(candidates.get(order[e]));
+                }
+                history.add(String.format("第%d轮: 最佳胜率 %.2f%%, 精英平均胜率 %.2f%%, 均值 %s",
+                        iteration, results.get(order[0]).rate() * 100,
+                        eliteMeanRate(results, order, eliteCount) * 100, formatMean()));
+                if (converged()) {
+                    break;
+                }
+            }
+
+            // 在全新的种子上用相同的对局验证交叉熵均值、精英样本和默认参数，取胜率最高者（同分时取靠前的）
+            finalistLabels.add("交叉熵均值");
+            finalists.add(toVector(mean));
+            for (int e = 0; e < elites.size(); e++) {
+                finalistLabels.add("第" + (e + 1) + "名精英");
+                finalists.add(elites.get(e));
+            }
+            finalistLabels.add("默认参数");
+            finalists.add(ParameterVector.defaults(specs));
+            long validationSeed = RandomSource.mix(base.getSeed() ^ 0x5EED);
+            validation = evaluate(pool, finalists, validationSeed, 1, validationGames);
+            bestIndex = 0;
+            for (int i = 1; i < validation.size(); i++) {
+                if (validation.get(i).rate() > validation.get(bestIndex).rate()) {
+                    bestIndex = i;
+                }
+            }
+            best = finalists.get(bestIndex);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 从当前分布中采样一个候选，取值截断到参数范围内
+     */
+    private ParameterVector sample(RandomGenerator sampler) {
+        ParameterVector vector = ParameterVector.defaults(specs);
+        for (int d = 0; d < searched.length; d++) {
+            vector = vector.with(searched[d], mean[d] + sigma[d] * sampler.nextGaussian());
+        }
+        return vector;
+    }
+
+    /**
+     * 用精英样本的均值和标准差平滑更新分布
+     */
+    private void updateDistribution(List<ParameterVector> candidates, Integer[] order, int eliteCount) {
+        for (int d = 0; d < searched.length; d++) {
+            double sum = 0;
+            for (int e = 0; e < eliteCount; e++) {
+                sum += candidates.get(order[e]).get(searched[d]);
+            }
+            double eliteMean = sum / eliteCount;
+            double squares = 0;
+            for (int e = 0; e < eliteCount; e++) {
+                double diff = candidates.get(order[e]).get(searched[d]) - eliteMean;
+                squares += diff * diff;
+            }
+            double eliteSigma = Math.sqrt(squares / eliteCount);
+            ParameterSpec spec = specs.get(searched[d]);
+            double range = spec.getMax() - spec.getMin();
+            mean[d] = SMOOTHING * eliteMean + (1 - SMOOTHING) * mean[d];
+            sigma[d] = Math.max(MIN_SIGMA * range, SMOOTHING * eliteSigma + (1 - SMOOTHING) * sigma[d]);
+        }
+    }
+
+    private boolean converged() {
+        for (int d = 0; d < searched.length; d++) {
+            ParameterSpec spec = specs.get(searched[d]);
+            if (sigma[d] > CONVERGED_SIGMA * (spec.getMax() - spec.getMin())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double eliteMeanRate(List<Result> results, Integer[] order, int eliteCount) {
+        double sum = 0;
+        for (int e = 0; e < eliteCount; e++) {
+            sum += results.get(order[e]).rate();
+        }
+        return sum / eliteCount;
+    }
+
+    private String formatMean() {
+        StringBuilder text = new StringBuilder();
+        for (int d = 0; d < searched.length; d++) {
+            text.append(d > 0 ? ", " : "").append(specs.get(searched[d]).getKey())
+                    .append(String.format("=%.3f", specs.get(searched[d]).clamp(mean[d])));
+        }
+        return text.toString();
+    }
+
+    private ParameterVector toVector(double[] values) {
+        ParameterVector vector = ParameterVector.defaults(specs);
+        for (int d = 0; d < searched.length; d++) {
+            vector = vector.with(searched[d], values[d]);
+        }
+        return vector;
+    }
+
+    /**
+     * 在线程池上并行评估一组候选参数，每个候选运行第 from 轮起的 games 局
+     */
+    private List<Result> evaluate(ExecutorService pool, List<ParameterVector> candidates, long seed, int from, int games) {
+        List<Future<Statistics>> futures = new ArrayList<>();
+        for (ParameterVector candidate : candidates) {
+            SimulationConfig config = configFor(candidate, seed, from + games - 1);
+            futures.add(pool.submit(() -> {
+                Statistics statistics = new Statistics();
+                Simulator.runRange(config, from, from + games - 1, statistics);
+                return statistics;
+            }));
+        }
+        List<Result> results = new ArrayList<>();
+        for (Future<Statistics> future : futures) {
+            try {
+                Statistics statistics = future.get();
+                results.add(new Result(statistics.getWinCount().getOrDefault(camp, 0), statistics.getTotalGames()));
+                totalGames += statistics.getTotalGames();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("参数搜索被中断", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("参数评估失败", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 候选参数对应的模拟配置：指定角色使用带参数的策略，其余角色沿用基础配置
+     */
+    private SimulationConfig configFor(ParameterVector candidate, long seed, int rounds) {
+        SimulationConfig config = new SimulationConfig();
+        config.setTable(base.getTable());
+        config.setRngAlgorithm(base.getRngAlgorithm());
+        config.setSeed(seed);
+        config.setRounds(rounds);
+        for (Role role : Role.values()) {
+            config.setStrategy(role, roles.contains(role) ? strategy + ":" + candidate : base.getStrategyNames().get(role));
+        }
+        return config;
+    }
+
+    /**
+     * 生成参数搜索报告
+     */
+    public String generateReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("===== 策略参数搜索报告 =====\n");
+        report.append("策略: ").append(strategy).append(", 角色: ").append(roles)
+                .append(", 目标: ").append(camp.getName()).append("阵营胜率\n");
+        report.append("方法: 交叉熵, 每轮候选 ").append(population).append(", 每个候选对局 ").append(gamesPerCandidate)
+                .append(", 总对局数: ").append(totalGames).append("\n\n");
+        for (String line : history) {
+            report.append(line).append("\n");
+        }
+        if (best == null) {
+            return report.append("==============================\n").toString();
+        }
+        report.append("\n【最终参数】（验证胜率最高的候选：").append(finalistLabels.get(bestIndex)).append("）\n");
+        for (int d = 0; d < searched.length; d++) {
+            ParameterSpec spec = specs.get(searched[d]);
+            report.append(String.format("%s (%s): %.3f, 默认 %.3f, 搜索分布均值 %.3f、标准差 %.3f%n", spec.getKey(),
+                    spec.getName(), best.get(searched[d]), spec.getDefaultValue(), spec.clamp(mean[d]), sigma[d]));
+        }
+        report.append("参数字符串: ").append(strategy).append(':').append(best).append("\n\n");
+        report.append("【验证】（").append(validationGames).append("局，全新种子，各候选使用相同对局，区间为胜率的 ")
+                .append(String.format("%.0f%%", confidence * 100)).append(" 置信区间）\n");
+        for (int i = 0; i < finalists.size(); i++) {
+            appendResult(report, finalistLabels.get(i) + (i == bestIndex ? "（选中）" : ""), validation.get(i));
+        }
+        report.append("注：最终参数按验证胜率挑选，其验证胜率略偏乐观\n");
+        report.append("==============================\n");
+        return report.toString();
+    }
+
+    private void appendResult(StringBuilder report, String label, Result result) {
+        double[] interval = Confidence.wilson(result.wins, result.games, confidence);
+        report.append(String.format("%s: 胜率 %.2f%% [%.2f%%, %.2f%%]%n",
+                label, result.rate() * 100, interval[0] * 100, interval[1] * 100));
+    }
+
+    /**
+     * 保存参数搜索报告到文件
+     */
+    public void saveReportToFile() {
+        Reports.save("optimize.txt", "参数搜索", generateReport());
+    }
+
+    public ParameterVector getBest() {
+        return best;
+    }
+
+    /**
+     * 一个候选的评估结果
+     */
+    private record Result(int wins, int games) {
+        double rate() {
+            return games > 0 ? (double) wins / games : 0;
+        }
+    }
+}
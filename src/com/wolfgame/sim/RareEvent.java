@@ -0,0 +1,99 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Camp;
+import com.wolfgame.core.Player;
+import com.wolfgame.core.Role;
+
+/**
+ * 稀有事件枚举类，定义重要性抽样的目标事件及其偏置方式
+ * 偏置只改变随机策略各决策点的抽样概率，每次偏置都由似然比修正，因此估计仍然无偏；
+ * 候选目标的权重和二元决策的偏置概率都有界，单局似然比不会无限增大
+ */
+public enum RareEvent {
+    GODS_DEAD_NIGHT1_GOOD_WIN("首夜预言家和女巫双死后好人获胜") {
+        @Override
+        public double weight(Decision decision, Player actor, Player candidate, EventTrace trace) {
+            // 首夜狼人刀女巫，女巫毒预言家；之后的对局不偏置
+            if (trace.getDay() == 1 && trace.isNight()) {
+                if (decision == Decision.KILL) {
+                    return candidate.getRole() == Role.WITCH ? 20 : 1;
+                }
+                if (decision == Decision.POISON) {
+                    return candidate.getRole() == Role.PROPHET ? 20 : 1;
+                }
+            }
+            return 1;
+        }
+
+        @Override
+        public double probability(Decision decision, Player actor, EventTrace trace) {
+            if (trace.getDay() == 1 && trace.isNight()) {
+                return decision == Decision.ANTIDOTE ? 0.05 : decision == Decision.POISON ? 0.95 : 0.5;
+            }
+            return 0.5;
+        }
+
+        @Override
+        public boolean occurred(EventTrace trace) {
+            return trace.isProphetDiedNight1() && trace.isWitchDiedNight1()
+                    && trace.getGame().getWinnerCamp() == Camp.GOOD;
+        }
+    },
+    HUNTER_WINS_DAY1("首日猎人开枪带走最后一名狼人") {
+        @Override
+        public double weight(Decision decision, Player actor, Player candidate, EventTrace trace) {
+            // 首日女巫毒狼、狼人刀猎人，猎人开枪带走另一名狼人；之后的对局不偏置
+            if (trace.getDay() != 1) {
+                return 1;
+            }
+            return switch (decision) {
+                case KILL -> candidate.getRole() == Role.HUNTER ? 20 : 1;
+                case POISON, GUN -> candidate.isWolf() ? 10 : 1;
+                default -> 1;
+            };
+        }
+
+        @Override
+        public double probability(Decision decision, Player actor, EventTrace trace) {
+            if (trace.getDay() != 1) {
+                return 0.5;
+            }
+            return switch (decision) {
+                case ANTIDOTE -> 0.05;
+                case POISON, GUN -> 0.95;
+                default -> 0.5;
+            };
+        }
+
+        @Override
+        public boolean occurred(EventTrace trace) {
+            return trace.isHunterDecided() && trace.getGame().getDayCount() == 1
+                    && trace.getGame().getWinnerCamp() == Camp.GOOD;
+        }
+    };
+
+    private final String name;
+
+    RareEvent(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 偏置后候选目标的相对权重，原始随机策略中所有候选权重均为1
+     */
+    public abstract double weight(Decision decision, Player actor, Player candidate, EventTrace trace);
+
+    /**
+     * 偏置后二元决策（用解药、用毒、开枪）选择"是"的概率，原始随机策略为0.5
+     */
+    public abstract double probability(Decision decision, Player actor, EventTrace trace);
+
+    /**
+     * 对局结束时判断目标事件是否发生
+     */
+    public abstract boolean occurred(EventTrace trace);
+
+    public String getName() {
+        return name;
+    }
+}
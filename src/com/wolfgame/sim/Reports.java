@@ -0,0 +1,34 @@
+package com.wolfgame.sim;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * 模拟报告工具类，把各模拟模式生成的报告保存到 res/ 目录
+ */
+public final class Reports {
+
+    private Reports() {
+    }
+
+    /**
+     * 保存报告到 res/ 目录下的文件，成功和失败时都打印提示
+     * @param fileName 文件名，如 "compare.txt"
+     * @param title 报告名称，如 "配对比较"
+     */
+    public static void save(String fileName, String title, String report) {
+        File reportDir = new File("res/");
+        if (!reportDir.exists()) {
+            reportDir.mkdirs();
+        }
+        String path = "res/" + fileName;
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(path))) {
+            writer.write(report);
+            System.out.println(title + "报告已保存至：" + path);
+        } catch (IOException e) {
+            System.err.println("保存" + title + "报告失败：" + e.getMessage());
+        }
+    }
+}
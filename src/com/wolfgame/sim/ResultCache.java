@@ -0,0 +1,188 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.stat.GameFingerprint;
+import com.wolfgame.stat.Statistics;
+import com.wolfgame.util.RandomSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 实验结果缓存类，把已完成的连续轮次区间的统计结果和对局指纹保存在磁盘上
+ * 缓存键由实验描述（策略组合、阵容、随机数算法、种子、分层特征）和构建版本哈希得到，每个键对应一个目录，
+ * 目录中每个分段文件保存一个轮次区间的可合并结果。每局的随机数流只取决于种子和轮次，
+ * 因此增加轮数重跑时只需运行缓存未覆盖的区间再合并，相同的重跑直接读取缓存
+ */
+public class ResultCache {
+    private static final int MAGIC = 0x57475243; // "WGRC"
+    private static final int VERSION = 1;
+
+    private final Path directory; // 缓存根目录
+    private final String build;   // 构建版本
+
+    public ResultCache(Path directory) {
+        this.directory = directory;
+        this.build = buildVersion();
+    }
+
+    /**
+     * 计算实验描述在当前构建下的缓存键（16位十六进制）
+     */
+    public String key(String description) {
+        long hash = 0xCBF29CE484222325L;
+        String text = description + "|build=" + build;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001B3L;
+        }
+        return String.format("%016x", RandomSource.mix(hash));
+    }
+
+    /**
+     * 载入从第1轮开始、不超过 rounds 的最长连续缓存区间，合并到 into（须已设置对局指纹）
+     * 某个分段损坏或与当前统计的分层特征不一致时跳过该分段
+     * @return 已覆盖的最后一轮，没有可用缓存时为0
+     */
+    public int load(String key, int rounds, Statistics into) {
+        List<int[]> segments = segments(key);
+        int covered = 0;
+        while (true) {
+            int best = -1;
+            for (int i = 0; i < segments.size(); i++) {
+                int[] segment = segments.get(i);
+                if (segment[0] == covered + 1 && segment[1] <= rounds
+                        && (best < 0 || segment[1] > segments.get(best)[1])) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                return covered;
+            }
+            int[] segment = segments.remove(best);
+            if (read(key, segment[0], segment[1], into)) {
+                covered = segment[1];
+            }
+        }
+    }
+
+    /**
+     * 读取一个分段，先读入临时对象，校验通过后再合并，避免半个分段污染结果
+     */
+    private boolean read(String key, int from, int to, Statistics into) {
+        Path file = segmentFile(key, from, to);
+        Statistics statistics = new Statistics(into.getCube().getFeatures());
+        GameFingerprint fingerprint = new GameFingerprint();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(key)
+                    || in.readInt() != from || in.readInt() != to) {
+                throw new IOException("缓存分段文件头不一致");
+            }
+            statistics.read(in);
+            fingerprint.read(in);
+            if (statistics.getTotalGames() != to - from + 1 || fingerprint.getGameCount() != to - from + 1) {
+                throw new IOException("缓存分段的对局数不一致");
+            }
+        } catch (IOException e) {
+            System.err.println("警告：忽略无法使用的缓存分段 " + file + "：" + e.getMessage());
+            return false;
+        }
+        into.merge(statistics);
+        into.getFingerprint().merge(fingerprint);
+        return true;
+    }
+
+    /**
+     * 保存第 from 到 to 轮的结果为一个分段，statistics 须只包含这些轮次且已设置对局指纹；先写临时文件再改名，中断时不留下半个分段
+     */
+    public void store(String key, int from, int to, Statistics statistics) throws IOException {
+        Path file = segmentFile(key, from, to);
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(key);
+            out.writeInt(from);
+            out.writeInt(to);
+            statistics.write(out);
+            statistics.getFingerprint().write(out);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path segmentFile(String key, int from, int to) {
+        return directory.resolve(key).resolve(from + "-" + to + ".bin");
+    }
+
+    /**
+     * 列出某个键下的全部分段区间
+     */
+    private List<int[]> segments(String key) {
+        List<int[]> segments = new ArrayList<>();
+        Path dir = directory.resolve(key);
+        if (!Files.isDirectory(dir)) {
+            return segments;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                int dash = name.indexOf('-');
+                if (dash <= 0 || !name.endsWith(".bin")) {
+                    continue;
+                }
+                try {
+                    int from = Integer.parseInt(name.substring(0, dash));
+                    int to = Integer.parseInt(name.substring(dash + 1, name.length() - 4));
+                    if (from >= 1 && to >= from) {
+                        segments.add(new int[]{from, to});
+                    }
+                } catch (NumberFormatException e) {
+                    // 不是分段文件
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("警告：无法读取缓存目录 " + dir + "：" + e.getMessage());
+        }
+        return segments;
+    }
+
+    /**
+     * 构建版本：优先使用包的实现版本；否则对类路径中本程序的类文件（或jar文件）的名称、大小和修改时间求哈希，
+     * 重新编译后缓存自动失效
+     */
+    private static String buildVersion() {
+        String version = ResultCache.class.getPackage().getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+        CodeSource source = ResultCache.class.getProtectionDomain().getCodeSource();
+        if (source == null) {
+            return "unknown";
+        }
+        try {
+            Path location = Path.of(source.getLocation().toURI());
+            long hash = 0;
+            try (Stream<Path> files = Files.isDirectory(location) ? Files.walk(location) : Stream.of(location)) {
+                for (Path file : (Iterable<Path>) files.sorted()::iterator) {
+                    if (Files.isRegularFile(file)) {
+                        hash = RandomSource.mix(hash ^ location.relativize(file).toString().hashCode());
+                        hash = RandomSource.mix(hash ^ Files.size(file));
+                        hash = RandomSource.mix(hash ^ Files.getLastModifiedTime(file).toMillis());
+                    }
+                }
+            }
+            return String.format("%016x", hash);
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Game;
+import com.wolfgame.core.Role;
+import com.wolfgame.core.TableConfig;
+import com.wolfgame.stat.GameFingerprint;
+import com.wolfgame.stat.GameRecord;
+import com.wolfgame.stat.GameRecorder;
+import com.wolfgame.stat.Statistics;
+import com.wolfgame.strategy.Strategy;
+import com.wolfgame.util.RandomSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 并行结果流水线类，多个模拟线程各自运行对局，把每局结果归约为原始类型的 {@link GameRecord}，
+ * 通过每个线程独占的单生产者单消费者环形缓冲区交给唯一的汇总线程，由汇总线程批量合并到统计和对局指纹中。
+ * 模拟线程只写自己的缓冲区，不加锁也不持有游戏对象；内存占用为 线程数 × 缓冲区容量 个记录，与对局数无关。
+ * 每局的随机数流只取决于种子和轮次，汇总结果与线程数和调度无关（跨局学习的策略除外）
+ */
+public class ResultPipeline {
+    private static final int CHUNK_SIZE = 256;      // 模拟线程每次领取的轮数
+    private static final int RING_CAPACITY = 1024;  // 每个环形缓冲区的记录数
+    private static final int BATCH_SIZE = 256;      // 汇总线程每次从一个缓冲区读取的最大记录数
+    private static final long IDLE_NANOS = 50_000;  // 汇总线程没有新记录时的等待时间
+
+    private final Supplier<Map<Role, Strategy>> strategies; // 为每个模拟线程创建一组策略实例
+    private final TableConfig table;                        // 对局阵容
+    private final RandomSource randomSource;                // 随机数源
+    private final int threads;                              // 模拟线程数
+    private long budgetNanos;                               // 每次决策的软预算（纳秒），0表示不限
+    private long limitNanos;                                // 每次决策的硬上限（纳秒），0表示不限
+
+    public ResultPipeline(Supplier<Map<Role, Strategy>> strategies, TableConfig table, RandomSource randomSource, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("模拟线程数必须为正数：" + threads);
+        }
+        this.strategies = strategies;
+        this.table = table;
+        this.randomSource = randomSource;
+        this.threads = threads;
+    }
+
+    /**
+     * 设置各模拟线程游戏对象的决策预算
+     */
+    public void setBudget(long budgetNanos, long limitNanos) {
+        this.budgetNanos = budgetNanos;
+        this.limitNanos = limitNanos;
+    }
+
+    /**
+     * 在模拟线程上运行第 fromRound 到 toRound 轮（含），在调用线程上汇总，返回汇总的对局数
+     * @param fingerprint 汇总对局指纹，可以为null
+     */
+    public int run(int fromRound, int toRound, Statistics statistics, GameFingerprint fingerprint) {
+        if (fromRound > toRound) {
+            return 0;
+        }
+        AtomicInteger nextRound = new AtomicInteger(fromRound);
+        ResultRing[] rings = new ResultRing[threads];
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                ResultRing ring = new ResultRing(RING_CAPACITY);
+                rings[t] = ring;
+                futures.add(pool.submit(() -> simulate(ring, nextRound, toRound)));
+            }
+            int games;
+            try {
+                games = aggregate(rings, statistics, fingerprint);
+            } catch (RuntimeException | Error e) {
+                for (ResultRing ring : rings) {
+                    ring.abort();
+                }
+                throw e;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return games;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("并行模拟被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("并行模拟执行失败", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 模拟线程：按块领取轮次，每局在领取的槽位中原地写入结果后发布；结束（包括异常）时关闭缓冲区
+     */
+    private void simulate(ResultRing ring, AtomicInteger nextRound, int toRound) {
+        try {
+            Game game = null;
+            GameRecorder recorder = new GameRecorder(null);
+            GameFingerprint fingerprint = new GameFingerprint();
+            int from;
+            while ((from = nextRound.getAndAdd(CHUNK_SIZE)) <= toRound) {
+                int end = Math.min(from + CHUNK_SIZE - 1, toRound);
+                for (int i = from; i <= end; i++) {
+                    GameRecord record = ring.claim();
+                    recorder.setRecord(record);
+                    if (game == null) {
+                        game = new Game(i, strategies.get(), table, randomSource);
+                        game.getBudget().setBudgetNanos(budgetNanos);
+                        game.getBudget().setLimitNanos(limitNanos);
+                        game.addListener(recorder);
+                        game.addListener(fingerprint);
+                    } else {
+                        game.reset(i);
+                    }
+                    game.run();
+                    record.setFingerprint(fingerprint.getLastFingerprint());
+                    fingerprint.clear();
+                    ring.publish();
+                }
+            }
+        } finally {
+            ring.close();
+        }
+    }
+
+    /**
+     * 汇总线程：轮流从各缓冲区批量读取记录并合并，所有模拟线程结束且缓冲区读空后返回
+     */
+    private static int aggregate(ResultRing[] rings, Statistics statistics, GameFingerprint fingerprint) {
+        int games = 0;
+        while (true) {
+            int drained = 0;
+            boolean done = true;
+            for (ResultRing ring : rings) {
+                long from = ring.position();
+                long to = Math.min(ring.available(), from + BATCH_SIZE);
+                for (long seq = from; seq < to; seq++) {
+                    GameRecord record = ring.get(seq);
+                    statistics.add(record);
+                    if (fingerprint != null && record.isComplete()) {
+                        fingerprint.add(record.getGameId(), record.getFingerprint());
+                    }
+                }
+                ring.release(to);
+                drained += (int) (to - from);
+                done &= ring.isDrained();
+            }
+            games += drained;
+            if (drained == 0) {
+                if (done) {
+                    return games;
+                }
+                LockSupport.parkNanos(IDLE_NANOS);
+            }
+        }
+    }
+}
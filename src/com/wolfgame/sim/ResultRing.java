@@ -0,0 +1,113 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.stat.GameRecord;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 单生产者单消费者的无锁结果环形缓冲区，槽位是预先分配、反复复用的 {@link GameRecord}
+ * 生产者（模拟线程）领取下一个槽位原地写入一局的结果后发布，消费者（汇总线程）按序号批量读取后释放；
+ * 两端各自只写自己的序号，通过 release/acquire 语义交接槽位，并缓存对方的序号以减少跨核读取。
+ * 缓冲区满时生产者自旋等待，内存占用固定为容量个记录
+ */
+final class ResultRing {
+    private static final int SPINS = 100; // 缓冲区满时让出CPU前的自旋次数
+
+    private final GameRecord[] slots;    // 结果槽位
+    private final int mask;              // 序号取模掩码
+    private final AtomicLong published;  // 已发布的记录数，只由生产者写入
+    private final AtomicLong consumed;   // 已释放的记录数，只由消费者写入
+    private long cachedConsumed;         // 生产者缓存的已释放记录数
+    private volatile boolean closed;     // 生产者是否已经结束
+    private volatile boolean aborted;    // 消费者是否已经放弃读取
+
+    ResultRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new GameRecord[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new GameRecord();
+        }
+        this.mask = size - 1;
+        this.published = new AtomicLong();
+        this.consumed = new AtomicLong();
+    }
+
+    /**
+     * 生产者领取下一个可写的槽位，缓冲区满时等待消费者释放；消费者已放弃读取时抛出 {@link IllegalStateException}
+     */
+    GameRecord claim() {
+        long next = published.getPlain();
+        int spins = 0;
+        while (next - cachedConsumed >= slots.length) {
+            cachedConsumed = consumed.getAcquire();
+            if (next - cachedConsumed < slots.length) {
+                break;
+            }
+            if (aborted) {
+                throw new IllegalStateException("结果汇总已中止");
+            }
+            if (++spins < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(1000);
+            }
+        }
+        return slots[(int) (next & mask)];
+    }
+
+    /**
+     * 生产者发布最近领取的槽位
+     */
+    void publish() {
+        published.setRelease(published.getPlain() + 1);
+    }
+
+    /**
+     * 生产者结束，之后不再发布记录
+     */
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * 消费者放弃读取（如汇总失败），等待槽位的生产者随即退出
+     */
+    void abort() {
+        aborted = true;
+    }
+
+    /**
+     * 消费者可读的记录序号上界（不含）
+     */
+    long available() {
+        return published.getAcquire();
+    }
+
+    /**
+     * 消费者下一条待读记录的序号
+     */
+    long position() {
+        return consumed.getPlain();
+    }
+
+    /**
+     * 消费者读取序号为 seq 的记录，只在 {@link #position()} 与 {@link #available()} 之间有效
+     */
+    GameRecord get(long seq) {
+        return slots[(int) (seq & mask)];
+    }
+
+    /**
+     * 消费者释放序号 upTo 之前的所有记录，槽位交还生产者
+     */
+    void release(long upTo) {
+        consumed.setRelease(upTo);
+    }
+
+    /**
+     * 生产者已结束且所有记录都已被读取
+     */
+    boolean isDrained() {
+        return closed && consumed.getPlain() == published.getAcquire();
+    }
+}
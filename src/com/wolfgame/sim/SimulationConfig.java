@@ -0,0 +1,183 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Game;
+import com.wolfgame.core.Role;
+import com.wolfgame.core.TableConfig;
+import com.wolfgame.strategy.Strategy;
+import com.wolfgame.strategy.StrategyFactory;
+import com.wolfgame.util.RandomSource;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 模拟配置类，描述一次模拟实验的轮数、随机种子、随机数算法、角色策略组合、对局阵容和决策预算
+ * 可以与形如 "rounds=1000 seed=42 rng=Xoroshiro128PlusPlus WOLF=BasicLogic table=WOLF:2,PROPHET:1,... budget=200000 limit=5000000"
+ * 的配置字符串互相转换，budget 和 limit 为每次决策的软预算和硬上限（纳秒），省略时不限
+ */
+public class SimulationConfig {
+    private static final String DEFAULT_STRATEGY = "Random";
+
+    private int rounds;                          // 模拟轮数
+    private long seed;                           // 基础随机种子，每局的随机数流由它派生
+    private String rngAlgorithm;                 // 随机数算法名称
+    private final Map<Role, String> strategyNames; // 角色策略名称映射
+    private TableConfig table;                   // 对局阵容
+    private long budgetNanos;                    // 每次决策的软预算（纳秒），0表示不限
+    private long limitNanos;                     // 每次决策的硬上限（纳秒），0表示不限
+
+    public SimulationConfig() {
+        this.rounds = 1000;
+        this.seed = System.currentTimeMillis();
+        this.rngAlgorithm = RandomSource.DEFAULT_ALGORITHM;
+        this.strategyNames = new EnumMap<>(Role.class);
+        this.table = TableConfig.standard();
+        for (Role role : Role.values()) {
+            strategyNames.put(role, DEFAULT_STRATEGY);
+        }
+    }
+
+    /**
+     * 解析配置字符串，未出现的项使用默认值
+     */
+    public static SimulationConfig parse(String spec) {
+        SimulationConfig config = new SimulationConfig();
+        for (String token : spec.trim().split("\\s+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            int eq = token.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("无效的配置项：" + token);
+            }
+            String key = token.substring(0, eq);
+            String value = token.substring(eq + 1);
+            switch (key.toLowerCase()) {
+                case "rounds" -> config.setRounds(Integer.parseInt(value));
+                case "seed" -> config.setSeed(Long.parseLong(value));
+                case "rng" -> config.setRngAlgorithm(value);
+                case "table" -> config.setTable(TableConfig.parse(value));
+                case "budget" -> config.setBudgetNanos(Long.parseLong(value));
+                case "limit" -> config.setLimitNanos(Long.parseLong(value));
+                default -> {
+                    Role role = Role.valueOf(key.toUpperCase());
+                    // 提前校验策略名称
+                    StrategyFactory.create(value);
+                    config.setStrategy(role, value);
+                }
+            }
+        }
+        return config;
+    }
+
+    /**
+     * 为当前线程创建一组新的策略实例
+     */
+    public Map<Role, Strategy> createStrategies() {
+        return StrategyFactory.createAll(strategyNames);
+    }
+
+    /**
+     * 用给定的策略创建第 gameId 局游戏，阵容和决策预算取自本配置
+     */
+    public Game createGame(int gameId, Map<Role, Strategy> strategies, RandomSource randomSource) {
+        Game game = new Game(gameId, strategies, table, randomSource);
+        game.getBudget().setBudgetNanos(budgetNanos);
+        game.getBudget().setLimitNanos(limitNanos);
+        return game;
+    }
+
+    /**
+     * 创建本次模拟的随机数源
+     */
+    public RandomSource createRandomSource() {
+        return new RandomSource(rngAlgorithm, seed);
+    }
+
+    /**
+     * 转换为可被 {@link #parse(String)} 解析的配置字符串
+     */
+    public String toSpec() {
+        StringBuilder spec = new StringBuilder();
+        spec.append("rounds=").append(rounds).append(" seed=").append(seed).append(" rng=").append(rngAlgorithm);
+        for (Map.Entry<Role, String> entry : strategyNames.entrySet()) {
+            spec.append(' ').append(entry.getKey().name()).append('=').append(entry.getValue());
+        }
+        spec.append(" table=").append(table);
+        if (budgetNanos > 0) {
+            spec.append(" budget=").append(budgetNanos);
+        }
+        if (limitNanos > 0) {
+            spec.append(" limit=").append(limitNanos);
+        }
+        return spec.toString();
+    }
+
+    // getter和setter方法
+    public int getRounds() {
+        return rounds;
+    }
+
+    public void setRounds(int rounds) {
+        if (rounds <= 0) {
+            throw new IllegalArgumentException("模拟轮数必须为正数：" + rounds);
+        }
+        this.rounds = rounds;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public String getRngAlgorithm() {
+        return rngAlgorithm;
+    }
+
+    public void setRngAlgorithm(String rngAlgorithm) {
+        // 提前校验算法名称
+        RandomSource.validate(rngAlgorithm);
+        this.rngAlgorithm = rngAlgorithm;
+    }
+
+    public Map<Role, String> getStrategyNames() {
+        return Collections.unmodifiableMap(strategyNames);
+    }
+
+    public void setStrategy(Role role, String strategyName) {
+        strategyNames.put(role, strategyName);
+    }
+
+    public TableConfig getTable() {
+        return table;
+    }
+
+    public void setTable(TableConfig table) {
+        this.table = table;
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    public void setBudgetNanos(long budgetNanos) {
+        if (budgetNanos < 0) {
+            throw new IllegalArgumentException("决策预算不能为负数：" + budgetNanos);
+        }
+        this.budgetNanos = budgetNanos;
+    }
+
+    public long getLimitNanos() {
+        return limitNanos;
+    }
+
+    public void setLimitNanos(long limitNanos) {
+        if (limitNanos < 0) {
+            throw new IllegalArgumentException("决策硬上限不能为负数：" + limitNanos);
+        }
+        this.limitNanos = limitNanos;
+    }
+}
@@ -0,0 +1,254 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Role;
+import com.wolfgame.stat.Statistics;
+import com.wolfgame.strategy.LearningStrategy;
+import com.wolfgame.strategy.LearningTable;
+import com.wolfgame.strategy.Strategy;
+import com.wolfgame.strategy.StrategyFactory;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 常驻模拟服务类，保持预热后的JVM常驻，通过本地套接字接收模拟任务
+ * 客户端每发送一行配置字符串（见 {@link SimulationConfig}）即提交一个任务，服务返回统计报告并以 "END" 行结束；
+ * 所有任务被切分为固定大小的分块，在共享的工作线程池上轮转执行，小任务不会被大任务阻塞
+ */
+public class SimulationDaemon {
+    private static final int CHUNK_SIZE = 256;      // 每个分块的游戏轮数
+    private static final int WARMUP_ROUNDS = 5000;  // 每个工作线程的预热轮数
+
+    private final int threads;                         // 工作线程数
+    private final BlockingDeque<Job> readyJobs;        // 待分配分块的任务轮转队列
+    private final AtomicInteger jobIds;                // 任务ID生成器
+
+    public SimulationDaemon(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("工作线程数必须为正数：" + threads);
+        }
+        this.threads = threads;
+        this.readyJobs = new LinkedBlockingDeque<>();
+        this.jobIds = new AtomicInteger();
+    }
+
+    /**
+     * 在本机TCP端口上启动服务，阻塞直到进程退出
+     */
+    public void serveTcp(int port) throws IOException {
+        ServerSocketChannel server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        serve(server, server.getLocalAddress());
+    }
+
+    /**
+     * 在Unix域套接字上启动服务，阻塞直到进程退出
+     */
+    public void serveUnix(Path socketPath) throws IOException {
+        Files.deleteIfExists(socketPath);
+        ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socketPath));
+        serve(server, server.getLocalAddress());
+    }
+
+    /**
+     * 预热、启动工作线程并循环接受客户端连接
+     */
+    private void serve(ServerSocketChannel server, SocketAddress address) throws IOException {
+        warmUp();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(this::workLoop, "sim-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        System.out.println("模拟服务已启动：" + address + "，工作线程数：" + threads);
+        while (true) {
+            SocketChannel client = server.accept();
+            Thread handler = new Thread(() -> handleClient(client), "sim-client");
+            handler.setDaemon(true);
+            handler.start();
+        }
+    }
+
+    /**
+     * 提交一个模拟任务，返回完成后的统计结果
+     */
+    public CompletableFuture<Statistics> submit(SimulationConfig config) {
+        Job job = new Job(jobIds.incrementAndGet(), config);
+        readyJobs.addLast(job);
+        return job.result;
+    }
+
+    /**
+     * 在所有工作线程上并发运行各策略的预热对局，使JIT编译完成热点代码
+     * 学习策略在预热时使用每个线程私有的学习表，预热对局不写入共享学习表
+     */
+    private void warmUp() {
+        long start = System.nanoTime();
+        Thread[] warmers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            long seed = i;
+            warmers[i] = new Thread(() -> {
+                LearningTable table = new LearningTable(Integer.numberOfTrailingZeros(LearningTable.shared().getSlotCount()), 1);
+                for (String name : StrategyFactory.names()) {
+                    SimulationConfig config = new SimulationConfig();
+                    config.setSeed(seed);
+                    for (Role role : Role.values()) {
+                        config.setStrategy(role, name);
+                    }
+                    Map<Role, Strategy> strategies = config.createStrategies();
+                    strategies.replaceAll((role, strategy) ->
+                            strategy instanceof LearningStrategy ? new LearningStrategy(table) : strategy);
+                    Simulator.runRange(config, strategies, 1, WARMUP_ROUNDS / StrategyFactory.names().size(), new Statistics());
+                }
+            });
+            warmers[i].start();
+        }
+        for (Thread warmer : warmers) {
+            try {
+                warmer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        System.out.printf("预热完成，耗时 %d ms%n", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 工作线程循环：从队首取出任务领取一个分块，若任务还有剩余分块则放回队尾，实现任务间的轮转公平调度
+     */
+    private void workLoop() {
+        while (true) {
+            Job job;
+            try {
+                job = readyJobs.takeFirst();
+            } catch (InterruptedException e) {
+                return;
+            }
+            int from = job.claimChunk();
+            if (job.hasUnclaimedChunks()) {
+                readyJobs.addLast(job);
+            }
+            if (from < 0) {
+                continue;
+            }
+            int to = Math.min(from + CHUNK_SIZE - 1, job.config.getRounds());
+            try {
+                Statistics chunk = new Statistics();
+                Simulator.runRange(job.config, from, to, chunk);
+                job.completeChunk(chunk);
+            } catch (RuntimeException e) {
+                job.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * 处理一个客户端连接：逐行读取任务配置并返回报告
+     */
+    private void handleClient(SocketChannel client) {
+        try (client;
+             BufferedReader reader = new BufferedReader(Channels.newReader(client, StandardCharsets.UTF_8));
+             PrintWriter writer = new PrintWriter(Channels.newWriter(client, StandardCharsets.UTF_8), true)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (line.equalsIgnoreCase("quit")) {
+                    break;
+                }
+                try {
+                    long start = System.nanoTime();
+                    SimulationConfig config = SimulationConfig.parse(line);
+                    Statistics statistics = submit(config).get();
+                    writer.println("任务配置: " + config.toSpec());
+                    writer.printf("耗时: %.3f ms%n", (System.nanoTime() - start) / 1e6);
+                    writer.print(statistics.generateReport());
+                } catch (IllegalArgumentException e) {
+                    writer.println("ERROR 无效的任务配置：" + e.getMessage());
+                } catch (ExecutionException e) {
+                    writer.println("ERROR 任务执行失败：" + e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                writer.println("END");
+            }
+        } catch (IOException e) {
+            System.err.println("客户端连接异常：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 模拟任务，记录分块领取和完成进度
+     */
+    private static class Job {
+        private final int id;
+        private final SimulationConfig config;
+        private final Statistics statistics;
+        private final CompletableFuture<Statistics> result;
+        private final int totalChunks;
+        private int nextRound;       // 下一个待领取分块的起始轮次
+        private int completedChunks; // 已完成的分块数
+
+        Job(int id, SimulationConfig config) {
+            this.id = id;
+            this.config = config;
+            this.statistics = new Statistics();
+            this.result = new CompletableFuture<>();
+            this.totalChunks = (config.getRounds() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            this.nextRound = 1;
+        }
+
+        /**
+         * 领取下一个分块，返回起始轮次，没有剩余分块时返回-1
+         */
+        synchronized int claimChunk() {
+            if (nextRound > config.getRounds() || result.isDone()) {
+                return -1;
+            }
+            int from = nextRound;
+            nextRound += CHUNK_SIZE;
+            return from;
+        }
+
+        synchronized boolean hasUnclaimedChunks() {
+            return nextRound <= config.getRounds() && !result.isDone();
+        }
+
+        /**
+         * 合并一个分块的统计结果，全部完成时结束任务
+         */
+        synchronized void completeChunk(Statistics chunk) {
+            statistics.merge(chunk);
+            if (++completedChunks == totalChunks) {
+                result.complete(statistics);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Job#" + id;
+        }
+    }
+}
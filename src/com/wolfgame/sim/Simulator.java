@@ -0,0 +1,86 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Game;
+import com.wolfgame.core.Role;
+import com.wolfgame.stat.Statistics;
+import com.wolfgame.strategy.Strategy;
+import com.wolfgame.util.RandomSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 模拟执行类，在当前线程中按配置运行一段连续轮次的游戏
+ */
+public final class Simulator {
+
+    private Simulator() {
+    }
+
+    /**
+     * 对一段连续轮次执行的任务，返回该段的结果
+     */
+    @FunctionalInterface
+    public interface RangeTask<T> {
+        T run(int fromRound, int toRound);
+    }
+
+    /**
+     * 把第1到 rounds 轮按 chunkSize 分块，在 threads 个线程的线程池上并行执行，按分块顺序返回各块的结果
+     * @param name 任务名称，用于中断和失败时的异常信息，如 "配对比较"
+     */
+    public static <T> List<T> runChunked(int rounds, int chunkSize, int threads, String name, RangeTask<T> task) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int from = 1; from <= rounds; from += chunkSize) {
+                int start = from;
+                int end = Math.min(from + chunkSize - 1, rounds);
+                futures.add(pool.submit(() -> task.run(start, end)));
+            }
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(name + "被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(name + "执行失败", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 运行第 fromRound 到 toRound 轮（含）游戏，结果统计到 statistics
+     * 每次调用都会创建新的策略实例和一个逐局重置复用的游戏对象，因此不同线程可以并发调用；每局的随机数流只取决于种子和轮次，结果与分段方式无关
+     */
+    public static void runRange(SimulationConfig config, int fromRound, int toRound, Statistics statistics) {
+        runRange(config, config.createStrategies(), fromRound, toRound, statistics);
+    }
+
+    /**
+     * 用给定的策略实例运行第 fromRound 到 toRound 轮（含）游戏，结果统计到 statistics；策略实例只能由调用线程使用
+     */
+    public static void runRange(SimulationConfig config, Map<Role, Strategy> strategies, int fromRound, int toRound,
+                                Statistics statistics) {
+        RandomSource randomSource = config.createRandomSource();
+        if (fromRound > toRound) {
+            return;
+        }
+        Game game = config.createGame(fromRound, strategies, randomSource);
+        game.addListener(statistics);
+        for (int i = fromRound; i <= toRound; i++) {
+            if (i > fromRound) {
+                game.reset(i);
+            }
+            game.run();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Camp;
+import com.wolfgame.core.Game;
+import com.wolfgame.core.Role;
+import com.wolfgame.core.RoleAssignments;
+import com.wolfgame.stat.Confidence;
+import com.wolfgame.util.RandomSource;
+
+/**
+ * 分层抽样类，按座位角色分配分层估计阵营胜率
+ * 随机洗牌下每种不同的座位分配出现的概率相同，因此把每种分配作为一层：对局数不少于分配数时第n局依次循环使用每种分配，
+ * 否则按字典序等距抽取分配、每个抽到的分配单独成层；各层胜率等权平均即为胜率估计，座位分配带来的方差被消除。
+ * 分配按序号直接还原，不展开枚举表，层数不超过对局数，因此16人局等分配数很多的阵容同样可用。
+ * 每局的随机数流仍由种子和轮次决定，报告同时给出相对随机洗牌的方差缩减倍数和按座位的角色胜率
+ */
+public class StratifiedSampling {
+    private static final int CHUNK_SIZE = 1000; // 每个任务的轮数
+
+    private final SimulationConfig config;       // 轮数、种子、随机数算法和对局配置
+    private final Camp camp;                     // 估计的阵营胜率
+    private final double confidence;             // 置信水平
+    private final int threads;                   // 并行线程数
+    private final RoleAssignments assignments;   // 座位分配编号
+    private final int strata;                    // 层数：分配数与对局数中较小的一个
+    private final byte[] winners;                // 第n局的胜利阵营序号，下标为 n-1
+
+    public StratifiedSampling(SimulationConfig config, Camp camp, double confidence, int threads) {
+        Confidence.checkLevel(confidence);
+        this.config = config;
+        this.camp = camp;
+        this.confidence = confidence;
+        this.threads = threads;
+        this.assignments = RoleAssignments.of(config.getTable().getRoles());
+        this.strata = (int) Math.min(assignments.getCount(), config.getRounds());
+        this.winners = new byte[config.getRounds()];
+    }
+
+    /**
+     * 第 round 局所在的层：循环使用每层，对局数少于分配数时每局一层
+     */
+    private int stratumOf(int round) {
+        return (round - 1) % strata;
+    }
+
+    /**
+     * 第 stratum 层的座位分配序号：对局数少于分配数时按字典序等距抽取，即 ⌊stratum × 分配数 / 对局数⌋
+     */
+    private long assignmentOf(int stratum) {
+        long count = assignments.getCount();
+        int rounds = config.getRounds();
+        if (rounds >= count) {
+            return stratum;
+        }
+        // 拆成商和余数两部分相乘，避免分配数很大时溢出
+        return count / rounds * stratum + count % rounds * stratum / rounds;
+    }
+
+    /**
+     * 在线程池上分块运行全部对局
+     */
+    public void run() {
+        Simulator.runChunked(config.getRounds(), CHUNK_SIZE, threads, "分层抽样", (from, to) -> {
+            runRange(from, to);
+            return null;
+        });
+    }
+
+    /**
+     * 运行第 fromRound 到 toRound 轮对局，每局先指定座位分配再重置
+     */
+    private void runRange(int fromRound, int toRound) {
+        RandomSource randomSource = config.createRandomSource();
+        Game game = config.createGame(fromRound, config.createStrategies(), randomSource);
+        for (int i = fromRound; i <= toRound; i++) {
+            game.setAssignment(assignmentOf(stratumOf(i)));
+            game.reset(i);
+            game.run();
+            winners[i - 1] = (byte) game.getWinnerCamp().ordinal();
+        }
+    }
+
+    /**
+     * 生成分层抽样报告
+     */
+    public String generateReport() {
+        long count = assignments.getCount();
+        int rounds = config.getRounds();
+        int[] games = new int[strata];
+        int[] wins = new int[strata];
+        int naiveWins = 0;
+        for (int i = 1; i <= rounds; i++) {
+            int a = stratumOf(i);
+            games[a]++;
+            if (winners[i - 1] == camp.ordinal()) {
+                wins[a]++;
+                naiveWins++;
+            }
+        }
+
+        // 方差按相邻层合并的组估计，使每组至少有两局
+        int groupSize = Math.max(1, (int) ((2L * strata + rounds - 1) / rounds));
+        double estimate = 0;
+        double variance = 0;
+        int visited = 0;
+        for (int a = 0; a < strata; a++) {
+            visited += games[a] > 0 ? 1 : 0;
+        }
+        for (int first = 0; first < strata; first += groupSize) {
+            int groupGames = 0;
+            int groupWins = 0;
+            int groupStrata = 0;
+            for (int a = first; a < Math.min(first + groupSize, strata); a++) {
+                groupGames += games[a];
+                groupWins += wins[a];
+                groupStrata += games[a] > 0 ? 1 : 0;
+            }
+            if (groupGames == 0) {
+                continue;
+            }
+            double weight = (double) groupStrata / visited;
+            double rate = (double) groupWins / groupGames;
+            estimate += weight * rate;
+            if (groupGames > 1) {
+                variance += weight * weight * rate * (1 - rate) / (groupGames - 1);
+            }
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append("===== 分层抽样报告 =====\n");
+        report.append("配置: ").append(config.toSpec()).append("\n");
+        report.append("座位分配: ").append(count).append("种, 覆盖 ").append(visited).append("种, 每种")
+                .append(rounds >= count ? (rounds / count) + "-" + ((rounds + count - 1) / count) + "局" : "至多1局（等距抽取）")
+                .append("\n\n");
+
+        double z = Confidence.z(confidence);
+        double se = Math.sqrt(variance);
+        report.append(String.format("%s阵营胜率（分层）: %.2f%% [%.2f%%, %.2f%%]（%.0f%% 置信区间）%n", camp.getName(),
+                estimate * 100, (estimate - z * se) * 100, (estimate + z * se) * 100, confidence * 100));
+        double naive = (double) naiveWins / rounds;
+        double naiveSe = Math.sqrt(naive * (1 - naive) / rounds);
+        report.append(String.format("随机洗牌相同局数时的区间半宽: ±%.2f%%, 分层区间半宽: ±%.2f%%%n",
+                z * naiveSe * 100, z * se * 100));
+        if (se > 0) {
+            double ratio = naiveSe * naiveSe / variance;
+            report.append(String.format("方差缩减倍数: %.2f, 随机洗牌达到同等精度约需 %d 局%n",
+                    ratio, (long) Math.ceil(ratio * rounds)));
+        }
+
+        report.append("\n【座位效应】角色所在阵营的胜率（按座位，各分配等权）\n");
+        appendSeatTable(report, games, wins);
+        report.append("==============================\n");
+        return report.toString();
+    }
+
+    /**
+     * 按（角色、座位）汇总各层的胜率：角色坐在该座位的所有层中，角色所在阵营胜率的等权平均
+     */
+    private void appendSeatTable(StringBuilder report, int[] games, int[] wins) {
+        int seats = assignments.getSeats();
+        Role[] roles = Role.values();
+        Role[] seatRoles = new Role[seats];
+        double[][] sum = new double[roles.length][seats];
+        int[][] layers = new int[roles.length][seats];
+        for (int a = 0; a < games.length; a++) {
+            if (games[a] == 0) {
+                continue;
+            }
+            double rate = (double) wins[a] / games[a];
+            assignments.unrank(assignmentOf(a), seatRoles);
+            for (int seat = 0; seat < seats; seat++) {
+                Role role = seatRoles[seat];
+                sum[role.ordinal()][seat] += role.getCamp() == camp ? rate : 1 - rate;
+                layers[role.ordinal()][seat]++;
+            }
+        }
+        report.append(String.format("%-6s", "角色"));
+        for (int seat = 1; seat <= seats; seat++) {
+            report.append(String.format("%9s", "座位" + seat));
+        }
+        report.append(String.format("%9s%n", "极差"));
+        for (Role role : roles) {
+            int r = role.ordinal();
+            if (layers[r][0] == 0 && !config.getTable().getRoles().contains(role)) {
+                continue;
+            }
+            report.append(String.format("%-6s", role.getName()));
+            double min = 1;
+            double max = 0;
+            for (int seat = 0; seat < seats; seat++) {
+                double rate = layers[r][seat] > 0 ? sum[r][seat] / layers[r][seat] : 0;
+                min = Math.min(min, rate);
+                max = Math.max(max, rate);
+                report.append(String.format("%9s", String.format("%.2f%%", rate * 100)));
+            }
+            report.append(String.format("%9s%n", String.format("%.2f%%", (max - min) * 100)));
+        }
+    }
+
+    /**
+     * 保存分层抽样报告到文件
+     */
+    public void saveReportToFile() {
+        Reports.save("stratified.txt", "分层抽样", generateReport());
+    }
+}
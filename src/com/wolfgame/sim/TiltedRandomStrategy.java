@@ -0,0 +1,114 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Player;
+import com.wolfgame.strategy.Strategy;
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * 偏置随机策略类，候选集合和原始概率与 {@link com.wolfgame.strategy.RandomStrategy} 完全相同，
+ * 但按稀有事件给出的权重和概率抽样，并把每次选择的似然比记入事件轨迹
+ */
+class TiltedRandomStrategy implements Strategy {
+    private final RareEvent event;    // 目标事件
+    private final EventTrace trace;   // 本局事件轨迹
+    private RandomGenerator random = new Random();
+    private final String name = "偏置随机策略";
+
+    TiltedRandomStrategy(RareEvent event, EventTrace trace) {
+        this.event = event;
+        this.trace = trace;
+    }
+
+    @Override
+    public Player chooseKillTarget(List<Player> wolves, List<Player> allPlayers) {
+        return pick(Decision.KILL, wolves.getFirst(), allPlayers, null, true);
+    }
+
+    @Override
+    public Player chooseCheckTarget(Player prophet, List<Player> allPlayers) {
+        return pick(Decision.CHECK, prophet, allPlayers, prophet, false);
+    }
+
+    @Override
+    public boolean useAntidote(Player witch, Player victim, List<Player> allPlayers) {
+        return decide(Decision.ANTIDOTE, witch);
+    }
+
+    @Override
+    public Player usePoison(Player witch, List<Player> allPlayers) {
+        return decide(Decision.POISON, witch) ? pick(Decision.POISON, witch, allPlayers, witch, false) : null;
+    }
+
+    @Override
+    public Player useGun(Player hunter, boolean isPoisoned, List<Player> allPlayers) {
+        if (!isPoisoned && decide(Decision.GUN, hunter)) {
+            return pick(Decision.GUN, hunter, allPlayers, hunter, false);
+        }
+        return null;
+    }
+
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers) {
+        return pick(Decision.VOTE, voter, candidates, null, false);
+    }
+
+    /**
+     * 二元决策：原始概率0.5，按偏置概率抽样
+     */
+    private boolean decide(Decision decision, Player actor) {
+        double proposal = event.probability(decision, actor, trace);
+        boolean yes = random.nextDouble() < proposal;
+        trace.tilt(0.5, yes ? proposal : 1 - proposal);
+        return yes;
+    }
+
+    /**
+     * 在存活候选中按偏置权重抽样（排除指定玩家，可选排除狼人），原始分布为等概率
+     */
+    private Player pick(Decision decision, Player actor, List<Player> players, Player excluded, boolean excludeWolves) {
+        int count = 0;
+        double total = 0;
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            if (isTarget(p, excluded, excludeWolves)) {
+                count++;
+                total += event.weight(decision, actor, p, trace);
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        double u = random.nextDouble() * total;
+        Player chosen = null;
+        double chosenWeight = 0;
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            if (isTarget(p, excluded, excludeWolves)) {
+                chosen = p;
+                chosenWeight = event.weight(decision, actor, p, trace);
+                u -= chosenWeight;
+                if (u < 0) {
+                    break;
+                }
+            }
+        }
+        trace.tilt(1.0 / count, chosenWeight / total);
+        return chosen;
+    }
+
+    private static boolean isTarget(Player p, Player excluded, boolean excludeWolves) {
+        return p.isAlive() && p != excluded && !(excludeWolves && p.isWolf());
+    }
+
+    @Override
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
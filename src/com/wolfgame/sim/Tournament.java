@@ -0,0 +1,279 @@
+package com.wolfgame.sim;
+
+import com.wolfgame.core.Role;
+import com.wolfgame.core.TableConfig;
+import com.wolfgame.stat.Confidence;
+import com.wolfgame.stat.Statistics;
+import com.wolfgame.util.RandomSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 自适应策略锦标赛类，按角色对各策略排名
+ * 每个（角色，策略）组合是一个臂：该角色使用被测策略，其余角色使用基准策略，指标为该角色所属阵营的胜率。
+ * 每轮把下一批对局分配给排名中相邻且区分度最低的臂（类UCB分配），在并行线程池上运行，
+ * 当所有相邻排名都已区分（或以置信水平确认胜率差小于1%）或总局数用尽时停止
+ */
+public class Tournament {
+    private static final int BATCH_SIZE = 200;          // 每个批次的对局数
+    private static final double INDIFFERENCE = 0.01;    // 胜率差小于该值视为无显著差异
+
+    private final List<String> strategyNames; // 参赛策略
+    private final String baseline;            // 其余角色使用的基准策略
+    private final TableConfig table;          // 对局阵容
+    private final String rngAlgorithm;        // 随机数算法
+    private final long seed;                  // 基础随机种子
+    private final double confidence;          // 排名稳定的置信水平
+    private final int maxGames;               // 总对局数上限
+    private final int threads;                // 并行线程数
+    private final List<Arm> arms;             // 所有臂
+    private int totalGames;                   // 已运行总局数
+    private int rounds;                       // 已进行的分配轮数
+
+    public Tournament(List<String> strategyNames, String baseline, SimulationConfig base,
+                      double confidence, int maxGames, int threads) {
+        Confidence.checkLevel(confidence);
+        this.strategyNames = strategyNames;
+        this.baseline = baseline;
+        this.table = base.getTable();
+        this.rngAlgorithm = base.getRngAlgorithm();
+        this.seed = base.getSeed();
+        this.confidence = confidence;
+        this.maxGames = maxGames;
+        this.threads = threads;
+        this.arms = new ArrayList<>();
+        Set<Role> roles = new LinkedHashSet<>(table.getRoles());
+        for (Role role : roles) {
+            for (String name : strategyNames) {
+                arms.add(new Arm(arms.size(), role, name));
+            }
+        }
+    }
+
+    /**
+     * 运行锦标赛直到排名稳定或对局数用尽
+     */
+    public void run() {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            // 第一轮每个臂各运行一个批次
+            runBatches(pool, arms);
+            while (totalGames < maxGames) {
+                List<Arm> next = selectArms();
+                if (next.isEmpty()) {
+                    break;
+                }
+                runBatches(pool, next);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 并行运行一轮批次，全部完成后再合并结果，保证分配过程可复现
+     */
+    private void runBatches(ExecutorService pool, List<Arm> selected) {
+        rounds++;
+        List<Future<Statistics>> futures = new ArrayList<>();
+        for (Arm arm : selected) {
+            SimulationConfig config = arm.config();
+            int from = arm.games + 1;
+            futures.add(pool.submit(() -> {
+                Statistics statistics = new Statistics();
+                Simulator.runRange(config, from, from + BATCH_SIZE - 1, statistics);
+                return statistics;
+            }));
+        }
+        for (int i = 0; i < selected.size(); i++) {
+            Arm arm = selected.get(i);
+            try {
+                Statistics statistics = futures.get(i).get();
+                arm.games += statistics.getTotalGames();
+                arm.wins += statistics.getWinCount().getOrDefault(arm.role.getCamp(), 0);
+                totalGames += statistics.getTotalGames();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("锦标赛被中断", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("锦标赛批次执行失败", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * 选出下一轮的臂：按相邻排名的区分概率从低到高，依次加入方差较大的臂，最多选出线程数个
+     */
+    private List<Arm> selectArms() {
+        List<Arm[]> pairs = new ArrayList<>();
+        for (Role role : rolesInOrder()) {
+            List<Arm> ranking = ranking(role);
+            for (int i = 0; i + 1 < ranking.size(); i++) {
+                Arm[] pair = {ranking.get(i), ranking.get(i + 1)};
+                if (!resolved(pair[0], pair[1])) {
+                    pairs.add(pair);
+                }
+            }
+        }
+        pairs.sort(Comparator.comparingDouble(pair -> separation(pair[0], pair[1])));
+        int budget = Math.min(threads, (maxGames - totalGames + BATCH_SIZE - 1) / BATCH_SIZE);
+        Set<Arm> selected = new LinkedHashSet<>();
+        for (Arm[] pair : pairs) {
+            if (selected.size() >= budget) {
+                break;
+            }
+            Arm first = pair[0].variance() >= pair[1].variance() ? pair[0] : pair[1];
+            selected.add(first);
+            if (selected.size() < budget) {
+                selected.add(first == pair[0] ? pair[1] : pair[0]);
+            }
+        }
+        return new ArrayList<>(selected);
+    }
+
+    /**
+     * 判断相邻两个臂的先后是否已确定：排名正确的概率达到置信水平，或胜率差以置信水平小于无差异阈值
+     */
+    private boolean resolved(Arm a, Arm b) {
+        if (separation(a, b) >= confidence) {
+            return true;
+        }
+        double diff = Math.abs(a.mean() - b.mean());
+        return diff + Confidence.z(confidence) * Math.sqrt(a.variance() + b.variance()) < INDIFFERENCE;
+    }
+
+    /**
+     * 两个臂排名先后正确的概率（胜率差的正态近似）
+     */
+    private static double separation(Arm a, Arm b) {
+        double diff = Math.abs(a.mean() - b.mean());
+        double sd = Math.sqrt(a.variance() + b.variance());
+        return sd > 0 ? Confidence.normalCdf(diff / sd) : 1;
+    }
+
+    /**
+     * 获取某角色下按后验均值降序排列的臂
+     */
+    private List<Arm> ranking(Role role) {
+        List<Arm> ranking = new ArrayList<>();
+        for (Arm arm : arms) {
+            if (arm.role == role) {
+                ranking.add(arm);
+            }
+        }
+        ranking.sort(Comparator.comparingDouble(Arm::mean).reversed());
+        return ranking;
+    }
+
+    private Set<Role> rolesInOrder() {
+        return new LinkedHashSet<>(table.getRoles());
+    }
+
+    /**
+     * 生成锦标赛报告
+     */
+    public String generateReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("===== 策略锦标赛报告 =====\n");
+        report.append("参赛策略: ").append(strategyNames).append(", 基准策略: ").append(baseline).append("\n");
+        report.append("置信水平: ").append(String.format("%.2f", confidence))
+                .append(", 分配轮数: ").append(rounds)
+                .append(", 总对局数: ").append(totalGames).append("\n\n");
+
+        double z = Confidence.z(confidence);
+        long gridGames = 0;
+        for (Role role : rolesInOrder()) {
+            List<Arm> ranking = ranking(role);
+            report.append("【").append(role.getName()).append("】(指标: ")
+                    .append(role.getCamp().getName()).append("阵营胜率)\n");
+            int rank = 1;
+            long gridPerArm = 0;
+            for (int i = 0; i < ranking.size(); i++) {
+                Arm arm = ranking.get(i);
+                double[] interval = Confidence.wilson(arm.wins, arm.games, confidence);
+                report.append(rank++).append(". ").append(arm.strategy)
+                        .append(String.format(": 胜率 %.2f%% [%.2f%%, %.2f%%], 对局 %d",
+                                arm.mean() * 100, interval[0] * 100, interval[1] * 100, arm.games));
+                if (i + 1 < ranking.size()) {
+                    Arm next = ranking.get(i + 1);
+                    double p = separation(arm, next);
+                    String note = p >= confidence ? "" : resolved(arm, next) ? "（无显著差异）" : "（未稳定）";
+                    report.append(String.format(", 领先下一名的概率 %.3f%s", p, note));
+                    // 均匀分配下达到同等区分度每个臂所需的对局数
+                    double gap = Math.max(Math.abs(arm.mean() - next.mean()), INDIFFERENCE);
+                    double varianceSum = arm.mean() * (1 - arm.mean()) + next.mean() * (1 - next.mean());
+                    gridPerArm = Math.max(gridPerArm, (long) Math.ceil(z * z * varianceSum / (gap * gap)));
+                }
+                report.append("\n");
+            }
+            gridGames += gridPerArm * ranking.size();
+            report.append("\n");
+        }
+        report.append("均匀网格达到同等区分度估计需要对局数: ").append(gridGames)
+                .append("（本次使用 ").append(totalGames).append("）\n");
+        report.append("==============================\n");
+        return report.toString();
+    }
+
+    /**
+     * 保存锦标赛报告到文件
+     */
+    public void saveReportToFile() {
+        Reports.save("tournament.txt", "锦标赛", generateReport());
+    }
+
+    /**
+     * 锦标赛的一个臂：（角色，策略）组合及其累计战绩
+     */
+    private class Arm {
+        private final int index;
+        private final Role role;
+        private final String strategy;
+        private int games;
+        private int wins;
+
+        Arm(int index, Role role, String strategy) {
+            this.index = index;
+            this.role = role;
+            this.strategy = strategy;
+        }
+
+        /**
+         * 该臂的模拟配置，每个臂使用独立派生的种子
+         */
+        SimulationConfig config() {
+            SimulationConfig config = new SimulationConfig();
+            config.setTable(table);
+            config.setRngAlgorithm(rngAlgorithm);
+            config.setSeed(RandomSource.mix(seed + index));
+            for (Role r : Role.values()) {
+                config.setStrategy(r, baseline);
+            }
+            config.setStrategy(role, strategy);
+            config.setRounds(Math.max(1, games + BATCH_SIZE));
+            return config;
+        }
+
+        /**
+         * Beta(1 + 胜, 1 + 负) 后验均值
+         */
+        double mean() {
+            return (wins + 1.0) / (games + 2.0);
+        }
+
+        /**
+         * Beta后验方差
+         */
+        double variance() {
+            double m = mean();
+            return m * (1 - m) / (games + 3.0);
+        }
+    }
+}
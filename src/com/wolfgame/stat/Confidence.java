@@ -0,0 +1,94 @@
+package com.wolfgame.stat;
+
+/**
+ * 置信区间工具类，提供正态分布函数和常用比例、均值区间估计
+ */
+public final class Confidence {
+
+    private Confidence() {
+    }
+
+    /**
+     * 标准正态分布函数 Φ(x)
+     */
+    public static double normalCdf(double x) {
+        return 0.5 * (1 + erf(x / Math.sqrt(2)));
+    }
+
+    /**
+     * 标准正态分布分位数 Φ⁻¹(p)（Acklam近似，相对误差小于1.2e-9）
+     */
+    public static double normalQuantile(double p) {
+        if (p <= 0 || p >= 1) {
+            throw new IllegalArgumentException("概率必须在(0, 1)之间：" + p);
+        }
+        double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        double low = 0.02425;
+        double q;
+        double x;
+        if (p < low) {
+            q = Math.sqrt(-2 * Math.log(p));
+            x = (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        } else if (p <= 1 - low) {
+            q = p - 0.5;
+            double r = q * q;
+            x = (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                    / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+        } else {
+            q = Math.sqrt(-2 * Math.log(1 - p));
+            x = -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        return x;
+    }
+
+    /**
+     * 双侧置信水平对应的正态临界值，如0.95对应1.96
+     */
+    public static double z(double confidence) {
+        return normalQuantile(0.5 + confidence / 2);
+    }
+
+    /**
+     * 校验置信水平在(0, 1)之间，否则抛出 IllegalArgumentException
+     */
+    public static void checkLevel(double confidence) {
+        if (!(confidence > 0 && confidence < 1)) {
+            throw new IllegalArgumentException("置信水平必须在(0, 1)之间：" + confidence);
+        }
+    }
+
+    /**
+     * 比例的Wilson置信区间
+     * @return {下限, 上限}
+     */
+    public static double[] wilson(long successes, long trials, double confidence) {
+        if (trials == 0) {
+            return new double[]{0, 1};
+        }
+        double z = z(confidence);
+        double p = (double) successes / trials;
+        double denominator = 1 + z * z / trials;
+        double center = (p + z * z / (2.0 * trials)) / denominator;
+        double half = z * Math.sqrt(p * (1 - p) / trials + z * z / (4.0 * trials * trials)) / denominator;
+        return new double[]{Math.max(0, center - half), Math.min(1, center + half)};
+    }
+
+    /**
+     * 误差函数（Abramowitz-Stegun 7.1.26 近似，绝对误差小于1.5e-7）
+     */
+    private static double erf(double x) {
+        double t = 1 / (1 + 0.3275911 * Math.abs(x));
+        double y = 1 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t
+                + 0.254829592) * t * Math.exp(-x * x);
+        return x >= 0 ? y : -y;
+    }
+}
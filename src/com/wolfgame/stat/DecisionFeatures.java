@@ -0,0 +1,141 @@
+package com.wolfgame.stat;
+
+import com.wolfgame.core.MessageBus;
+import com.wolfgame.core.MessageType;
+import com.wolfgame.core.Player;
+import com.wolfgame.core.Role;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * 决策特征编码类，把一次策略决策时决策者可见的信息编码为定长的小端序二进制记录（{@link #RECORD_SIZE} 字节）
+ * 特征只来自决策者自己的座位和角色、玩家存活状态、女巫自己的药剂和公开消息总线，因此导出训练数据和策略在线决策时
+ * 可以用同一份编码；记录中的行动和对局结果由导出方另外填写。字段布局见 {@link #FIELDS}，写入文件头供离线读取
+ */
+public final class DecisionFeatures {
+    public static final int RECORD_SIZE = 64; // 每条记录的字节数
+    public static final int MAX_SEATS = 16;   // 投票摘要支持的最大座位数
+    private static final int ROLES = Role.values().length;
+
+    // 决策类型编码
+    public static final int KILL = 1;
+    public static final int CHECK = 2;
+    public static final int ANTIDOTE = 3;
+    public static final int POISON = 4;
+    public static final int GUN = 5;
+    public static final int VOTE = 6;
+
+    // 字段偏移
+    public static final int GAME = 0;             // i32 对局ID
+    public static final int DAY = 4;              // u16 已开始的白天数（消息总线的当前天数）
+    public static final int SEAT = 6;             // u8 决策者座位号
+    public static final int ROLE = 7;             // u8 决策者角色序号
+    public static final int DECISION = 8;         // u8 决策类型
+    public static final int ACTION = 9;           // u8 选择的目标座位号（0表示不行动/弃票），解药为1/0
+    public static final int POTIONS = 10;         // u8 女巫自己剩余的药剂：bit0解药、bit1毒药，其他角色为0
+    public static final int WINNER = 11;          // u8 胜利阵营序号
+    public static final int REWARD = 12;          // u8 决策者所在阵营是否获胜
+    public static final int PLAYERS = 13;         // u8 玩家人数
+    public static final int ALIVE_COUNT = 14;     // u8 存活人数
+    public static final int ALIVE = 16;           // u64 存活位图
+    public static final int VOTES_RECEIVED = 24;  // u8[16] 各座位累计得票数
+    public static final int LAST_VOTES = 40;      // u8[16] 最近一次投票中各座位投给的座位号
+    public static final int CLAIMS = 56;          // u64 公开声称过身份的座位位图
+
+    /**
+     * 文件头中的字段描述：名称、类型（u8/u16/i32/u64）、元素个数、偏移
+     */
+    public static final String[] FIELDS = {
+            "game:i32:1:0", "day:u16:1:4", "seat:u8:1:6", "role:u8:1:7", "decision:u8:1:8", "action:u8:1:9",
+            "potions:u8:1:10", "winner:u8:1:11", "reward:u8:1:12", "players:u8:1:13", "alive_count:u8:1:14",
+            "alive:u64:1:16", "votes_received:u8:16:24", "last_votes:u8:16:40", "claims:u64:1:56"};
+
+    /**
+     * 候选评分的输入向量长度，各维依次为：决策者角色独热编码（按角色序号）、天数/10、存活人数/玩家人数、
+     * 解药可用、毒药可用、候选是决策者自己、候选累计得票数/玩家人数、候选声称过身份、
+     * 决策者最近一次投给候选、候选最近一次投给决策者；全部可以从导出的记录中还原
+     */
+    public static final int INPUTS = ROLES + 9;
+
+    private DecisionFeatures() {
+    }
+
+    /**
+     * 在 out 的 base 位置写入一条记录的特征部分（不含对局ID、行动和对局结果），不移动 out 的位置
+     * @param bus 决策者最近看到的公开消息总线，首夜之前可以为null
+     * @param potions 女巫自己剩余的药剂，其他角色为0
+     */
+    public static void encode(ByteBuffer out, int base, Player actor, int decision, int potions,
+                              List<Player> allPlayers, MessageBus bus) {
+        out.putShort(base + DAY, (short) (bus != null ? bus.getCurrentDay() : 0));
+        out.put(base + SEAT, (byte) actor.getId());
+        out.put(base + ROLE, (byte) actor.getRole().ordinal());
+        out.put(base + DECISION, (byte) decision);
+        out.put(base + POTIONS, (byte) potions);
+        out.put(base + PLAYERS, (byte) allPlayers.size());
+        long alive = 0;
+        for (int i = 0; i < allPlayers.size(); i++) {
+            if (allPlayers.get(i).isAlive()) {
+                alive |= 1L << i;
+            }
+        }
+        out.put(base + ALIVE_COUNT, (byte) Long.bitCount(alive));
+        out.put(base + ALIVE_COUNT + 1, (byte) 0);
+        out.putLong(base + ALIVE, alive);
+
+        // 投票摘要：累计得票数（饱和到255）和最近一个投票日各座位的投票目标
+        for (int seat = 0; seat < MAX_SEATS; seat++) {
+            out.put(base + VOTES_RECEIVED + seat, (byte) 0);
+            out.put(base + LAST_VOTES + seat, (byte) 0);
+        }
+        long claims = 0;
+        if (bus != null) {
+            int lastVoteDay = -1;
+            for (long seq = bus.tail(); seq < bus.head(); seq++) {
+                MessageType type = bus.type(seq);
+                if (type == MessageType.VOTE) {
+                    lastVoteDay = bus.day(seq);
+                } else if (type == MessageType.ROLE_CLAIM) {
+                    claims |= 1L << (bus.speaker(seq) - 1);
+                }
+            }
+            for (long seq = bus.tail(); seq < bus.head(); seq++) {
+                if (bus.type(seq) != MessageType.VOTE) {
+                    continue;
+                }
+                int speaker = bus.speaker(seq);
+                int target = bus.target(seq);
+                if (target <= MAX_SEATS) {
+                    int votes = out.get(base + VOTES_RECEIVED + target - 1) & 0xFF;
+                    out.put(base + VOTES_RECEIVED + target - 1, (byte) Math.min(votes + 1, 255));
+                }
+                if (bus.day(seq) == lastVoteDay && speaker <= MAX_SEATS) {
+                    out.put(base + LAST_VOTES + speaker - 1, (byte) target);
+                }
+            }
+        }
+        out.putLong(base + CLAIMS, claims);
+    }
+
+    /**
+     * 由 record 中 base 位置的一条记录计算座位号为 candidate 的候选的输入向量，写入 inputs 的前 {@link #INPUTS} 个元素
+     */
+    public static void candidateInputs(ByteBuffer record, int base, int candidate, float[] inputs) {
+        int seat = record.get(base + SEAT);
+        int role = record.get(base + ROLE);
+        int players = record.get(base + PLAYERS);
+        int potions = record.get(base + POTIONS);
+        for (int r = 0; r < ROLES; r++) {
+            inputs[r] = r == role ? 1 : 0;
+        }
+        inputs[ROLES] = record.getShort(base + DAY) / 10f;
+        inputs[ROLES + 1] = (float) record.get(base + ALIVE_COUNT) / players;
+        inputs[ROLES + 2] = potions & 1;
+        inputs[ROLES + 3] = potions >> 1 & 1;
+        inputs[ROLES + 4] = candidate == seat ? 1 : 0;
+        inputs[ROLES + 5] = (float) (record.get(base + VOTES_RECEIVED + candidate - 1) & 0xFF) / players;
+        inputs[ROLES + 6] = record.getLong(base + CLAIMS) >>> (candidate - 1) & 1;
+        inputs[ROLES + 7] = record.get(base + LAST_VOTES + seat - 1) == candidate ? 1 : 0;
+        inputs[ROLES + 8] = record.get(base + LAST_VOTES + candidate - 1) == seat ? 1 : 0;
+    }
+}
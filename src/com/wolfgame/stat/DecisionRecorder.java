@@ -0,0 +1,108 @@
+package com.wolfgame.stat;
+
+/**
+ * 决策耗时记录器，记录某个策略的某类决策的调用次数、总耗时、耗时分布和分配字节数
+ * 每个记录器只由创建它的模拟线程写入，无需同步；耗时分布为对数分桶直方图（每个2的幂区间分8个子桶），内存固定
+ */
+public final class DecisionRecorder {
+    private static final int SUB_BUCKETS = 8;   // 每个2的幂区间的子桶数
+    private static final int LINEAR_LIMIT = 16; // 小于该值的耗时按1纳秒分桶
+    private static final int BUCKETS = LINEAR_LIMIT + (Long.SIZE - 5) * SUB_BUCKETS;
+
+    private final String strategyName; // 策略名称
+    private final String decision;     // 决策方法名称
+    private final long[] histogram;    // 耗时分布
+    private long count;                // 调用次数
+    private long totalNanos;           // 总耗时
+    private long maxNanos;             // 最大耗时
+    private long allocatedBytes;       // 总分配字节数
+
+    public DecisionRecorder(String strategyName, String decision) {
+        this.strategyName = strategyName;
+        this.decision = decision;
+        this.histogram = new long[BUCKETS];
+    }
+
+    /**
+     * 记录一次决策
+     */
+    public void record(long nanos, long bytes) {
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+        allocatedBytes += bytes;
+        histogram[bucketOf(nanos)]++;
+    }
+
+    /**
+     * 合并另一个记录器（通常来自其他线程）
+     */
+    public void merge(DecisionRecorder other) {
+        count += other.count;
+        totalNanos += other.totalNanos;
+        maxNanos = Math.max(maxNanos, other.maxNanos);
+        allocatedBytes += other.allocatedBytes;
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] += other.histogram[i];
+        }
+    }
+
+    private static int bucketOf(long nanos) {
+        if (nanos < LINEAR_LIMIT) {
+            return (int) Math.max(nanos, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * 桶的上界（不含）
+     */
+    private static long bucketLimit(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket + 1;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 4;
+        int sub = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub + 1) << (exponent - 3);
+    }
+
+    /**
+     * 估计耗时分位数（纳秒），误差不超过分桶宽度（约12.5%）
+     */
+    public long percentile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram[i];
+            if (seen >= Math.max(rank, 1)) {
+                return Math.min(bucketLimit(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    public String getDecision() {
+        return decision;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+}
@@ -0,0 +1,187 @@
+package com.wolfgame.stat;
+
+import com.wolfgame.core.Camp;
+import com.wolfgame.core.MessageBus;
+import com.wolfgame.core.Player;
+import com.wolfgame.core.Role;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 决策轨迹写入类，把每次策略决策编码为 {@link DecisionFeatures} 定长记录，写入小端序二进制文件
+ * 一局中的记录先暂存，对局结束时补写胜利阵营和决策者所在阵营是否获胜后批量写出，未结束的对局不写出。
+ * 文件头依次为：魔数 "WGDT"、u16 版本、u16 文件头长度、u16 记录长度、u16 字段数，
+ * 每个字段为 u8 名称长度、ASCII 名称、u8 类型（1=u8，2=u16，3=i32，4=u64）、u8 元素个数、u16 偏移，其后是连续的记录。
+ * 缓冲区预先分配并反复复用，稳态下写入记录不分配对象；与策略一样只在一个模拟线程中使用
+ */
+public class DecisionTraceWriter {
+    private static final byte[] MAGIC = {'W', 'G', 'D', 'T'};
+    private static final int VERSION = 1;
+    private static final int OUTPUT_RECORDS = 16384; // 输出缓冲区的记录数
+    private static final Role[] ROLES = Role.values();
+
+    private final ByteBuffer header;  // 文件头
+    private final ByteBuffer output;  // 待写出的已完成记录
+    private ByteBuffer pending;       // 当前对局暂存的记录
+    private FileChannel channel;      // 当前输出文件
+    private int gameId;               // 当前对局ID
+    private long records;             // 已写出的记录数
+    private long bytes;               // 已写出的字节数（含文件头）
+
+    public DecisionTraceWriter() {
+        this.header = encodeHeader();
+        this.output = ByteBuffer.allocateDirect(OUTPUT_RECORDS * DecisionFeatures.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.pending = ByteBuffer.allocate(256 * DecisionFeatures.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static ByteBuffer encodeHeader() {
+        ByteBuffer buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(MAGIC).putShort((short) VERSION).putShort((short) 0)
+                .putShort((short) DecisionFeatures.RECORD_SIZE).putShort((short) DecisionFeatures.FIELDS.length);
+        for (String field : DecisionFeatures.FIELDS) {
+            String[] parts = field.split(":");
+            byte[] name = parts[0].getBytes(StandardCharsets.US_ASCII);
+            int type = switch (parts[1]) {
+                case "u8" -> 1;
+                case "u16" -> 2;
+                case "i32" -> 3;
+                case "u64" -> 4;
+                default -> throw new IllegalStateException("未知的字段类型：" + field);
+            };
+            buffer.put((byte) name.length).put(name).put((byte) type)
+                    .put((byte) Integer.parseInt(parts[2])).putShort((short) Integer.parseInt(parts[3]));
+        }
+        buffer.putShort(6, (short) buffer.position());
+        return buffer.flip();
+    }
+
+    /**
+     * 打开新的输出文件并写入文件头，之前打开的文件先关闭
+     */
+    public void open(Path file) throws IOException {
+        close();
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        output.put(header.duplicate());
+    }
+
+    /**
+     * 写出剩余记录并关闭当前文件，没有打开的文件时什么都不做
+     */
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * 设置之后记录的对局ID，应在对局开始前调用
+     */
+    public void setGameId(int gameId) {
+        this.gameId = gameId;
+    }
+
+    /**
+     * 新的一局开始，丢弃上一局未结束时暂存的记录；同一局可以调用多次
+     */
+    public void startGame() {
+        pending.clear();
+    }
+
+    /**
+     * 暂存一条决策记录
+     * @param action 选择的目标座位号（0表示不行动），解药为1/0
+     * @param potions 女巫自己剩余的药剂，其他角色为0
+     * @param bus 决策者最近看到的公开消息总线，可以为null
+     */
+    public void record(Player actor, int decision, int action, int potions, List<Player> allPlayers, MessageBus bus) {
+        if (allPlayers.size() > DecisionFeatures.MAX_SEATS) {
+            throw new IllegalArgumentException("决策轨迹最多支持" + DecisionFeatures.MAX_SEATS + "个座位：" + allPlayers.size());
+        }
+        if (pending.remaining() < DecisionFeatures.RECORD_SIZE) {
+            ByteBuffer grown = ByteBuffer.allocate(pending.capacity() * 2).order(ByteOrder.LITTLE_ENDIAN);
+            pending.flip();
+            grown.put(pending);
+            pending = grown;
+        }
+        int base = pending.position();
+        DecisionFeatures.encode(pending, base, actor, decision, potions, allPlayers, bus);
+        pending.putInt(base + DecisionFeatures.GAME, gameId);
+        pending.put(base + DecisionFeatures.ACTION, (byte) action);
+        pending.put(base + DecisionFeatures.WINNER, (byte) 0);
+        pending.put(base + DecisionFeatures.REWARD, (byte) 0);
+        pending.position(base + DecisionFeatures.RECORD_SIZE);
+    }
+
+    /**
+     * 对局结束：为暂存的记录补写胜利阵营和奖励后写出；同一局可以调用多次，之后的调用没有暂存记录
+     * @param winner 胜利阵营，对局未分出胜负时为null，记录为255
+     */
+    public void endGame(Camp winner) {
+        int end = pending.position();
+        for (int base = 0; base < end; base += DecisionFeatures.RECORD_SIZE) {
+            Camp camp = ROLES[pending.get(base + DecisionFeatures.ROLE)].getCamp();
+            pending.put(base + DecisionFeatures.WINNER, (byte) (winner != null ? winner.ordinal() : 255));
+            pending.put(base + DecisionFeatures.REWARD, (byte) (camp == winner ? 1 : 0));
+        }
+        records += end / DecisionFeatures.RECORD_SIZE;
+        pending.flip();
+        try {
+            while (pending.hasRemaining()) {
+                if (!output.hasRemaining()) {
+                    flush();
+                }
+                int n = Math.min(pending.remaining(), output.remaining());
+                output.put(output.position(), pending, pending.position(), n);
+                output.position(output.position() + n);
+                pending.position(pending.position() + n);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入决策轨迹失败", e);
+        }
+        pending.clear();
+    }
+
+    private void flush() throws IOException {
+        if (channel == null) {
+            throw new IOException("决策轨迹文件未打开");
+        }
+        output.flip();
+        while (output.hasRemaining()) {
+            bytes += channel.write(output);
+        }
+        output.clear();
+    }
+
+    /**
+     * 已写入输出缓冲区的记录数
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * 已写入文件的字节数（含文件头），关闭文件后包含全部记录
+     */
+    public long getBytes() {
+        return bytes;
+    }
+}
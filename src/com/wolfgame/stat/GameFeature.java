@@ -0,0 +1,62 @@
+package com.wolfgame.stat;
+
+import com.wolfgame.core.Role;
+
+/**
+ * 对局分类特征枚举类，定义分层统计时可选的离散特征及其取值
+ */
+public enum GameFeature {
+    FIRST_NIGHT_VICTIM("首夜被刀角色", victimLabels()),                        // 首夜狼人击杀目标的角色
+    NIGHT1_ANTIDOTE("首夜用解药", "否", "是"),                                 // 女巫首夜是否使用解药
+    HUNTER_SHOT("猎人开枪", "未开枪", "击中狼人", "击中好人"),                  // 猎人是否开枪及击中阵营
+    DAY_COUNT("游戏天数", "1天", "2天", "3天", "4天", "5天及以上");             // 游戏结束时的天数
+
+    private final String name;
+    private final String[] categories;
+
+    GameFeature(String name, String... categories) {
+        this.name = name;
+        this.categories = categories;
+    }
+
+    private static String[] victimLabels() {
+        Role[] roles = Role.values();
+        String[] labels = new String[roles.length + 1];
+        labels[0] = "无";
+        for (Role role : roles) {
+            labels[role.ordinal() + 1] = role.getName();
+        }
+        return labels;
+    }
+
+    /**
+     * 按名称或取值标签查找取值序号，不存在时抛出 {@link IllegalArgumentException}
+     */
+    public int categoryOf(String label) {
+        for (int i = 0; i < categories.length; i++) {
+            if (categories[i].equals(label)) {
+                return i;
+            }
+        }
+        if (this == FIRST_NIGHT_VICTIM) {
+            for (Role role : Role.values()) {
+                if (role.name().equalsIgnoreCase(label)) {
+                    return role.ordinal() + 1;
+                }
+            }
+        }
+        throw new IllegalArgumentException(name + "没有取值：" + label);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCardinality() {
+        return categories.length;
+    }
+
+    public String getCategory(int index) {
+        return categories[index];
+    }
+}
@@ -0,0 +1,402 @@
+package com.wolfgame.stat;
+
+import com.wolfgame.core.DeathCause;
+import com.wolfgame.core.Game;
+import com.wolfgame.core.GameEventListener;
+import com.wolfgame.core.MessageType;
+import com.wolfgame.core.Player;
+import com.wolfgame.core.Role;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 对局指纹类，对每局的事件序列计算滚动64位哈希，用于确定性检查和重复对局识别
+ * 每个事件的类型、天数和参数被打包成long后混入哈希，不做任何字符串格式化；两次运行同一局的事件完全相同时指纹相同。
+ * 所有对局的指纹按对局ID升序合并为一个实验摘要，与分段方式和线程调度无关
+ */
+public class GameFingerprint implements GameEventListener {
+    private static final int MAGIC = 0x57474650; // "WGFP"
+    private static final int VERSION = 1;
+
+    // 事件类型编码
+    private static final int GAME_START = 1;
+    private static final int DAY_START = 2;
+    private static final int NIGHT_START = 3;
+    private static final int KILL = 4;
+    private static final int CHECK = 5;
+    private static final int SAVE = 6;
+    private static final int POISON = 7;
+    private static final int SHOT = 8;
+    private static final int DEATH = 9;
+    private static final int DISCUSSION_START = 10;
+    private static final int MESSAGE = 11;
+    private static final int VOTE = 12;
+    private static final int LYNCH = 13;
+    private static final int VOTE_TIE = 14;
+    private static final int DAY_END = 15;
+    private static final int GAME_END = 16;
+
+    private long hash;            // 当前对局的滚动哈希
+    private long last;            // 最近一局结束时的指纹
+    private int[] gameIds;        // 已结束对局的ID
+    private long[] fingerprints;  // 已结束对局的指纹
+    private int count;            // 已结束对局数
+    private boolean sorted;       // 是否按对局ID升序
+
+    public GameFingerprint() {
+        this.gameIds = new int[1024];
+        this.fingerprints = new long[1024];
+        this.sorted = true;
+    }
+
+    private void mix(int type, int day, int a, int b, int c) {
+        long event = (long) type << 56 | (long) (day & 0xFFFF) << 40 | (long) (a & 0xFF) << 32
+                | (long) (b & 0xFFFF) << 16 | (c & 0xFFFF);
+        hash = Long.rotateLeft(hash ^ event * 0x9E3779B97F4A7C15L, 29) * 0xBF58476D1CE4E5B9L;
+    }
+
+    private static int id(Player player) {
+        return player != null ? player.getId() : 0;
+    }
+
+    @Override
+    public void onGameStart(Game game) {
+        hash = 0;
+        mix(GAME_START, 0, 0, 0, 0);
+        List<Player> players = game.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            mix(GAME_START, 0, 1, players.get(i).getId(), players.get(i).getRole().ordinal());
+        }
+    }
+
+    @Override
+    public void onDayStart(int day) {
+        mix(DAY_START, day, 0, 0, 0);
+    }
+
+    @Override
+    public void onNightStart(int day) {
+        mix(NIGHT_START, day, 0, 0, 0);
+    }
+
+    @Override
+    public void onKill(int day, Player victim) {
+        mix(KILL, day, 0, id(victim), 0);
+    }
+
+    @Override
+    public void onCheck(int day, Player prophet, Player target, boolean isWolf) {
+        mix(CHECK, day, isWolf ? 1 : 0, id(prophet), id(target));
+    }
+
+    @Override
+    public void onSave(int day, Player witch, Player victim) {
+        mix(SAVE, day, 0, id(witch), id(victim));
+    }
+
+    @Override
+    public void onPoison(int day, Player witch, Player target) {
+        mix(POISON, day, 0, id(witch), id(target));
+    }
+
+    @Override
+    public void onShot(int day, Player hunter, Player target) {
+        mix(SHOT, day, 0, id(hunter), id(target));
+    }
+
+    @Override
+    public void onDeath(int day, Player player, DeathCause cause) {
+        mix(DEATH, day, cause.ordinal(), id(player), 0);
+    }
+
+    @Override
+    public void onDiscussionStart(int day) {
+        mix(DISCUSSION_START, day, 0, 0, 0);
+    }
+
+    @Override
+    public void onMessage(int day, Player speaker, MessageType type, Player target, Role role) {
+        mix(MESSAGE, day, type.ordinal(), id(speaker), id(target) << 8 | (role != null ? role.ordinal() + 1 : 0));
+    }
+
+    @Override
+    public void onVote(int day, Player voter, Player target) {
+        mix(VOTE, day, 0, id(voter), id(target));
+    }
+
+    @Override
+    public void onLynch(int day, Player player, int votes) {
+        mix(LYNCH, day, 0, id(player), votes);
+    }
+
+    @Override
+    public void onVoteTie(int day) {
+        mix(VOTE_TIE, day, 0, 0, 0);
+    }
+
+    @Override
+    public void onDayEnd(int day) {
+        mix(DAY_END, day, 0, 0, 0);
+    }
+
+    @Override
+    public void onGameEnd(Game game) {
+        mix(GAME_END, game.getDayCount(), game.getWinnerCamp().ordinal(), 0, 0);
+        last = finish(hash);
+        add(game.getGameId(), last);
+    }
+
+    /**
+     * 最近一局结束时的指纹
+     */
+    public long getLastFingerprint() {
+        return last;
+    }
+
+    private static long finish(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * 加入一局的指纹（如其他线程计算并通过结果记录传来的指纹）
+     */
+    public void add(int gameId, long fingerprint) {
+        if (count == gameIds.length) {
+            gameIds = Arrays.copyOf(gameIds, count * 2);
+            fingerprints = Arrays.copyOf(fingerprints, count * 2);
+        }
+        if (count > 0 && gameId < gameIds[count - 1]) {
+            sorted = false;
+        }
+        gameIds[count] = gameId;
+        fingerprints[count] = fingerprint;
+        count++;
+    }
+
+    /**
+     * 清空已记录的指纹，只需要逐局读取 {@link #getLastFingerprint()} 时用于限制内存
+     */
+    public void clear() {
+        count = 0;
+        sorted = true;
+    }
+
+    /**
+     * 合并另一组对局指纹（如并行运行的其他分段）
+     */
+    public void merge(GameFingerprint other) {
+        for (int i = 0; i < other.count; i++) {
+            add(other.gameIds[i], other.fingerprints[i]);
+        }
+    }
+
+    /**
+     * 按对局ID升序排列指纹
+     */
+    private void sort() {
+        if (sorted) {
+            return;
+        }
+        long[] packed = new long[count];
+        for (int i = 0; i < count; i++) {
+            packed[i] = (long) gameIds[i] << 32 | i;
+        }
+        Arrays.sort(packed);
+        int[] ids = new int[gameIds.length];
+        long[] values = new long[fingerprints.length];
+        for (int i = 0; i < count; i++) {
+            int index = (int) packed[i];
+            ids[i] = gameIds[index];
+            values[i] = fingerprints[index];
+        }
+        gameIds = ids;
+        fingerprints = values;
+        sorted = true;
+    }
+
+    /**
+     * 实验摘要：按对局ID升序依次混入每局的ID和指纹
+     */
+    public long getDigest() {
+        sort();
+        long digest = count;
+        for (int i = 0; i < count; i++) {
+            digest = finish(digest ^ gameIds[i]) ^ fingerprints[i];
+        }
+        return finish(digest);
+    }
+
+    /**
+     * 获取某局的指纹，该局不存在时抛出 {@link IllegalArgumentException}
+     */
+    public long getFingerprint(int gameId) {
+        sort();
+        int index = Arrays.binarySearch(gameIds, 0, count, gameId);
+        if (index < 0) {
+            throw new IllegalArgumentException("没有游戏#" + gameId + "的指纹");
+        }
+        return fingerprints[index];
+    }
+
+    /**
+     * 不同指纹的数量，与对局数之差即为事件序列完全重复的对局数
+     */
+    public int getDistinctCount() {
+        long[] values = Arrays.copyOf(fingerprints, count);
+        Arrays.sort(values);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || values[i] != values[i - 1]) {
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * 生成指纹报告段落
+     */
+    public String generateReport() {
+        int distinct = getDistinctCount();
+        return "【对局指纹】\n" + "对局数: " + count + ", 不同事件序列: " + distinct + ", 重复对局: " + (count - distinct) + "\n"
+                + String.format("实验摘要: %016x%n", getDigest());
+    }
+
+    /**
+     * 保存指纹文件：文件头为魔数、版本和对局数，之后按对局ID升序写入（对局ID、指纹）
+     */
+    public void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            write(out);
+        }
+    }
+
+    /**
+     * 写出对局数和按对局ID升序排列的（对局ID、指纹），即指纹文件去掉文件头后的内容
+     */
+    public void write(DataOutput out) throws IOException {
+        sort();
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeInt(gameIds[i]);
+            out.writeLong(fingerprints[i]);
+        }
+    }
+
+    /**
+     * 读取由 {@link #write(DataOutput)} 写出的指纹并合并到本对象
+     */
+    public void read(DataInput in) throws IOException {
+        int total = in.readInt();
+        for (int i = 0; i < total; i++) {
+            add(in.readInt(), in.readLong());
+        }
+    }
+
+    /**
+     * 流式比较两个指纹文件，只保存当前读到的记录；第一个不一致的对局即为行为开始分歧的位置
+     * @param report 追加比较报告
+     * @return 两次运行是否完全一致
+     */
+    public static boolean verify(Path fileA, Path fileB, StringBuilder report) throws IOException {
+        try (DataInputStream a = open(fileA); DataInputStream b = open(fileB)) {
+            int countA = a.readInt();
+            int countB = b.readInt();
+            int firstDiverged = -1;
+            int diverged = 0;
+            int onlyA = 0;
+            int onlyB = 0;
+            int matched = 0;
+            int readA = 0;
+            int readB = 0;
+            int idA = 0;
+            int idB = 0;
+            long fpA = 0;
+            long fpB = 0;
+            boolean needA = true;
+            boolean needB = true;
+            while (true) {
+                if (needA && readA < countA) {
+                    idA = a.readInt();
+                    fpA = a.readLong();
+                    readA++;
+                    needA = false;
+                }
+                if (needB && readB < countB) {
+                    idB = b.readInt();
+                    fpB = b.readLong();
+                    readB++;
+                    needB = false;
+                }
+                boolean hasA = !needA;
+                boolean hasB = !needB;
+                if (!hasA && !hasB) {
+                    break;
+                }
+                if (hasA && hasB && idA == idB) {
+                    if (fpA == fpB) {
+                        matched++;
+                    } else {
+                        diverged++;
+                        firstDiverged = firstDiverged < 0 ? idA : firstDiverged;
+                    }
+                    needA = true;
+                    needB = true;
+                } else if (hasA && (!hasB || idA < idB)) {
+                    onlyA++;
+                    needA = true;
+                } else {
+                    onlyB++;
+                    needB = true;
+                }
+            }
+
+            boolean identical = diverged == 0 && onlyA == 0 && onlyB == 0;
+            report.append("===== 对局指纹比较 =====\n");
+            report.append("A: ").append(fileA).append("（").append(countA).append("局）\n");
+            report.append("B: ").append(fileB).append("（").append(countB).append("局）\n");
+            report.append("一致: ").append(matched).append("局, 不一致: ").append(diverged)
+                    .append("局, 仅A有: ").append(onlyA).append("局, 仅B有: ").append(onlyB).append("局\n");
+            if (firstDiverged >= 0) {
+                report.append("第一个不一致的对局: 游戏#").append(firstDiverged)
+                        .append("，可用 logs extract ").append(firstDiverged).append(" 对比两次运行的日志\n");
+            }
+            report.append(identical ? "结论: 两次运行完全一致\n" : "结论: 两次运行不一致\n");
+            report.append("==============================\n");
+            return identical;
+        } catch (EOFException e) {
+            throw new IOException("指纹文件不完整", e);
+        }
+    }
+
+    private static DataInputStream open(Path file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            in.close();
+            throw new IOException("不是对局指纹文件：" + file);
+        }
+        return in;
+    }
+
+    public int getGameCount() {
+        return count;
+    }
+}
@@ -0,0 +1,76 @@
+package com.wolfgame.stat;
+
+import com.wolfgame.core.Camp;
+import com.wolfgame.core.DeathCause;
+import com.wolfgame.core.Role;
+import java.util.Arrays;
+
+/**
+ * 单局结果记录类，把一局游戏的统计所需结果归约为固定大小的原始类型数组，不引用玩家或游戏对象
+ * 由 {@link GameRecorder} 在对局进行中写入，再由 {@link Statistics#add(GameRecord)} 合并；
+ * 记录对象可以反复清空复用，因此可以作为环形缓冲区的槽位在线程之间传递
+ */
+public final class GameRecord {
+    static final int ROLES = Role.values().length;
+    static final int CAUSES = DeathCause.values().length;
+
+    int gameId;                                          // 游戏ID
+    int winner = -1;                                     // 胜利阵营序号，对局未结束时为-1
+    int days;                                            // 游戏天数
+    long fingerprint;                                    // 对局指纹
+    final int[] survivors = new int[ROLES];              // 各角色存活人数
+    final int[] kills = new int[ROLES];                  // 各角色击杀次数
+    final int[] hits = new int[ROLES];                   // 各角色指向性行动命中次数
+    final int[] actions = new int[ROLES];                // 各角色指向性行动次数
+    final int[] deaths = new int[ROLES * CAUSES];        // 各角色各死亡原因次数，下标为 角色序号 × 原因数 + 原因序号
+    final int[] overruns = new int[ROLES];               // 各角色超过决策预算的次数
+    final int[] fallbacks = new int[ROLES];              // 各角色超过决策硬上限的次数
+    long maxOverrunNanos;                                // 超时决策的最长耗时（纳秒）
+    final int[] features = new int[GameFeature.values().length]; // 各对局特征的取值，按特征序号存放
+
+    /**
+     * 清空为第 gameId 局的空记录
+     */
+    void clear(int gameId) {
+        this.gameId = gameId;
+        this.winner = -1;
+        this.days = 0;
+        this.fingerprint = 0;
+        Arrays.fill(survivors, 0);
+        Arrays.fill(kills, 0);
+        Arrays.fill(hits, 0);
+        Arrays.fill(actions, 0);
+        Arrays.fill(deaths, 0);
+        Arrays.fill(overruns, 0);
+        Arrays.fill(fallbacks, 0);
+        this.maxOverrunNanos = 0;
+        Arrays.fill(features, 0);
+    }
+
+    /**
+     * 对局是否已经结束并写入了胜利阵营
+     */
+    public boolean isComplete() {
+        return winner >= 0;
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public Camp getWinner() {
+        return winner >= 0 ? Camp.values()[winner] : null;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+}
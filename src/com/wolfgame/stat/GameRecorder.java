@@ -0,0 +1,160 @@
+package com.wolfgame.stat;
+
+import com.wolfgame.core.DeathCause;
+import com.wolfgame.core.Game;
+import com.wolfgame.core.GameEventListener;
+import com.wolfgame.core.Player;
+import com.wolfgame.core.Role;
+import java.util.List;
+
+/**
+ * 单局结果归约器，作为游戏事件监听器把一局的击杀、准确率、死亡原因、分层特征和最终状态写入当前的 {@link GameRecord}
+ * 每局开始前可以换成新的记录对象（如环形缓冲区中领取的槽位），监听回调不产生对象分配
+ */
+public class GameRecorder implements GameEventListener {
+    private GameRecord record; // 当前写入的记录
+
+    public GameRecorder(GameRecord record) {
+        this.record = record;
+    }
+
+    /**
+     * 之后的事件写入另一个记录对象，应在对局开始前调用
+     */
+    public void setRecord(GameRecord record) {
+        this.record = record;
+    }
+
+    public GameRecord getRecord() {
+        return record;
+    }
+
+    /**
+     * 新的一局开始，清空记录
+     */
+    @Override
+    public void onGameStart(Game game) {
+        record.clear(game.getGameId());
+    }
+
+    /**
+     * 记录出局事件：死亡原因和击杀者角色
+     */
+    @Override
+    public void onDeath(int day, Player player, DeathCause cause) {
+        record.deaths[player.getRole().ordinal() * GameRecord.CAUSES + cause.ordinal()]++;
+        Role killer = switch (cause) {
+            case WOLF_KILL -> Role.WOLF;
+            case POISON -> Role.WITCH;
+            case SHOT -> Role.HUNTER;
+            case LYNCH -> null;
+        };
+        if (killer != null) {
+            record.kills[killer.ordinal()]++;
+        }
+    }
+
+    /**
+     * 记录首夜被刀角色
+     */
+    @Override
+    public void onKill(int day, Player victim) {
+        if (day == 1 && victim != null) {
+            record.features[GameFeature.FIRST_NIGHT_VICTIM.ordinal()] = victim.getRole().ordinal() + 1;
+        }
+    }
+
+    /**
+     * 记录首夜是否使用解药
+     */
+    @Override
+    public void onSave(int day, Player witch, Player victim) {
+        if (day == 1) {
+            record.features[GameFeature.NIGHT1_ANTIDOTE.ordinal()] = 1;
+        }
+    }
+
+    /**
+     * 记录预言家查验准确率
+     */
+    @Override
+    public void onCheck(int day, Player prophet, Player target, boolean isWolf) {
+        recordAccuracy(prophet, target);
+    }
+
+    /**
+     * 记录女巫用毒准确率
+     */
+    @Override
+    public void onPoison(int day, Player witch, Player target) {
+        recordAccuracy(witch, target);
+    }
+
+    /**
+     * 记录猎人开枪准确率
+     */
+    @Override
+    public void onShot(int day, Player hunter, Player target) {
+        recordAccuracy(hunter, target);
+        record.features[GameFeature.HUNTER_SHOT.ordinal()] = target.isWolf() ? 1 : 2;
+    }
+
+    /**
+     * 记录投票准确率
+     */
+    @Override
+    public void onVote(int day, Player voter, Player target) {
+        recordAccuracy(voter, target);
+    }
+
+    /**
+     * 记录超过决策预算的次数
+     */
+    @Override
+    public void onBudgetOverrun(int day, Player actor, String decision, long nanos, boolean fallback) {
+        record.overruns[actor.getRole().ordinal()]++;
+        if (fallback) {
+            record.fallbacks[actor.getRole().ordinal()]++;
+        }
+        record.maxOverrunNanos = Math.max(record.maxOverrunNanos, nanos);
+    }
+
+    /**
+     * 游戏结束时记录胜利阵营、天数和各角色存活人数
+     */
+    @Override
+    public void onGameEnd(Game game) {
+        recordEnd(game);
+    }
+
+    /**
+     * 记录一局游戏的最终状态，游戏未结束时不记录
+     */
+    void recordEnd(Game game) {
+        if (!game.isGameOver()) {
+            return;
+        }
+        record.winner = game.getWinnerCamp().ordinal();
+        record.days = game.getDayCount();
+        record.features[GameFeature.DAY_COUNT.ordinal()] =
+                Math.min(game.getDayCount(), GameFeature.DAY_COUNT.getCardinality()) - 1;
+        List<Player> players = game.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (player.isAlive()) {
+                record.survivors[player.getRole().ordinal()]++;
+            }
+        }
+    }
+
+    /**
+     * 记录一次指向性行动：好人指向狼人、狼人指向好人视为命中
+     */
+    private void recordAccuracy(Player actor, Player target) {
+        int role = actor.getRole().ordinal();
+        record.actions[role]++;
+        if (actor.isWolf() != target.isWolf()) {
+            record.hits[role]++;
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.wolfgame.stat;
 
 import com.wolfgame.core.Camp;
+import com.wolfgame.core.DeathCause;
 import com.wolfgame.core.Game;
+import com.wolfgame.core.GameEventListener;
 import com.wolfgame.core.Player;
 import com.wolfgame.core.Role;
 import java.io.BufferedWriter;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -12,71 +16,273 @@ import java.text.SimpleDateFormat;
 import java.util.*;
 
 /**
- * 统计类，负责收集和分析游戏数据
+ * 统计类，负责收集和分析游戏数据，作为游戏事件监听器在游戏进行中实时统计击杀、准确率和死亡原因
+ * 计数按枚举序号保存在基本类型数组中，监听回调不产生装箱和对象分配；每局的事件先由 {@link GameRecorder} 归约为一条
+ * {@link GameRecord}，对局结束时合并，其他线程归约的记录也可以直接通过 {@link #add(GameRecord)} 合并
  */
-public class Statistics {
+public class Statistics implements GameEventListener {
+    private static final Camp[] CAMPS = Camp.values();
+    private static final Role[] ROLES = Role.values();
+    private static final DeathCause[] CAUSES = DeathCause.values();
+
     private int totalGames;                 // 总游戏轮数
-    private Map<Camp, Integer> winCount;    // 各阵营胜利次数
-    private Map<Role, Integer> survivalCount; // 各角色存活次数
-    private Map<Role, Integer> killCount;   // 各角色击杀次数
-    private Map<Role, Double> accuracyRate; // 各角色准确率（如预言家查验准确率）
-    private List<Integer> gameDuration;     // 每局游戏天数
+    private final int[] winCount;           // 各阵营胜利次数
+    private final int[] survivalCount;      // 各角色存活次数
+    private final int[] killCount;          // 各角色击杀次数
+    private final int[] accuracyHits;       // 各角色命中次数（好人指向狼人、狼人指向好人）
+    private final int[] accuracyTotal;      // 各角色指向性行动次数（查验、用毒、开枪、投票）
+    private final int[][] deathCauseCount;  // 各角色死亡原因次数
+    private final int[] budgetOverruns;     // 各角色决策超过软预算的次数（含超过硬上限）
+    private final int[] budgetFallbacks;    // 各角色决策超过硬上限、改用默认动作的次数
+    private long maxOverrunNanos;           // 超时决策的最长耗时（纳秒）
+    private int[] durationHistogram;        // 游戏天数分布，下标为天数
+    private long durationSum;               // 游戏天数总和
+    private final StatisticsCube cube;      // 按对局特征分层的胜利次数
+    private int[] reportSlice;              // 报告中展示的切片条件
+    private StrategyProfile strategyProfile; // 策略决策耗时剖析结果，未开启剖析时为null
+    private GameFingerprint fingerprint;   // 对局指纹，未记录时为null
+    private final GameRecord current;       // 当前对局的结果记录
+    private final GameRecorder recorder;    // 把当前对局的事件归约到结果记录
     private SimpleDateFormat dateFormat;    // 日期格式化
     
     public Statistics() {
+        this(List.of(GameFeature.values()));
+    }
+    
+    /**
+     * 创建统计对象，按指定的对局特征做分层胜率统计
+     */
+    public Statistics(List<GameFeature> features) {
         this.totalGames = 0;
-        this.winCount = new HashMap<>();
-        this.survivalCount = new HashMap<>();
-        this.killCount = new HashMap<>();
-        this.accuracyRate = new HashMap<>();
-        this.gameDuration = new ArrayList<>();
+        this.winCount = new int[CAMPS.length];
+        this.survivalCount = new int[ROLES.length];
+        this.killCount = new int[ROLES.length];
+        this.accuracyHits = new int[ROLES.length];
+        this.accuracyTotal = new int[ROLES.length];
+        this.deathCauseCount = new int[ROLES.length][CAUSES.length];
+        this.budgetOverruns = new int[ROLES.length];
+        this.budgetFallbacks = new int[ROLES.length];
+        this.durationHistogram = new int[16];
+        this.cube = new StatisticsCube(features);
+        this.reportSlice = cube.parseSlice(null);
+        this.current = new GameRecord();
+        this.recorder = new GameRecorder(current);
         this.dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        
-        // 初始化统计数据
-        for (Camp camp : Camp.values()) {
-            winCount.put(camp, 0);
-        }
-        
-        for (Role role : Role.values()) {
-            survivalCount.put(role, 0);
-            killCount.put(role, 0);
-            accuracyRate.put(role, 0.0);
-        }
     }
     
     /**
-     * 收集一局游戏的数据
+     * 统计出局事件：死亡原因和击杀者角色
+     */
+    @Override
+    public void onDeath(int day, Player player, DeathCause cause) {
+        recorder.onDeath(day, player, cause);
+    }
+    
+    /**
+     * 新的一局开始，清空当前对局的记录
+     */
+    @Override
+    public void onGameStart(Game game) {
+        recorder.onGameStart(game);
+    }
+    
+    /**
+     * 记录首夜被刀角色
+     */
+    @Override
+    public void onKill(int day, Player victim) {
+        recorder.onKill(day, victim);
+    }
+    
+    /**
+     * 记录首夜是否使用解药
+     */
+    @Override
+    public void onSave(int day, Player witch, Player victim) {
+        recorder.onSave(day, witch, victim);
+    }
+    
+    /**
+     * 统计预言家查验准确率
+     */
+    @Override
+    public void onCheck(int day, Player prophet, Player target, boolean isWolf) {
+        recorder.onCheck(day, prophet, target, isWolf);
+    }
+    
+    /**
+     * 统计女巫用毒准确率
+     */
+    @Override
+    public void onPoison(int day, Player witch, Player target) {
+        recorder.onPoison(day, witch, target);
+    }
+    
+    /**
+     * 统计猎人开枪准确率
+     */
+    @Override
+    public void onShot(int day, Player hunter, Player target) {
+        recorder.onShot(day, hunter, target);
+    }
+    
+    /**
+     * 统计投票准确率
+     */
+    @Override
+    public void onVote(int day, Player voter, Player target) {
+        recorder.onVote(day, voter, target);
+    }
+    
+    /**
+     * 统计超过决策预算的次数
+     */
+    @Override
+    public void onBudgetOverrun(int day, Player actor, String decision, long nanos, boolean fallback) {
+        recorder.onBudgetOverrun(day, actor, decision, nanos, fallback);
+    }
+    
+    /**
+     * 游戏结束时收集最终状态数据
+     */
+    @Override
+    public void onGameEnd(Game game) {
+        collectGameData(game);
+    }
+    
+    /**
+     * 收集一局游戏的数据：记录最终状态后把本局记录合并到统计中
      */
     public void collectGameData(Game game) {
-        if (!game.isGameOver()) {
+        recorder.recordEnd(game);
+        add(current);
+    }
+    
+    /**
+     * 合并一局游戏的结果记录（可以来自其他线程的 {@link GameRecorder}），未结束的对局不计入
+     */
+    public void add(GameRecord record) {
+        if (!record.isComplete()) {
             return;
         }
-        
         totalGames++;
-        
-        // 记录胜利阵营
-        Camp winnerCamp = game.getWinnerCamp();
-        winCount.put(winnerCamp, winCount.getOrDefault(winnerCamp, 0) + 1);
-        
-        // 记录游戏天数
-        gameDuration.add(game.getDayCount());
-        
-        // 统计角色数据
-        for (Player player : game.getPlayers()) {
-            Role role = player.getRole();
-            
-            // 统计存活次数
-            if (player.isAlive()) {
-                survivalCount.put(role, survivalCount.getOrDefault(role, 0) + 1);
+        winCount[record.winner]++;
+        recordDuration(record.days, 1);
+        cube.add(record.features, CAMPS[record.winner]);
+        add(survivalCount, record.survivors);
+        add(killCount, record.kills);
+        add(accuracyHits, record.hits);
+        add(accuracyTotal, record.actions);
+        for (int role = 0; role < ROLES.length; role++) {
+            for (int cause = 0; cause < CAUSES.length; cause++) {
+                deathCauseCount[role][cause] += record.deaths[role * CAUSES.length + cause];
             }
-            
-            // 这里简化处理击杀统计，实际项目中可能需要更复杂的逻辑
-            if (role == Role.WOLF) {
-                killCount.put(role, killCount.getOrDefault(role, 0) + 1);
+        }
+        add(budgetOverruns, record.overruns);
+        add(budgetFallbacks, record.fallbacks);
+        maxOverrunNanos = Math.max(maxOverrunNanos, record.maxOverrunNanos);
+    }
+    
+    /**
+     * 记录 count 局持续 days 天的游戏
+     */
+    private void recordDuration(int days, int count) {
+        if (days >= durationHistogram.length) {
+            durationHistogram = Arrays.copyOf(durationHistogram, Math.max(days + 1, durationHistogram.length * 2));
+        }
+        durationHistogram[days] += count;
+        durationSum += (long) days * count;
+    }
+    
+    /**
+     * 合并另一份统计数据，用于汇总多个模拟线程的结果
+     */
+    public void merge(Statistics other) {
+        totalGames += other.totalGames;
+        add(winCount, other.winCount);
+        add(survivalCount, other.survivalCount);
+        add(killCount, other.killCount);
+        add(accuracyHits, other.accuracyHits);
+        add(accuracyTotal, other.accuracyTotal);
+        add(budgetOverruns, other.budgetOverruns);
+        add(budgetFallbacks, other.budgetFallbacks);
+        maxOverrunNanos = Math.max(maxOverrunNanos, other.maxOverrunNanos);
+        for (int role = 0; role < ROLES.length; role++) {
+            add(deathCauseCount[role], other.deathCauseCount[role]);
+        }
+        cube.merge(other.cube);
+        for (int days = 0; days < other.durationHistogram.length; days++) {
+            if (other.durationHistogram[days] > 0) {
+                recordDuration(days, other.durationHistogram[days]);
             }
         }
-        
-        // 简化处理准确率统计（实际项目中需要记录具体的查验结果等）
+    }
+    
+    /**
+     * 写出全部计数（不含报告切片、剖析结果和对局指纹），可由 {@link #read(DataInput)} 读回
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(totalGames);
+        for (int[] counts : new int[][]{winCount, survivalCount, killCount, accuracyHits, accuracyTotal,
+                budgetOverruns, budgetFallbacks}) {
+            writeCounts(out, counts);
+        }
+        for (int role = 0; role < ROLES.length; role++) {
+            writeCounts(out, deathCauseCount[role]);
+        }
+        writeCounts(out, durationHistogram);
+        out.writeLong(maxOverrunNanos);
+        cube.write(out);
+    }
+    
+    /**
+     * 读取一份由 {@link #write(DataOutput)} 写出的计数并合并到本对象，枚举数量或分层特征不一致时抛出 {@link IOException}
+     */
+    public void read(DataInput in) throws IOException {
+        totalGames += in.readInt();
+        for (int[] counts : new int[][]{winCount, survivalCount, killCount, accuracyHits, accuracyTotal,
+                budgetOverruns, budgetFallbacks}) {
+            add(counts, readCounts(in, counts.length));
+        }
+        for (int role = 0; role < ROLES.length; role++) {
+            add(deathCauseCount[role], readCounts(in, CAUSES.length));
+        }
+        int[] histogram = readCounts(in, -1);
+        for (int days = 0; days < histogram.length; days++) {
+            if (histogram[days] > 0) {
+                recordDuration(days, histogram[days]);
+            }
+        }
+        maxOverrunNanos = Math.max(maxOverrunNanos, in.readLong());
+        cube.read(in);
+    }
+    
+    private static void writeCounts(DataOutput out, int[] counts) throws IOException {
+        out.writeInt(counts.length);
+        for (int count : counts) {
+            out.writeInt(count);
+        }
+    }
+    
+    /**
+     * 读取一组计数，expectedLength 为-1时不校验长度
+     */
+    private static int[] readCounts(DataInput in, int expectedLength) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || (expectedLength >= 0 && length != expectedLength)) {
+            throw new IOException("统计数据的计数长度不一致：" + length);
+        }
+        int[] counts = new int[length];
+        for (int i = 0; i < length; i++) {
+            counts[i] = in.readInt();
+        }
+        return counts;
+    }
+    
+    private static void add(int[] target, int[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += source[i];
+        }
     }
     
     /**
@@ -92,7 +298,7 @@ public class Statistics {
         // 阵营胜率统计
         report.append("【阵营胜率统计】\n");
         for (Camp camp : Camp.values()) {
-            int count = winCount.getOrDefault(camp, 0);
+            int count = winCount[camp.ordinal()];
             double rate = totalGames > 0 ? (double) count / totalGames * 100 : 0;
             report.append(camp.getName()).append("阵营: 胜利").append(count).append("次, 胜率: ")
                     .append(String.format("%.2f", rate)).append("%\n");
@@ -102,32 +308,98 @@ public class Statistics {
         // 角色存活率统计
         report.append("【角色存活率统计】\n");
         for (Role role : Role.values()) {
-            int count = survivalCount.getOrDefault(role, 0);
+            int count = survivalCount[role.ordinal()];
             double rate = totalGames > 0 ? (double) count / totalGames * 100 : 0;
             report.append(role.getName()).append(": 存活").append(count).append("次, 存活率: ")
                     .append(String.format("%.2f", rate)).append("%\n");
         }
         report.append("\n");
         
+        // 角色击杀统计
+        report.append("【角色击杀统计】\n");
+        for (Role role : Role.values()) {
+            int count = killCount[role.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            double perGame = totalGames > 0 ? (double) count / totalGames : 0;
+            report.append(role.getName()).append(": 击杀").append(count).append("次, 场均: ")
+                    .append(String.format("%.2f", perGame)).append("\n");
+        }
+        report.append("\n");
+        
+        // 角色准确率统计
+        report.append("【角色准确率统计】（查验、用毒、开枪、投票指向敌对阵营的比例）\n");
+        Map<Role, Double> accuracyRate = getAccuracyRate();
+        for (Role role : Role.values()) {
+            int total = accuracyTotal[role.ordinal()];
+            report.append(role.getName()).append(": 行动").append(total).append("次, 准确率: ")
+                    .append(String.format("%.2f", accuracyRate.get(role) * 100)).append("%\n");
+        }
+        report.append("\n");
+        
+        // 死亡原因统计
+        report.append("【死亡原因统计】\n");
+        for (Role role : Role.values()) {
+            report.append(role.getName()).append(":");
+            for (DeathCause cause : DeathCause.values()) {
+                report.append(" ").append(cause.getName()).append(deathCauseCount[role.ordinal()][cause.ordinal()]).append("次");
+            }
+            report.append("\n");
+        }
+        report.append("\n");
+        
+        // 决策预算统计，只在有决策超时时输出
+        if (maxOverrunNanos > 0) {
+            report.append("【决策预算统计】（超过软预算的决策次数，其中超过硬上限、改用默认动作的次数）\n");
+            for (Role role : Role.values()) {
+                int overruns = budgetOverruns[role.ordinal()];
+                if (overruns > 0) {
+                    report.append(role.getName()).append(": 超时").append(overruns).append("次, 改用默认动作")
+                            .append(budgetFallbacks[role.ordinal()]).append("次\n");
+                }
+            }
+            report.append("最长决策耗时: ").append(String.format("%.3f", maxOverrunNanos / 1e6)).append("毫秒\n");
+            report.append("\n");
+        }
+        
+        // 分层胜率统计
+        report.append("【分层胜率统计】\n");
+        report.append(cube.generateReport(reportSlice));
+        report.append("\n");
+        
         // 游戏时长统计
-        if (!gameDuration.isEmpty()) {
+        if (totalGames > 0) {
             report.append("【游戏时长统计】\n");
-            OptionalDouble avgDuration = gameDuration.stream().mapToInt(Integer::intValue).average();
-            OptionalInt maxDuration = gameDuration.stream().mapToInt(Integer::intValue).max();
-            OptionalInt minDuration = gameDuration.stream().mapToInt(Integer::intValue).min();
+            int minDuration = 0;
+            int maxDuration = 0;
+            for (int days = durationHistogram.length - 1; days >= 0; days--) {
+                if (durationHistogram[days] > 0) {
+                    maxDuration = Math.max(maxDuration, days);
+                    minDuration = days;
+                }
+            }
             
             report.append("平均天数: ")
-                    .append(avgDuration.isPresent() ? String.format("%.2f", avgDuration.getAsDouble()) : "0")
-                    .append("天\n");
-            report.append("最长天数: ")
-                    .append(maxDuration.isPresent() ? maxDuration.getAsInt() : 0)
-                    .append("天\n");
-            report.append("最短天数: ")
-                    .append(minDuration.isPresent() ? minDuration.getAsInt() : 0)
+                    .append(String.format("%.2f", (double) durationSum / totalGames))
                     .append("天\n");
+            report.append("最长天数: ").append(maxDuration).append("天\n");
+            report.append("最短天数: ").append(minDuration).append("天\n");
         }
         report.append("\n");
         
+        // 对局指纹
+        if (fingerprint != null) {
+            report.append(fingerprint.generateReport());
+            report.append("\n");
+        }
+        
+        // 策略决策耗时
+        if (strategyProfile != null) {
+            report.append(strategyProfile.generateReport());
+            report.append("\n");
+        }
+        
         report.append("==============================\n");
         
         return report.toString();
@@ -159,24 +431,106 @@ public class Statistics {
         System.out.println(generateReport());
     }
     
+    /**
+     * 设置报告中分层胜率统计的切片条件，形如 "NIGHT1_ANTIDOTE=是,FIRST_NIGHT_VICTIM=PROPHET"
+     */
+    public void setReportSlice(String spec) {
+        this.reportSlice = cube.parseSlice(spec);
+    }
+    
+    /**
+     * 设置策略决策耗时剖析结果，报告末尾附加决策耗时统计
+     */
+    public void setStrategyProfile(StrategyProfile strategyProfile) {
+        this.strategyProfile = strategyProfile;
+    }
+    
+    /**
+     * 设置对局指纹，报告末尾附加对局数和实验摘要
+     */
+    public void setFingerprint(GameFingerprint fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+    
+    public GameFingerprint getFingerprint() {
+        return fingerprint;
+    }
+    
+    public StatisticsCube getCube() {
+        return cube;
+    }
+    
     // getter方法
     public int getTotalGames() {
         return totalGames;
     }
     
     public Map<Camp, Integer> getWinCount() {
-        return winCount;
+        Map<Camp, Integer> map = new EnumMap<>(Camp.class);
+        for (Camp camp : CAMPS) {
+            map.put(camp, winCount[camp.ordinal()]);
+        }
+        return map;
     }
     
     public Map<Role, Integer> getSurvivalCount() {
-        return survivalCount;
+        return toRoleMap(survivalCount);
     }
     
     public Map<Role, Integer> getKillCount() {
-        return killCount;
+        return toRoleMap(killCount);
+    }
+    
+    public Map<Role, Integer> getBudgetOverruns() {
+        return toRoleMap(budgetOverruns);
+    }
+    
+    public Map<Role, Integer> getBudgetFallbacks() {
+        return toRoleMap(budgetFallbacks);
+    }
+    
+    private static Map<Role, Integer> toRoleMap(int[] counts) {
+        Map<Role, Integer> map = new EnumMap<>(Role.class);
+        for (Role role : ROLES) {
+            map.put(role, counts[role.ordinal()]);
+        }
+        return map;
+    }
+    
+    /**
+     * 获取各角色准确率
+     */
+    public Map<Role, Double> getAccuracyRate() {
+        Map<Role, Double> accuracyRate = new HashMap<>();
+        for (Role role : Role.values()) {
+            int total = accuracyTotal[role.ordinal()];
+            accuracyRate.put(role, total > 0 ? (double) accuracyHits[role.ordinal()] / total : 0.0);
+        }
+        return accuracyRate;
+    }
+    
+    public Map<Role, Map<DeathCause, Integer>> getDeathCauseCount() {
+        Map<Role, Map<DeathCause, Integer>> map = new EnumMap<>(Role.class);
+        for (Role role : ROLES) {
+            Map<DeathCause, Integer> causes = new EnumMap<>(DeathCause.class);
+            for (DeathCause cause : CAUSES) {
+                causes.put(cause, deathCauseCount[role.ordinal()][cause.ordinal()]);
+            }
+            map.put(role, causes);
+        }
+        return map;
     }
     
-    public List<Integer> getGameDuration() {
-        return gameDuration;
+    /**
+     * 获取游戏天数分布（天数 → 局数）
+     */
+    public Map<Integer, Integer> getDurationHistogram() {
+        Map<Integer, Integer> map = new TreeMap<>();
+        for (int days = 0; days < durationHistogram.length; days++) {
+            if (durationHistogram[days] > 0) {
+                map.put(days, durationHistogram[days]);
+            }
+        }
+        return map;
     }
 }
\ No newline at end of file
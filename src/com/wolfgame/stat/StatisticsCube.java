@@ -0,0 +1,202 @@
+package com.wolfgame.stat;
+
+import com.wolfgame.core.Camp;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 分层统计立方体类，按一组离散对局特征的取值组合对各阵营胜利次数计数
+ * 单元格数为各特征取值数之积，与对局数无关；每局更新只需计算一次单元格下标，代价为O(特征数)。
+ * 任意切片（固定部分特征的取值）和边际（对其余特征求和）都可以在运行结束后由计数求出
+ */
+public class StatisticsCube {
+    public static final int ANY = -1; // 切片查询中表示不固定该特征
+
+    private static final int CAMPS = Camp.values().length;
+
+    private final GameFeature[] features; // 参与分层的特征
+    private final int[] strides;          // 各特征在单元格下标中的步长
+    private final int cells;              // 单元格数
+    private final int[] counts;           // 单元格 × 阵营 的胜利次数
+
+    public StatisticsCube(List<GameFeature> features) {
+        this.features = features.toArray(new GameFeature[0]);
+        this.strides = new int[this.features.length];
+        int size = 1;
+        for (int i = this.features.length - 1; i >= 0; i--) {
+            strides[i] = size;
+            size *= this.features[i].getCardinality();
+        }
+        this.cells = size;
+        this.counts = new int[size * CAMPS];
+    }
+
+    /**
+     * 按一局的特征取值（按特征序号存放）把对应单元格中胜利阵营计数加一
+     */
+    public void add(int[] values, Camp winner) {
+        int cell = 0;
+        for (int i = 0; i < features.length; i++) {
+            cell += values[features[i].ordinal()] * strides[i];
+        }
+        counts[cell * CAMPS + winner.ordinal()]++;
+    }
+
+    /**
+     * 合并另一个特征组合相同的立方体
+     */
+    public void merge(StatisticsCube other) {
+        if (!Arrays.equals(features, other.features)) {
+            throw new IllegalArgumentException("分层特征不一致，无法合并：" + Arrays.toString(other.features));
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    /**
+     * 写出分层特征和全部单元格计数
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(features.length);
+        for (GameFeature feature : features) {
+            out.writeInt(feature.ordinal());
+        }
+        out.writeInt(counts.length);
+        for (int count : counts) {
+            out.writeInt(count);
+        }
+    }
+
+    /**
+     * 读取由 {@link #write(DataOutput)} 写出的计数并合并，分层特征必须一致
+     */
+    public void read(DataInput in) throws IOException {
+        int length = in.readInt();
+        boolean same = length == features.length;
+        for (int i = 0; i < length; i++) {
+            int ordinal = in.readInt();
+            same &= i < features.length && features[i].ordinal() == ordinal;
+        }
+        if (!same || in.readInt() != counts.length) {
+            throw new IOException("分层特征不一致，无法合并");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += in.readInt();
+        }
+    }
+
+    /**
+     * 切片查询：fixed 与特征一一对应，取值为 {@link #ANY} 的特征被求和，返回各阵营胜利次数
+     */
+    public int[] count(int[] fixed) {
+        int[] result = new int[CAMPS];
+        for (int cell = 0; cell < cells; cell++) {
+            if (matches(cell, fixed)) {
+                for (int camp = 0; camp < CAMPS; camp++) {
+                    result[camp] += counts[cell * CAMPS + camp];
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean matches(int cell, int[] fixed) {
+        for (int i = 0; i < features.length; i++) {
+            if (fixed[i] != ANY && (cell / strides[i]) % features[i].getCardinality() != fixed[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 生成切片报告：先给出切片内的对局数和胜率，再给出切片内其余每个特征的边际胜率
+     * @param fixed 与特征一一对应的固定取值，全部为 {@link #ANY} 时即为整体的各特征边际
+     */
+    public String generateReport(int[] fixed) {
+        StringBuilder report = new StringBuilder();
+        StringBuilder condition = new StringBuilder();
+        for (int i = 0; i < features.length; i++) {
+            if (fixed[i] != ANY) {
+                condition.append(condition.length() > 0 ? ", " : "")
+                        .append(features[i].getName()).append('=').append(features[i].getCategory(fixed[i]));
+            }
+        }
+        int[] total = count(fixed);
+        report.append("切片: ").append(condition.length() > 0 ? condition : "全部对局")
+                .append(", ").append(formatRates(total)).append("\n");
+
+        int[] query = fixed.clone();
+        for (int i = 0; i < features.length; i++) {
+            if (fixed[i] != ANY) {
+                continue;
+            }
+            report.append("  按").append(features[i].getName()).append(":\n");
+            for (int category = 0; category < features[i].getCardinality(); category++) {
+                query[i] = category;
+                int[] slice = count(query);
+                if (sum(slice) > 0) {
+                    report.append("    ").append(features[i].getCategory(category)).append(": ")
+                            .append(formatRates(slice)).append("\n");
+                }
+            }
+            query[i] = ANY;
+        }
+        return report.toString();
+    }
+
+    private static String formatRates(int[] wins) {
+        int games = sum(wins);
+        StringBuilder text = new StringBuilder();
+        text.append("对局").append(games);
+        for (Camp camp : Camp.values()) {
+            double rate = games > 0 ? (double) wins[camp.ordinal()] / games * 100 : 0;
+            text.append(", ").append(camp.getName()).append("胜率 ").append(String.format("%.2f", rate)).append('%');
+        }
+        return text.toString();
+    }
+
+    private static int sum(int[] values) {
+        int total = 0;
+        for (int value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    /**
+     * 按 "特征=取值,特征=取值" 形式解析切片条件，未出现的特征不固定
+     */
+    public int[] parseSlice(String spec) {
+        int[] fixed = new int[features.length];
+        Arrays.fill(fixed, ANY);
+        if (spec == null || spec.isBlank()) {
+            return fixed;
+        }
+        for (String token : spec.split(",")) {
+            int eq = token.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("无效的切片条件：" + token);
+            }
+            GameFeature feature = GameFeature.valueOf(token.substring(0, eq).trim().toUpperCase());
+            int index = Arrays.asList(features).indexOf(feature);
+            if (index < 0) {
+                throw new IllegalArgumentException("切片特征未参与分层统计：" + feature);
+            }
+            fixed[index] = feature.categoryOf(token.substring(eq + 1).trim());
+        }
+        return fixed;
+    }
+
+    public List<GameFeature> getFeatures() {
+        return List.of(features);
+    }
+
+    public int getCellCount() {
+        return cells;
+    }
+}
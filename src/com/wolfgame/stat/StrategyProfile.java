@@ -0,0 +1,56 @@
+package com.wolfgame.stat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 策略决策耗时剖析结果类，收集所有线程的决策记录器，在报告时按（策略，决策）合并
+ * 报告应在所有模拟线程结束后生成
+ */
+public class StrategyProfile {
+    private final Queue<DecisionRecorder> recorders = new ConcurrentLinkedQueue<>(); // 所有线程的记录器
+
+    /**
+     * 为调用线程创建一个新的决策记录器
+     */
+    public DecisionRecorder newRecorder(String strategyName, String decision) {
+        DecisionRecorder recorder = new DecisionRecorder(strategyName, decision);
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    /**
+     * 按（策略，决策）合并所有记录器
+     */
+    public Map<String, DecisionRecorder> merged() {
+        Map<String, DecisionRecorder> merged = new LinkedHashMap<>();
+        for (DecisionRecorder recorder : recorders) {
+            String key = recorder.getStrategyName() + "." + recorder.getDecision();
+            merged.computeIfAbsent(key, k -> new DecisionRecorder(recorder.getStrategyName(), recorder.getDecision()))
+                    .merge(recorder);
+        }
+        return merged;
+    }
+
+    /**
+     * 生成决策耗时报告
+     */
+    public String generateReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("【策略决策耗时】（p50/p90/p99为纳秒，分配为每次调用的平均字节数）\n");
+        for (Map.Entry<String, DecisionRecorder> entry : merged().entrySet()) {
+            DecisionRecorder recorder = entry.getValue();
+            if (recorder.getCount() == 0) {
+                continue;
+            }
+            report.append(String.format("%s: 调用%d次, 总耗时 %.2f ms, 平均 %d ns, p50 %d, p90 %d, p99 %d, 分配 %.1f B%n",
+                    entry.getKey(), recorder.getCount(), recorder.getTotalNanos() / 1e6,
+                    recorder.getTotalNanos() / recorder.getCount(),
+                    recorder.percentile(0.5), recorder.percentile(0.9), recorder.percentile(0.99),
+                    (double) recorder.getAllocatedBytes() / recorder.getCount()));
+        }
+        return report.toString();
+    }
+}
@@ -1,55 +1,52 @@
 package com.wolfgame.strategy;
 
+import com.wolfgame.core.Knowledge;
+import com.wolfgame.core.MessageBus;
+import com.wolfgame.core.MessageType;
 import com.wolfgame.core.Player;
 import com.wolfgame.core.Role;
 import java.util.List;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * 基础逻辑策略类，基于简单逻辑规则选择目标
  */
-public class BasicLogicStrategy implements Strategy {
-    private final Random random = new Random();
+public class BasicLogicStrategy implements Strategy, Parameterized {
+    public static final List<ParameterSpec> PARAMETERS = List.of(
+            new ParameterSpec("poisonRate", "女巫每晚用毒的概率", Role.WITCH, 0.3));
+    private static final int POISON_RATE = 0;
+    
+    private RandomGenerator random = new Random();
+    private ParameterVector parameters = ParameterVector.defaults(PARAMETERS); // 决策参数
     private final String name = "基础逻辑策略";
+    private Player lastCheckTarget; // 预言家最近一次查验的玩家
     
     @Override
     public Player chooseKillTarget(List<Player> wolves, List<Player> allPlayers) {
-        // 优先攻击有技能的好人角色（预言家、女巫、猎人）
-        List<Player> skillRoles = allPlayers.stream()
-                .filter(p -> !p.isWolf() && p.isAlive() && p.getRole().isHasSkill())
-                .toList();
-        if (!skillRoles.isEmpty()) {
-            return skillRoles.get(random.nextInt(skillRoles.size()));
-        }
-        
-        // 如果没有有技能的好人，则攻击普通村民
-        List<Player> villagers = allPlayers.stream()
-                .filter(p -> !p.isWolf() && p.isAlive() && p.getRole() == Role.VILLAGER)
-                .toList();
-        if (!villagers.isEmpty()) {
-            return villagers.get(random.nextInt(villagers.size()));
+        // 优先攻击公开声称有技能身份（预言家、女巫、猎人）的好人
+        Knowledge knowledge = wolves.getFirst().getKnowledge();
+        Player skillRole = pickAlive(allPlayers, null, knowledge, true);
+        if (skillRole != null) {
+            return skillRole;
         }
         
-        return null;
+        // 如果没有人声称有技能的身份，则攻击其他好人
+        return pickAlive(allPlayers, null, knowledge, false);
     }
     
     @Override
     public Player chooseCheckTarget(Player prophet, List<Player> allPlayers) {
         // 优先查验未确定身份的玩家（这里简化处理，随机选择非预言家且存活的玩家）
-        List<Player> targets = allPlayers.stream()
-                .filter(p -> !p.equals(prophet) && p.isAlive())
-                .toList();
-        if (targets.isEmpty()) {
-            return null;
-        }
-        return targets.get(random.nextInt(targets.size()));
+        lastCheckTarget = pickAlive(allPlayers, prophet, null, false);
+        return lastCheckTarget;
     }
     
     @Override
     public boolean useAntidote(Player witch, Player victim, List<Player> allPlayers) {
-        // 如果女巫自己或有技能的好人角色被攻击，则使用解药
+        // 如果女巫自己或声称有技能身份的玩家被攻击，则使用解药
         if (victim != null && victim.isAlive()) {
-            return victim.equals(witch) || victim.getRole().isHasSkill();
+            return victim.equals(witch) || witch.getKnowledge().hasClaimedSkill(victim);
         }
         return false;
     }
@@ -57,15 +54,12 @@ public class BasicLogicStrategy implements Strategy {
     @Override
     public Player usePoison(Player witch, List<Player> allPlayers) {
         // 优先毒杀疑似狼人（这里简化处理，随机选择非女巫且存活的玩家）
-        List<Player> targets = allPlayers.stream()
-                .filter(p -> !p.equals(witch) && p.isAlive())
-                .toList();
-        if (targets.isEmpty()) {
+        if (countTargets(allPlayers, witch, null, false) == 0) {
             return null;
         }
-        // 30%的概率使用毒药
-        if (random.nextDouble() < 0.3) {
-            return targets.get(random.nextInt(targets.size()));
+        // 以poisonRate（默认30%）的概率使用毒药
+        if (random.nextDouble() < parameters.get(POISON_RATE)) {
+            return pickAlive(allPlayers, witch, null, false);
         }
         return null;
     }
@@ -75,13 +69,7 @@ public class BasicLogicStrategy implements Strategy {
         // 如果不是被毒死，则开枪
         if (!isPoisoned) {
             // 优先带走疑似狼人（这里简化处理，随机选择非猎人且存活的玩家）
-            List<Player> targets = allPlayers.stream()
-                    .filter(p -> !p.equals(hunter) && p.isAlive())
-                    .toList();
-            if (targets.isEmpty()) {
-                return null;
-            }
-            return targets.get(random.nextInt(targets.size()));
+            return pickAlive(allPlayers, hunter, null, false);
         }
         return null;
     }
@@ -90,11 +78,9 @@ public class BasicLogicStrategy implements Strategy {
     public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers) {
         // 狼人优先投票给好人
         if (voter.isWolf()) {
-            List<Player> goodPlayers = candidates.stream()
-                    .filter(p -> !p.isWolf() && p.isAlive())
-                    .toList();
-            if (!goodPlayers.isEmpty()) {
-                return goodPlayers.get(random.nextInt(goodPlayers.size()));
+            Player goodPlayer = pickAlive(candidates, null, voter.getKnowledge(), false);
+            if (goodPlayer != null) {
+                return goodPlayer;
             }
         }
         
@@ -105,6 +91,120 @@ public class BasicLogicStrategy implements Strategy {
         return candidates.get(random.nextInt(candidates.size()));
     }
     
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers, MessageBus bus) {
+        Player target = null;
+        int count = 0;
+        // 狼人优先投出跳预言家的好人，好人优先投被指认为狼人的玩家（多个时蓄水池随机选择）
+        for (long seq = bus.tail(); seq < bus.head(); seq++) {
+            Player candidate;
+            if (voter.isWolf()) {
+                if (bus.type(seq) != MessageType.ROLE_CLAIM || bus.role(seq) != Role.PROPHET) {
+                    continue;
+                }
+                candidate = allPlayers.get(bus.speaker(seq) - 1);
+                if (voter.getKnowledge().isKnownWolf(candidate)) {
+                    continue;
+                }
+            } else {
+                if (bus.type(seq) != MessageType.ACCUSE) {
+                    continue;
+                }
+                candidate = allPlayers.get(bus.target(seq) - 1);
+            }
+            if (candidate != voter && candidate.isAlive() && random.nextInt(++count) == 0) {
+                target = candidate;
+            }
+        }
+        return target != null ? target : vote(voter, candidates, allPlayers);
+    }
+    
+    @Override
+    public void speak(Player speaker, List<Player> alivePlayers, List<Player> allPlayers, MessageBus bus) {
+        if (speaker.getRole() == Role.PROPHET) {
+            // 预言家跳身份并公布最近一次查验结果
+            if (lastCheckTarget != null && allPlayers.contains(lastCheckTarget)) {
+                bus.publish(speaker, MessageType.ROLE_CLAIM, null, Role.PROPHET);
+                bus.publish(speaker, speaker.getKnowledge().isKnownWolf(lastCheckTarget) ? MessageType.ACCUSE : MessageType.VOUCH,
+                        lastCheckTarget, null);
+            }
+        } else if (speaker.isWolf()) {
+            // 狼人被指认时悍跳预言家，反指认对方是狼人
+            for (long seq = bus.tail(); seq < bus.head(); seq++) {
+                if (bus.type(seq) == MessageType.ACCUSE && bus.target(seq) == speaker.getId()) {
+                    Player accuser = allPlayers.get(bus.speaker(seq) - 1);
+                    if (accuser.isAlive() && !speaker.getKnowledge().isKnownWolf(accuser)) {
+                        bus.publish(speaker, MessageType.ROLE_CLAIM, null, Role.PROPHET);
+                        bus.publish(speaker, MessageType.ACCUSE, accuser, null);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * 在存活玩家中等概率随机选择一个目标（排除指定玩家，knowledge 不为null时排除其中确知的狼人，
+     * claimedOnly 时只选声称过技能身份的玩家），不存在时返回null；先计数再按序号定位，不分配中间列表
+     */
+    private Player pickAlive(List<Player> players, Player excluded, Knowledge knowledge, boolean claimedOnly) {
+        int count = countTargets(players, excluded, knowledge, claimedOnly);
+        if (count == 0) {
+            return null;
+        }
+        int index = random.nextInt(count);
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            if (isTarget(p, excluded, knowledge, claimedOnly) && index-- == 0) {
+                return p;
+            }
+        }
+        return null;
+    }
+    
+    private static int countTargets(List<Player> players, Player excluded, Knowledge knowledge, boolean claimedOnly) {
+        int count = 0;
+        for (int i = 0; i < players.size(); i++) {
+            if (isTarget(players.get(i), excluded, knowledge, claimedOnly)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private static boolean isTarget(Player p, Player excluded, Knowledge knowledge, boolean claimedOnly) {
+        return p.isAlive() && !p.equals(excluded) && !(knowledge != null && knowledge.isKnownWolf(p))
+                && !(claimedOnly && !knowledge.hasClaimedSkill(p));
+    }
+    
+    @Override
+    public void startGame(List<Player> allPlayers) {
+        lastCheckTarget = null;
+    }
+    
+    @Override
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+    
+    @Override
+    public List<ParameterSpec> getParameterSpecs() {
+        return PARAMETERS;
+    }
+    
+    @Override
+    public ParameterVector getParameters() {
+        return parameters;
+    }
+    
+    @Override
+    public void setParameters(ParameterVector parameters) {
+        if (!parameters.getSpecs().equals(PARAMETERS)) {
+            throw new IllegalArgumentException("参数定义与基础逻辑策略不一致");
+        }
+        this.parameters = parameters;
+    }
+    
     @Override
     public String getName() {
         return name;
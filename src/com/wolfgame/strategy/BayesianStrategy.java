@@ -0,0 +1,413 @@
+package com.wolfgame.strategy;
+
+import com.wolfgame.core.DecisionBudget;
+import com.wolfgame.core.Knowledge;
+import com.wolfgame.core.MessageBus;
+import com.wolfgame.core.MessageType;
+import com.wolfgame.core.Player;
+import com.wolfgame.core.Role;
+import com.wolfgame.core.RoleAssignments;
+import com.wolfgame.core.TableConfig;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * 贝叶斯信念策略类，每个玩家对所有与自身已知信息一致的角色分配维护精确的概率向量，
+ * 根据观察到的死亡、投票、发言和查验结果用预先计算的似然表增量更新，并按期望价值选择行动
+ */
+public class BayesianStrategy implements Strategy {
+    private static final Role[] ROLES = Role.values();
+    // 各角色对狼人阵营的击杀价值
+    private static final double[] KILL_VALUE = new double[ROLES.length];
+    // 投票似然表，下标为 [投票者是狼人][目标是狼人]
+    private static final double[][] VOTE_LIKELIHOOD = {{1.0, 1.0}, {1.0, 0.2}};
+    // 死亡似然表，下标为 [死者是狼人]
+    private static final double[] DEATH_LIKELIHOOD = {1.0, 0.5};
+    // 指认狼人似然表，下标为 [发言者角色][目标是狼人]
+    private static final double[][] ACCUSE_LIKELIHOOD = new double[ROLES.length][2];
+    // 担保好人似然表，下标为 [发言者角色][目标是狼人]
+    private static final double[][] VOUCH_LIKELIHOOD = new double[ROLES.length][2];
+    // 声称预言家似然表，下标为 [发言者角色]
+    private static final double[] PROPHET_CLAIM_LIKELIHOOD = new double[ROLES.length];
+
+    static {
+        KILL_VALUE[Role.PROPHET.ordinal()] = 3.0;
+        KILL_VALUE[Role.WITCH.ordinal()] = 2.0;
+        KILL_VALUE[Role.HUNTER.ordinal()] = 0.5;
+        KILL_VALUE[Role.VILLAGER.ordinal()] = 1.0;
+        for (Role role : ROLES) {
+            int r = role.ordinal();
+            if (role == Role.PROPHET) {
+                // 真预言家如实公布查验结果
+                ACCUSE_LIKELIHOOD[r] = new double[]{0.0, 1.0};
+                VOUCH_LIKELIHOOD[r] = new double[]{1.0, 0.0};
+                PROPHET_CLAIM_LIKELIHOOD[r] = 1.0;
+            } else if (role == Role.WOLF) {
+                ACCUSE_LIKELIHOOD[r] = new double[]{0.8, 0.05};
+                VOUCH_LIKELIHOOD[r] = new double[]{0.3, 0.5};
+                PROPHET_CLAIM_LIKELIHOOD[r] = 0.5;
+            } else {
+                ACCUSE_LIKELIHOOD[r] = new double[]{0.3, 0.3};
+                VOUCH_LIKELIHOOD[r] = new double[]{0.3, 0.3};
+                PROPHET_CLAIM_LIKELIHOOD[r] = 0.05;
+            }
+        }
+    }
+
+    private RandomGenerator random = new Random();
+    private DecisionBudget budget = new DecisionBudget(); // 决策预算，用完时推迟处理剩余消息并返回当前最优候选
+    private final String name = "贝叶斯策略";
+    private List<Player> currentPlayers; // 当前对局的玩家列表
+    private RoleAssignments assignments; // 当前阵容的角色分配枚举表，由 setTable 设置
+    private MessageBus bus;              // 当前对局的消息总线
+    private double[][] beliefs;          // 每个座位的信念向量
+    private boolean[] initialized;       // 座位信念是否已初始化
+    private long[] busCursor;            // 每个座位已处理到的消息序号
+    private long[] deadSeen;             // 每个座位已处理过的死亡玩家掩码
+    private long[] appliedWolves;        // 每个座位已计入信念的确知狼人位图
+    private long[] appliedGood;          // 每个座位已计入信念的确知好人位图
+    private Player[] lastCheckTargets;   // 每个座位作为预言家最近一次查验的玩家
+
+    @Override
+    public Player chooseKillTarget(List<Player> wolves, List<Player> allPlayers) {
+        Player wolf = wolves.getFirst();
+        double[] belief = observe(wolf, allPlayers);
+        Player best = null;
+        double bestValue = -1;
+        for (Player target : allPlayers) {
+            if (target.isAlive() && !wolf.getKnowledge().isKnownWolf(target)) {
+                double value = expectation(belief, target.getId() - 1, KILL_VALUE);
+                if (value > bestValue || (value == bestValue && random.nextBoolean())) {
+                    bestValue = value;
+                    best = target;
+                }
+                if (budget.isExpired()) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public Player chooseCheckTarget(Player prophet, List<Player> allPlayers) {
+        double[] belief = observe(prophet, allPlayers);
+        // 查验狼人概率最接近0.5（信息量最大）的玩家
+        Player best = null;
+        double bestUncertainty = -1;
+        for (Player target : allPlayers) {
+            if (target != prophet && target.isAlive()) {
+                double p = wolfProbability(belief, target.getId() - 1);
+                double uncertainty = Math.min(p, 1 - p);
+                if (uncertainty > bestUncertainty || (uncertainty == bestUncertainty && random.nextBoolean())) {
+                    bestUncertainty = uncertainty;
+                    best = target;
+                }
+                if (budget.isExpired()) {
+                    break;
+                }
+            }
+        }
+        // 查验结果由引擎写入预言家的知识，下次观察时过滤信念向量
+        lastCheckTargets[prophet.getId() - 1] = best;
+        return best;
+    }
+
+    @Override
+    public boolean useAntidote(Player witch, Player victim, List<Player> allPlayers) {
+        if (victim == null || !victim.isAlive()) {
+            return false;
+        }
+        if (victim == witch) {
+            return true;
+        }
+        // 被救者的期望价值高于普通村民时使用解药
+        double[] belief = observe(witch, allPlayers);
+        return expectation(belief, victim.getId() - 1, KILL_VALUE) > 1.2;
+    }
+
+    @Override
+    public Player usePoison(Player witch, List<Player> allPlayers) {
+        // 狼人概率超过0.6时毒杀最可疑的玩家
+        double[] belief = observe(witch, allPlayers);
+        return mostLikelyWolf(belief, witch, allPlayers, 0.6);
+    }
+
+    @Override
+    public Player useGun(Player hunter, boolean isPoisoned, List<Player> allPlayers) {
+        if (isPoisoned) {
+            return null;
+        }
+        // 带走狼人的期望收益为正（狼人概率超过0.5）时开枪
+        double[] belief = observe(hunter, allPlayers);
+        return mostLikelyWolf(belief, hunter, allPlayers, 0.5);
+    }
+
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers) {
+        return vote(voter, candidates, allPlayers, null);
+    }
+
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers, MessageBus bus) {
+        double[] belief = observe(voter, allPlayers, bus);
+        Player best = null;
+        double bestValue = -1;
+        for (Player candidate : candidates) {
+            if (candidate == voter || !candidate.isAlive()) {
+                continue;
+            }
+            // 狼人投期望价值最高的好人，好人投狼人概率最高的玩家
+            double value = voter.isWolf()
+                    ? (voter.getKnowledge().isKnownWolf(candidate) ? -1 : expectation(belief, candidate.getId() - 1, KILL_VALUE))
+                    : wolfProbability(belief, candidate.getId() - 1);
+            if (value > bestValue || (value == bestValue && random.nextBoolean())) {
+                bestValue = value;
+                best = candidate;
+            }
+            if (budget.isExpired()) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public void speak(Player speaker, List<Player> alivePlayers, List<Player> allPlayers, MessageBus bus) {
+        observe(speaker, allPlayers, bus);
+        // 预言家跳身份并如实公布最近一次查验结果
+        Player lastCheckTarget = lastCheckTargets[speaker.getId() - 1];
+        if (speaker.getRole() == Role.PROPHET && lastCheckTarget != null && allPlayers.contains(lastCheckTarget)) {
+            bus.publish(speaker, MessageType.ROLE_CLAIM, null, Role.PROPHET);
+            bus.publish(speaker, speaker.getKnowledge().isKnownWolf(lastCheckTarget) ? MessageType.ACCUSE : MessageType.VOUCH,
+                    lastCheckTarget, null);
+        }
+    }
+
+    @Override
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public void setBudget(DecisionBudget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * 阵容变化时展开角色分配枚举表并分配按座位的状态；角色组成是公开信息，只用于确定枚举空间。
+     * 信念向量为座位数 × 分配数，分配数超过枚举表上限的阵容直接拒绝
+     */
+    @Override
+    public void setTable(TableConfig table) {
+        RoleAssignments resolved = RoleAssignments.of(table.getRoles()).enumerate();
+        if (resolved == assignments) {
+            return;
+        }
+        assignments = resolved;
+        int seats = resolved.getSeats();
+        beliefs = new double[seats][(int) resolved.getCount()];
+        initialized = new boolean[seats];
+        busCursor = new long[seats];
+        deadSeen = new long[seats];
+        appliedWolves = new long[seats];
+        appliedGood = new long[seats];
+        lastCheckTargets = new Player[seats];
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 处理该玩家尚未处理的新知识、死亡和公开消息，返回其最新的信念向量
+     */
+    private double[] observe(Player self, List<Player> allPlayers) {
+        return observe(self, allPlayers, null);
+    }
+
+    /**
+     * 处理该玩家尚未处理的死亡和公开消息，并记录本局的消息总线
+     */
+    private double[] observe(Player self, List<Player> allPlayers, MessageBus messageBus) {
+        if (messageBus != null) {
+            bus = messageBus;
+        }
+        int seat = self.getId() - 1;
+        double[] belief = beliefs[seat];
+        if (!initialized[seat]) {
+            initBelief(self, allPlayers);
+        }
+
+        // 新得知的阵营（如查验结果）：确定性地过滤信念向量
+        Knowledge knowledge = self.getKnowledge();
+        long newWolves = knowledge.getKnownWolves() & ~appliedWolves[seat];
+        long newGood = knowledge.getKnownGood() & ~appliedGood[seat];
+        if ((newWolves | newGood) != 0) {
+            for (int a = 0; a < belief.length; a++) {
+                long mask = assignments.wolfMask(a);
+                if ((mask & newWolves) != newWolves || (mask & newGood) != 0) {
+                    belief[a] = 0;
+                }
+            }
+            appliedWolves[seat] |= newWolves;
+            appliedGood[seat] |= newGood;
+        }
+
+        // 死亡事件：被淘汰的玩家更可能是好人
+        long deadMask = 0;
+        for (Player player : allPlayers) {
+            if (!player.isAlive()) {
+                deadMask |= 1L << (player.getId() - 1);
+            }
+        }
+        long newDead = deadMask & ~deadSeen[seat];
+        deadSeen[seat] = deadMask;
+        while (newDead != 0) {
+            int dead = Long.numberOfTrailingZeros(newDead);
+            newDead &= newDead - 1;
+            for (int a = 0; a < belief.length; a++) {
+                belief[a] *= DEATH_LIKELIHOOD[assignments.isWolf(a, dead) ? 1 : 0];
+            }
+        }
+
+        // 公开消息：投票、身份声称、指认和担保；预算用完时剩余消息推迟到下一次决策处理，每次至少处理一条
+        if (bus != null) {
+            long first = Math.max(busCursor[seat], bus.tail());
+            long seq = first;
+            for (; seq < bus.head(); seq++) {
+                if (seq > first && budget.isExpired()) {
+                    break;
+                }
+                int speaker = bus.speaker(seq) - 1;
+                int target = bus.target(seq) - 1;
+                if (speaker == seat) {
+                    continue;
+                }
+                MessageType type = bus.type(seq);
+                for (int a = 0; a < belief.length; a++) {
+                    if (belief[a] == 0) {
+                        continue;
+                    }
+                    int targetWolf = target >= 0 && assignments.isWolf(a, target) ? 1 : 0;
+                    switch (type) {
+                        case VOTE -> belief[a] *= VOTE_LIKELIHOOD[assignments.isWolf(a, speaker) ? 1 : 0][targetWolf];
+                        case ACCUSE -> belief[a] *= ACCUSE_LIKELIHOOD[assignments.roleOrdinalAt(a, speaker)][targetWolf];
+                        case VOUCH -> belief[a] *= VOUCH_LIKELIHOOD[assignments.roleOrdinalAt(a, speaker)][targetWolf];
+                        case ROLE_CLAIM -> {
+                            if (bus.role(seq) == Role.PROPHET) {
+                                belief[a] *= PROPHET_CLAIM_LIKELIHOOD[assignments.roleOrdinalAt(a, speaker)];
+                            }
+                        }
+                    }
+                }
+            }
+            busCursor[seat] = seq;
+        }
+        normalize(seat);
+        return belief;
+    }
+
+    /**
+     * 新的一局开始时重置所有座位的信念，阵容必须已由 {@link #setTable(TableConfig)} 设置
+     */
+    @Override
+    public void startGame(List<Player> allPlayers) {
+        if (assignments == null || assignments.getSeats() != allPlayers.size()) {
+            throw new IllegalStateException("贝叶斯策略的对局阵容未设置或与玩家人数不一致");
+        }
+        currentPlayers = allPlayers;
+        bus = null;
+        Arrays.fill(lastCheckTargets, null);
+        Arrays.fill(initialized, false);
+        Arrays.fill(busCursor, 0);
+        Arrays.fill(deadSeen, 0);
+    }
+
+    /**
+     * 初始化座位信念：只保留与自身角色和已知阵营（狼人知道所有同伴，预言家知道查验结果）一致的分配
+     */
+    private void initBelief(Player self, List<Player> allPlayers) {
+        int seat = self.getId() - 1;
+        Knowledge knowledge = self.getKnowledge();
+        long knownWolves = knowledge.getKnownWolves();
+        long knownGood = knowledge.getKnownGood();
+        double[] belief = beliefs[seat];
+        int ownRole = self.getRole().ordinal();
+        for (int a = 0; a < belief.length; a++) {
+            long mask = assignments.wolfMask(a);
+            boolean consistent = assignments.roleOrdinalAt(a, seat) == ownRole
+                    && (mask & knownWolves) == knownWolves && (mask & knownGood) == 0;
+            belief[a] = consistent ? 1 : 0;
+        }
+        appliedWolves[seat] = knownWolves;
+        appliedGood[seat] = knownGood;
+        initialized[seat] = true;
+        normalize(seat);
+    }
+
+    /**
+     * 归一化座位信念，若观察相互矛盾导致概率全为0则回到先验
+     */
+    private void normalize(int seat) {
+        double[] belief = beliefs[seat];
+        double sum = 0;
+        for (double b : belief) {
+            sum += b;
+        }
+        if (sum <= 0) {
+            initialized[seat] = false;
+            initBelief(currentPlayers.get(seat), currentPlayers);
+            return;
+        }
+        double scale = 1 / sum;
+        for (int a = 0; a < belief.length; a++) {
+            belief[a] *= scale;
+        }
+    }
+
+    /**
+     * 计算座位角色价值的期望
+     */
+    private double expectation(double[] belief, int seat, double[] roleValue) {
+        double value = 0;
+        for (int a = 0; a < belief.length; a++) {
+            value += belief[a] * roleValue[assignments.roleOrdinalAt(a, seat)];
+        }
+        return value;
+    }
+
+    /**
+     * 计算座位是狼人的概率
+     */
+    private double wolfProbability(double[] belief, int seat) {
+        double p = 0;
+        for (int a = 0; a < belief.length; a++) {
+            if (assignments.isWolf(a, seat)) {
+                p += belief[a];
+            }
+        }
+        return p;
+    }
+
+    /**
+     * 选择狼人概率最高且超过阈值的其他存活玩家
+     */
+    private Player mostLikelyWolf(double[] belief, Player self, List<Player> allPlayers, double threshold) {
+        Player best = null;
+        double bestP = threshold;
+        for (Player target : allPlayers) {
+            if (target != self && target.isAlive()) {
+                double p = wolfProbability(belief, target.getId() - 1);
+                if (p > bestP) {
+                    bestP = p;
+                    best = target;
+                }
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,164 @@
+package com.wolfgame.strategy;
+
+import com.wolfgame.core.Camp;
+import com.wolfgame.core.DecisionBudget;
+import com.wolfgame.core.MessageBus;
+import com.wolfgame.core.Player;
+import com.wolfgame.core.Role;
+import com.wolfgame.core.TableConfig;
+import com.wolfgame.stat.DecisionRecorder;
+import com.wolfgame.stat.StrategyProfile;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * 决策剖析装饰器，包装任意策略，记录每类决策的调用次数、耗时分布和分配字节数
+ * 与被包装的策略一样只在一个模拟线程中使用，因此各记录器只由该线程写入，不需要同步
+ */
+public class InstrumentedStrategy implements Strategy {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final boolean ALLOCATION_SUPPORTED = THREADS.isThreadAllocatedMemorySupported()
+            && THREADS.isThreadAllocatedMemoryEnabled();
+
+    private final Strategy delegate;            // 被包装的策略
+    private final DecisionRecorder killTarget;  // chooseKillTarget 记录器
+    private final DecisionRecorder checkTarget; // chooseCheckTarget 记录器
+    private final DecisionRecorder antidote;    // useAntidote 记录器
+    private final DecisionRecorder poison;      // usePoison 记录器
+    private final DecisionRecorder gun;         // useGun 记录器
+    private final DecisionRecorder vote;        // vote 记录器
+
+    public InstrumentedStrategy(Strategy delegate, StrategyProfile profile) {
+        this.delegate = delegate;
+        String name = delegate.getName();
+        this.killTarget = profile.newRecorder(name, "chooseKillTarget");
+        this.checkTarget = profile.newRecorder(name, "chooseCheckTarget");
+        this.antidote = profile.newRecorder(name, "useAntidote");
+        this.poison = profile.newRecorder(name, "usePoison");
+        this.gun = profile.newRecorder(name, "useGun");
+        this.vote = profile.newRecorder(name, "vote");
+    }
+
+    /**
+     * 包装一组角色策略，多个角色共享的策略实例只包装一次，保持共享关系
+     */
+    public static Map<Role, Strategy> instrumentAll(Map<Role, Strategy> strategies, StrategyProfile profile) {
+        Map<Strategy, Strategy> wrapped = new IdentityHashMap<>();
+        Map<Role, Strategy> result = new HashMap<>();
+        for (Map.Entry<Role, Strategy> entry : strategies.entrySet()) {
+            result.put(entry.getKey(), wrapped.computeIfAbsent(entry.getValue(), s -> new InstrumentedStrategy(s, profile)));
+        }
+        return result;
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATION_SUPPORTED ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    @Override
+    public Player chooseKillTarget(List<Player> wolves, List<Player> allPlayers) {
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        Player target = delegate.chooseKillTarget(wolves, allPlayers);
+        killTarget.record(System.nanoTime() - start, allocatedBytes() - bytes);
+        return target;
+    }
+
+    @Override
+    public Player chooseCheckTarget(Player prophet, List<Player> allPlayers) {
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        Player target = delegate.chooseCheckTarget(prophet, allPlayers);
+        checkTarget.record(System.nanoTime() - start, allocatedBytes() - bytes);
+        return target;
+    }
+
+    @Override
+    public boolean useAntidote(Player witch, Player victim, List<Player> allPlayers) {
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        boolean use = delegate.useAntidote(witch, victim, allPlayers);
+        antidote.record(System.nanoTime() - start, allocatedBytes() - bytes);
+        return use;
+    }
+
+    @Override
+    public Player usePoison(Player witch, List<Player> allPlayers) {
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        Player target = delegate.usePoison(witch, allPlayers);
+        poison.record(System.nanoTime() - start, allocatedBytes() - bytes);
+        return target;
+    }
+
+    @Override
+    public Player useGun(Player hunter, boolean isPoisoned, List<Player> allPlayers) {
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        Player target = delegate.useGun(hunter, isPoisoned, allPlayers);
+        gun.record(System.nanoTime() - start, allocatedBytes() - bytes);
+        return target;
+    }
+
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers) {
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        Player target = delegate.vote(voter, candidates, allPlayers);
+        vote.record(System.nanoTime() - start, allocatedBytes() - bytes);
+        return target;
+    }
+
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers, MessageBus bus) {
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        Player target = delegate.vote(voter, candidates, allPlayers, bus);
+        vote.record(System.nanoTime() - start, allocatedBytes() - bytes);
+        return target;
+    }
+
+    @Override
+    public void speak(Player speaker, List<Player> alivePlayers, List<Player> allPlayers, MessageBus bus) {
+        delegate.speak(speaker, alivePlayers, allPlayers, bus);
+    }
+
+    @Override
+    public void startGame(List<Player> allPlayers) {
+        delegate.startGame(allPlayers);
+    }
+
+    @Override
+    public void endGame(Camp winner) {
+        delegate.endGame(winner);
+    }
+
+    @Override
+    public void setRandom(RandomGenerator random) {
+        delegate.setRandom(random);
+    }
+
+    @Override
+    public void setBudget(DecisionBudget budget) {
+        delegate.setBudget(budget);
+    }
+
+    @Override
+    public void setTable(TableConfig table) {
+        delegate.setTable(table);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    public Strategy getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,157 @@
+package com.wolfgame.strategy;
+
+import com.wolfgame.core.Knowledge;
+import com.wolfgame.core.MessageBus;
+import com.wolfgame.core.Player;
+import com.wolfgame.stat.DecisionFeatures;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * 模型策略类，用 {@link PolicyWeights} 中按决策类型训练的评分网络为每个候选打分，选择分数最高的候选
+ * 候选的输入向量由 {@link DecisionFeatures} 从当前局面编码，与导出的决策轨迹完全一致，因此可以直接使用由轨迹训练的权重；
+ * 决策者自己的知识只用于排除同阵营的已知玩家（预言家查验时排除所有已知身份的玩家），不作为模型输入。
+ * 解药在分数大于0时使用，毒药和开枪在最高分大于0时使用，击杀、查验和投票总是选择最高分的候选，同分时随机选择。
+ * 记录和输入向量预先分配并反复复用，每次决策不分配对象；不发言
+ */
+public class LearnedPolicyStrategy implements Strategy {
+    private final PolicyWeights weights;  // 评分模型
+    private final ByteBuffer record = ByteBuffer.allocate(DecisionFeatures.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN); // 当前决策的特征记录
+    private final float[] inputs = new float[DecisionFeatures.INPUTS]; // 候选的输入向量
+    private final float[] hidden;         // 隐层激活值
+    private RandomGenerator random = new Random();
+    private MessageBus bus;               // 最近看到的公开消息总线，首个白天之前为null
+    private boolean antidoteUsed;         // 本局是否已经使用解药
+    private boolean poisonUsed;           // 本局是否已经使用毒药
+    private final String name = "模型策略";
+
+    public LearnedPolicyStrategy() {
+        this(PolicyWeights.shared());
+    }
+
+    public LearnedPolicyStrategy(PolicyWeights weights) {
+        this.weights = weights;
+        this.hidden = new float[weights.getHidden()];
+    }
+
+    private int potions() {
+        return (antidoteUsed ? 0 : 1) | (poisonUsed ? 0 : 2);
+    }
+
+    /**
+     * 对一个候选打分，调用前应已为当前决策编码特征记录
+     */
+    private float score(int decision, Player candidate) {
+        DecisionFeatures.candidateInputs(record, 0, candidate.getId(), inputs);
+        return weights.score(decision, inputs, hidden);
+    }
+
+    /**
+     * 编码当前局面并选择分数最高的存活候选，最高分不超过 threshold 或没有候选时返回null
+     */
+    private Player choose(int decision, Player actor, List<Player> candidates, List<Player> allPlayers,
+                          int potions, float threshold) {
+        if (allPlayers.size() > DecisionFeatures.MAX_SEATS) {
+            throw new IllegalArgumentException("模型策略最多支持" + DecisionFeatures.MAX_SEATS + "个座位：" + allPlayers.size());
+        }
+        DecisionFeatures.encode(record, 0, actor, decision, potions, allPlayers, bus);
+        Knowledge knowledge = actor.getKnowledge();
+        Player best = null;
+        float bestScore = threshold;
+        int ties = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            Player p = candidates.get(i);
+            if (!p.isAlive() || (actor.isWolf() ? knowledge.isKnownWolf(p) : knowledge.isKnownGood(p))
+                    || (decision == DecisionFeatures.CHECK && knowledge.isKnown(p))) {
+                continue;
+            }
+            float s = score(decision, p);
+            if (s > bestScore) {
+                best = p;
+                bestScore = s;
+                ties = 1;
+            } else if (best != null && s == bestScore && random.nextInt(++ties) == 0) {
+                best = p;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public Player chooseKillTarget(List<Player> wolves, List<Player> allPlayers) {
+        return choose(DecisionFeatures.KILL, wolves.getFirst(), allPlayers, allPlayers, 0, Float.NEGATIVE_INFINITY);
+    }
+
+    @Override
+    public Player chooseCheckTarget(Player prophet, List<Player> allPlayers) {
+        return choose(DecisionFeatures.CHECK, prophet, allPlayers, allPlayers, 0, Float.NEGATIVE_INFINITY);
+    }
+
+    @Override
+    public boolean useAntidote(Player witch, Player victim, List<Player> allPlayers) {
+        if (victim == null || antidoteUsed) {
+            return false;
+        }
+        DecisionFeatures.encode(record, 0, witch, DecisionFeatures.ANTIDOTE, potions(), allPlayers, bus);
+        antidoteUsed = score(DecisionFeatures.ANTIDOTE, victim) > 0;
+        return antidoteUsed;
+    }
+
+    @Override
+    public Player usePoison(Player witch, List<Player> allPlayers) {
+        if (poisonUsed) {
+            return null;
+        }
+        Player target = choose(DecisionFeatures.POISON, witch, allPlayers, allPlayers, potions(), 0);
+        poisonUsed = target != null;
+        return target;
+    }
+
+    @Override
+    public Player useGun(Player hunter, boolean isPoisoned, List<Player> allPlayers) {
+        if (isPoisoned) {
+            return null;
+        }
+        return choose(DecisionFeatures.GUN, hunter, allPlayers, allPlayers, 0, 0);
+    }
+
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers) {
+        return choose(DecisionFeatures.VOTE, voter, candidates, allPlayers, 0, Float.NEGATIVE_INFINITY);
+    }
+
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers, MessageBus bus) {
+        this.bus = bus;
+        return vote(voter, candidates, allPlayers);
+    }
+
+    @Override
+    public void speak(Player speaker, List<Player> alivePlayers, List<Player> allPlayers, MessageBus bus) {
+        this.bus = bus;
+    }
+
+    @Override
+    public void startGame(List<Player> allPlayers) {
+        bus = null;
+        antidoteUsed = false;
+        poisonUsed = false;
+    }
+
+    @Override
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public PolicyWeights getWeights() {
+        return weights;
+    }
+}
@@ -0,0 +1,236 @@
+package com.wolfgame.strategy;
+
+import com.wolfgame.core.Camp;
+import com.wolfgame.core.Knowledge;
+import com.wolfgame.core.MessageBus;
+import com.wolfgame.core.MessageType;
+import com.wolfgame.core.Player;
+import com.wolfgame.core.Role;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * 学习策略类，根据跨局学习表中各决策上下文的历史胜率选择击杀目标、投票目标和是否使用解药
+ * 每个决策按（决策类型、离散特征、选项）哈希为上下文键，以一定概率随机探索，否则选择历史胜率最高的选项；
+ * 本局做出的决策先缓存在本地，对局结束后按所在阵营是否获胜一次性写入学习表。
+ * 查验、毒药和开枪沿用随机策略
+ */
+public class LearningStrategy implements Strategy {
+    private static final int KILL = 1;          // 狼人击杀：目标公开声称的身份
+    private static final int WOLF_VOTE = 2;     // 狼人投票：目标公开声称的身份
+    private static final int GOOD_VOTE = 3;     // 好人投票：目标受到的指认/担保、是否声称身份
+    private static final int ANTIDOTE = 4;      // 女巫解药：被害人与女巫的关系、是否使用
+    private static final Role[] ROLES = Role.values();
+    private static final double EXPLORATION = 0.1; // 随机探索的概率
+
+    private final LearningTable table;              // 跨局学习表
+    private final RandomStrategy fallback = new RandomStrategy(); // 未学习的决策
+    private RandomGenerator random = new Random();
+    private long[] decisionKeys = new long[64];     // 本局做出的决策上下文键
+    private Camp[] decisionCamps = new Camp[64];    // 做出决策时所在阵营
+    private int decisionCount;                      // 本局决策数
+    private final String name = "学习策略";
+
+    public LearningStrategy() {
+        this(LearningTable.shared());
+    }
+
+    public LearningStrategy(LearningTable table) {
+        this.table = table;
+    }
+
+    @Override
+    public Player chooseKillTarget(List<Player> wolves, List<Player> allPlayers) {
+        Knowledge knowledge = wolves.getFirst().getKnowledge();
+        int alive = countAlive(allPlayers);
+        Player best = null;
+        double bestScore = -1;
+        int ties = 0;
+        boolean explore = random.nextDouble() < EXPLORATION;
+        for (int i = 0; i < allPlayers.size(); i++) {
+            Player p = allPlayers.get(i);
+            if (knowledge.isKnownWolf(p) || !p.isAlive()) {
+                continue;
+            }
+            double score = explore ? 0 : table.winRate(LearningTable.key(KILL, claimedRole(knowledge, p), alive, 0));
+            if (score > bestScore) {
+                best = p;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = p;
+            }
+        }
+        if (best != null) {
+            remember(LearningTable.key(KILL, claimedRole(knowledge, best), alive, 0), Camp.WOLF);
+        }
+        return best;
+    }
+
+    @Override
+    public Player chooseCheckTarget(Player prophet, List<Player> allPlayers) {
+        return fallback.chooseCheckTarget(prophet, allPlayers);
+    }
+
+    @Override
+    public boolean useAntidote(Player witch, Player victim, List<Player> allPlayers) {
+        if (victim == null) {
+            return false;
+        }
+        int relation = victim == witch ? 0 : witch.getKnowledge().hasClaimedSkill(victim) ? 1 : 2;
+        int alive = countAlive(allPlayers);
+        long save = LearningTable.key(ANTIDOTE, relation, alive, 1);
+        long keep = LearningTable.key(ANTIDOTE, relation, alive, 0);
+        boolean use;
+        if (random.nextDouble() < EXPLORATION) {
+            use = random.nextBoolean();
+        } else {
+            double saveScore = table.winRate(save);
+            double keepScore = table.winRate(keep);
+            use = saveScore == keepScore ? random.nextBoolean() : saveScore > keepScore;
+        }
+        remember(use ? save : keep, witch.getRole().getCamp());
+        return use;
+    }
+
+    @Override
+    public Player usePoison(Player witch, List<Player> allPlayers) {
+        return fallback.usePoison(witch, allPlayers);
+    }
+
+    @Override
+    public Player useGun(Player hunter, boolean isPoisoned, List<Player> allPlayers) {
+        return fallback.useGun(hunter, isPoisoned, allPlayers);
+    }
+
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers) {
+        return vote(voter, candidates, allPlayers, null);
+    }
+
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers, MessageBus bus) {
+        int alive = candidates.size();
+        Player best = null;
+        long bestKey = 0;
+        double bestScore = -1;
+        int ties = 0;
+        boolean explore = random.nextDouble() < EXPLORATION;
+        for (int i = 0; i < candidates.size(); i++) {
+            Player candidate = candidates.get(i);
+            if (candidate == voter || voter.getKnowledge().isKnownWolf(candidate)) {
+                continue;
+            }
+            long key = voteKey(voter, candidate, alive, bus);
+            double score = explore ? 0 : table.winRate(key);
+            if (score > bestScore) {
+                best = candidate;
+                bestKey = key;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = candidate;
+                bestKey = key;
+            }
+        }
+        if (best == null) {
+            return fallback.vote(voter, candidates, allPlayers);
+        }
+        remember(bestKey, voter.getRole().getCamp());
+        return best;
+    }
+
+    /**
+     * 投票决策的上下文键：狼人按目标公开声称的身份，好人按目标当天受到的指认、担保次数和是否声称身份
+     */
+    private static long voteKey(Player voter, Player candidate, int alive, MessageBus bus) {
+        if (voter.isWolf()) {
+            return LearningTable.key(WOLF_VOTE, claimedRole(voter.getKnowledge(), candidate), alive, 0);
+        }
+        int accusations = 0;
+        int vouches = 0;
+        int claimed = 0;
+        if (bus != null) {
+            for (long seq = bus.tail(); seq < bus.head(); seq++) {
+                MessageType type = bus.type(seq);
+                if (type == MessageType.ROLE_CLAIM && bus.speaker(seq) == candidate.getId()) {
+                    claimed = 1;
+                } else if (bus.target(seq) == candidate.getId()) {
+                    if (type == MessageType.ACCUSE) {
+                        accusations++;
+                    } else if (type == MessageType.VOUCH) {
+                        vouches++;
+                    }
+                }
+            }
+        }
+        return LearningTable.key(GOOD_VOTE, Math.min(accusations, 2) * 2 + Math.min(vouches, 1), alive, claimed);
+    }
+
+    /**
+     * 玩家公开声称的有技能好人身份：角色序号加一，未声称时为0
+     */
+    private static int claimedRole(Knowledge knowledge, Player player) {
+        for (Role role : ROLES) {
+            if (role.isHasSkill() && role.getCamp() == Camp.GOOD && knowledge.hasClaimed(player, role)) {
+                return role.ordinal() + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static int countAlive(List<Player> allPlayers) {
+        int alive = 0;
+        for (int i = 0; i < allPlayers.size(); i++) {
+            if (allPlayers.get(i).isAlive()) {
+                alive++;
+            }
+        }
+        return alive;
+    }
+
+    /**
+     * 缓存本局的一次决策，对局结束时写入学习表
+     */
+    private void remember(long key, Camp camp) {
+        if (decisionCount == decisionKeys.length) {
+            decisionKeys = Arrays.copyOf(decisionKeys, decisionCount * 2);
+            decisionCamps = Arrays.copyOf(decisionCamps, decisionCount * 2);
+        }
+        decisionKeys[decisionCount] = key;
+        decisionCamps[decisionCount] = camp;
+        decisionCount++;
+    }
+
+    @Override
+    public void startGame(List<Player> allPlayers) {
+        // 丢弃未正常结束的对局中的决策
+        decisionCount = 0;
+        fallback.startGame(allPlayers);
+    }
+
+    @Override
+    public void endGame(Camp winner) {
+        for (int i = 0; i < decisionCount; i++) {
+            table.record(decisionKeys[i], decisionCamps[i] == winner);
+        }
+        decisionCount = 0;
+    }
+
+    @Override
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+        fallback.setRandom(random);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public LearningTable getTable() {
+        return table;
+    }
+}
@@ -0,0 +1,190 @@
+package com.wolfgame.strategy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 跨局学习表类，按决策上下文的哈希值统计该决策的出现次数和所在阵营的获胜次数，供多个模拟线程共享
+ * 表大小固定，不随对局数增长；每个槽位用一个long打包（高32位为次数、低32位为胜利次数），一次原子加法即可完成一次更新。
+ * 表按线程分成若干条带，线程只写自己的条带，读取时对所有条带求和，因此并发写入几乎没有竞争；单个条带的单个槽位最多计数2^32-1次。
+ * 不同上下文哈希到同一槽位时计数会合并，是可以接受的近似
+ */
+public class LearningTable {
+    private static final int MAGIC = 0x57474C54;  // "WGLT"
+    private static final int VERSION = 1;
+    private static final int DEFAULT_BITS = 16;   // 默认槽位数为2^16
+    private static final long LOW_MASK = 0xFFFFFFFFL;
+    private static final LearningTable SHARED = new LearningTable(DEFAULT_BITS, defaultStripes());
+
+    private final int bits;              // 槽位数的二进制位数
+    private final int slots;             // 每个条带的槽位数
+    private final int stripes;           // 条带数，2的幂
+    private final AtomicLongArray counts; // 条带 × 槽位 的打包计数
+
+    /**
+     * 创建学习表
+     * @param bits 槽位数的二进制位数，槽位数为2^bits
+     * @param stripes 条带数，向上取整为2的幂
+     */
+    public LearningTable(int bits, int stripes) {
+        if (bits < 1 || bits > 24) {
+            throw new IllegalArgumentException("槽位位数必须在1到24之间：" + bits);
+        }
+        if (stripes < 1 || stripes > 1024) {
+            throw new IllegalArgumentException("条带数必须在1到1024之间：" + stripes);
+        }
+        this.bits = bits;
+        this.slots = 1 << bits;
+        int rounded = 1;
+        while (rounded < stripes) {
+            rounded <<= 1;
+        }
+        this.stripes = rounded;
+        this.counts = new AtomicLongArray(this.stripes * slots);
+    }
+
+    private static int defaultStripes() {
+        return Math.min(64, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * 获取进程内共享的学习表，由策略工厂创建的学习策略都使用这张表
+     */
+    public static LearningTable shared() {
+        return SHARED;
+    }
+
+    /**
+     * 把决策类型和三个离散特征混合为64位上下文键
+     */
+    public static long key(int decision, int a, int b, int c) {
+        long z = ((long) decision << 48) ^ ((long) (a & 0xFFFF) << 32) ^ ((long) (b & 0xFFFF) << 16) ^ (c & 0xFFFF);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private int slot(long key) {
+        return (int) (key >>> (Long.SIZE - bits));
+    }
+
+    /**
+     * 在调用线程的条带中记录一次决策及其结果
+     */
+    public void record(long key, boolean win) {
+        int stripe = (int) Thread.currentThread().threadId() & (stripes - 1);
+        counts.getAndAdd(stripe * slots + slot(key), win ? (1L << 32) | 1 : 1L << 32);
+    }
+
+    /**
+     * 决策的出现次数（所有条带之和）
+     */
+    public long visits(long key) {
+        int slot = slot(key);
+        long visits = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            visits += counts.get(stripe * slots + slot) >>> 32;
+        }
+        return visits;
+    }
+
+    /**
+     * 决策后所在阵营的胜率估计，用拉普拉斯平滑 (胜利次数+1)/(次数+2)，没有记录时为0.5
+     */
+    public double winRate(long key) {
+        int slot = slot(key);
+        long visits = 0;
+        long wins = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            long packed = counts.get(stripe * slots + slot);
+            visits += packed >>> 32;
+            wins += packed & LOW_MASK;
+        }
+        return (wins + 1.0) / (visits + 2.0);
+    }
+
+    /**
+     * 所有槽位的决策记录总数
+     */
+    public long getTotalVisits() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i) >>> 32;
+        }
+        return total;
+    }
+
+    /**
+     * 清空所有计数
+     */
+    public void clear() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    /**
+     * 导出快照：文件头为魔数、版本和槽位位数，之后按槽位顺序写入各条带求和后的次数和胜利次数
+     * 应在没有线程写入时调用，否则快照只是近似值
+     */
+    public void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(bits);
+            for (int slot = 0; slot < slots; slot++) {
+                long visits = 0;
+                long wins = 0;
+                for (int stripe = 0; stripe < stripes; stripe++) {
+                    long packed = counts.get(stripe * slots + slot);
+                    visits += packed >>> 32;
+                    wins += packed & LOW_MASK;
+                }
+                out.writeLong(visits);
+                out.writeLong(wins);
+            }
+        }
+    }
+
+    /**
+     * 载入快照，替换表中已有的计数；快照的槽位位数必须与本表一致
+     */
+    public void load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("不是学习表快照文件：" + file);
+            }
+            int fileBits = in.readInt();
+            if (fileBits != bits) {
+                throw new IOException("学习表快照的槽位位数为" + fileBits + "，与当前表的" + bits + "不一致");
+            }
+            clear();
+            for (int slot = 0; slot < slots; slot++) {
+                long visits = in.readLong();
+                long wins = in.readLong();
+                if (visits > LOW_MASK || wins > visits) {
+                    throw new IOException("学习表快照的计数超出范围：槽位" + slot);
+                }
+                counts.set(slot, visits << 32 | wins);
+            }
+        }
+    }
+
+    public int getSlotCount() {
+        return slots;
+    }
+
+    public int getStripeCount() {
+        return stripes;
+    }
+}
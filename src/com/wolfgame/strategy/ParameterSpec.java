@@ -0,0 +1,65 @@
+package com.wolfgame.strategy;
+
+import com.wolfgame.core.Role;
+
+/**
+ * 策略参数定义类，描述一个可调参数的键名、含义、作用角色、取值范围和默认值
+ */
+public final class ParameterSpec {
+    private final String key;          // 参数键名，用于配置字符串
+    private final String name;         // 参数含义
+    private final Role role;           // 参数影响其决策的角色
+    private final double min;          // 最小值
+    private final double max;          // 最大值
+    private final double defaultValue; // 默认值
+
+    /**
+     * 创建取值范围为[0, 1]的概率参数
+     */
+    public ParameterSpec(String key, String name, Role role, double defaultValue) {
+        this(key, name, role, 0, 1, defaultValue);
+    }
+
+    public ParameterSpec(String key, String name, Role role, double min, double max, double defaultValue) {
+        if (!(min <= defaultValue && defaultValue <= max)) {
+            throw new IllegalArgumentException("参数默认值超出范围：" + key);
+        }
+        this.key = key;
+        this.name = name;
+        this.role = role;
+        this.min = min;
+        this.max = max;
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * 把取值截断到参数范围内
+     */
+    public double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getDefaultValue() {
+        return defaultValue;
+    }
+}
@@ -0,0 +1,115 @@
+package com.wolfgame.strategy;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 策略参数向量类，按参数定义顺序保存一组参数取值
+ * 可以与形如 "killSkillBias=0.7,poisonRate=0.4" 的字符串互相转换，未出现的参数取默认值
+ */
+public final class ParameterVector {
+    private final List<ParameterSpec> specs; // 参数定义
+    private final double[] values;           // 参数取值
+
+    private ParameterVector(List<ParameterSpec> specs, double[] values) {
+        this.specs = specs;
+        this.values = values;
+    }
+
+    /**
+     * 创建取默认值的参数向量
+     */
+    public static ParameterVector defaults(List<ParameterSpec> specs) {
+        double[] values = new double[specs.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = specs.get(i).getDefaultValue();
+        }
+        return new ParameterVector(specs, values);
+    }
+
+    /**
+     * 解析参数字符串，超出范围或未知的参数抛出 {@link IllegalArgumentException}
+     */
+    public static ParameterVector parse(List<ParameterSpec> specs, String text) {
+        ParameterVector vector = defaults(specs);
+        if (text == null || text.isBlank()) {
+            return vector;
+        }
+        for (String token : text.split(",")) {
+            int eq = token.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("无效的策略参数：" + token);
+            }
+            String key = token.substring(0, eq).trim();
+            double value = Double.parseDouble(token.substring(eq + 1).trim());
+            int index = vector.indexOf(key);
+            ParameterSpec spec = specs.get(index);
+            if (!(value >= spec.getMin() && value <= spec.getMax())) {
+                throw new IllegalArgumentException("策略参数超出范围[" + spec.getMin() + ", " + spec.getMax() + "]：" + token);
+            }
+            vector.values[index] = value;
+        }
+        return vector;
+    }
+
+    /**
+     * 按键名查找参数序号，不存在时抛出 {@link IllegalArgumentException}
+     */
+    public int indexOf(String key) {
+        for (int i = 0; i < specs.size(); i++) {
+            if (specs.get(i).getKey().equalsIgnoreCase(key)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("未知的策略参数：" + key);
+    }
+
+    public double get(int index) {
+        return values[index];
+    }
+
+    /**
+     * 返回修改了一个参数的新向量，取值截断到参数范围内
+     */
+    public ParameterVector with(int index, double value) {
+        double[] copy = values.clone();
+        copy[index] = specs.get(index).clamp(value);
+        return new ParameterVector(specs, copy);
+    }
+
+    public List<ParameterSpec> getSpecs() {
+        return specs;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(specs.get(i).getKey()).append('=').append(values[i]);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ParameterVector other)) {
+            return false;
+        }
+        return specs.equals(other.specs) && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * specs.hashCode() + Arrays.hashCode(values);
+    }
+}
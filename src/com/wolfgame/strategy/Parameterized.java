@@ -0,0 +1,24 @@
+package com.wolfgame.strategy;
+
+import java.util.List;
+
+/**
+ * 可参数化策略接口，策略把决策中的常数暴露为参数向量，供配置和参数搜索调整
+ */
+public interface Parameterized {
+
+    /**
+     * 获取参数定义
+     */
+    List<ParameterSpec> getParameterSpecs();
+
+    /**
+     * 获取当前参数向量
+     */
+    ParameterVector getParameters();
+
+    /**
+     * 设置参数向量，参数定义必须与 {@link #getParameterSpecs()} 一致
+     */
+    void setParameters(ParameterVector parameters);
+}
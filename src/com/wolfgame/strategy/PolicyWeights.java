@@ -0,0 +1,175 @@
+package com.wolfgame.strategy;
+
+import com.wolfgame.core.Role;
+import com.wolfgame.stat.DecisionFeatures;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * 策略模型权重类，为每种决策类型保存一个小型评分网络（线性模型或单隐层ReLU网络），对候选的输入向量打分
+ * 输入向量见 {@link DecisionFeatures#INPUTS}。权重文件为小端序：魔数 "WGPW"、u16 版本、u16 输入维数、u16 隐层宽度（0为线性模型）、
+ * u16 决策类型数（6），之后按决策类型编码 1 到 6 依次为 float32 的 w1[隐层 × 输入]、b1[隐层]、w2[隐层，线性模型为输入]、b2。
+ * 载入后只读，可以在模拟线程之间共享；打分使用调用方提供的隐层数组，不分配对象
+ */
+public final class PolicyWeights {
+    private static final byte[] MAGIC = {'W', 'G', 'P', 'W'};
+    private static final int VERSION = 1;
+    private static final int DECISIONS = DecisionFeatures.VOTE;
+    private static volatile PolicyWeights shared = defaults();
+
+    private final int inputs;    // 输入维数
+    private final int hidden;    // 隐层宽度，0表示线性模型
+    private final float[] w1;    // 各决策类型的隐层权重，按 决策 × 隐层 × 输入 存放
+    private final float[] b1;    // 各决策类型的隐层偏置
+    private final float[] w2;    // 各决策类型的输出权重
+    private final float[] b2;    // 各决策类型的输出偏置
+
+    private PolicyWeights(int inputs, int hidden) {
+        this.inputs = inputs;
+        this.hidden = hidden;
+        this.w1 = new float[DECISIONS * hidden * inputs];
+        this.b1 = new float[DECISIONS * hidden];
+        this.w2 = new float[DECISIONS * (hidden > 0 ? hidden : inputs)];
+        this.b2 = new float[DECISIONS];
+    }
+
+    /**
+     * 获取进程内共享的模型，由策略工厂创建的模型策略都使用它；未载入权重文件时为 {@link #defaults()}
+     */
+    public static PolicyWeights shared() {
+        return shared;
+    }
+
+    /**
+     * 替换共享的模型，之后创建的模型策略使用新模型
+     */
+    public static void setShared(PolicyWeights weights) {
+        shared = weights;
+    }
+
+    /**
+     * 手工设置的默认线性模型：查验、投票、毒药和开枪倾向于得票多、投过自己的玩家，狼人倾向于击杀声称身份的玩家，
+     * 女巫在前几晚使用解药；供没有训练权重时使用，也是训练结果的基线
+     */
+    public static PolicyWeights defaults() {
+        int self = Role.values().length + 4;  // 候选是决策者自己，之后依次为得票、声称身份、投过候选、候选投过自己
+        int votes = self + 1;
+        int claimed = self + 2;
+        int myVote = self + 3;
+        int votedMe = self + 4;
+        int day = self - 4;
+        PolicyWeights weights = new PolicyWeights(DecisionFeatures.INPUTS, 0);
+        weights.setWeight(DecisionFeatures.KILL, claimed, 1f);
+        weights.setWeight(DecisionFeatures.KILL, votes, -0.5f);
+        weights.setWeight(DecisionFeatures.CHECK, votes, 0.5f);
+        weights.setWeight(DecisionFeatures.CHECK, claimed, 0.5f);
+        weights.setWeight(DecisionFeatures.CHECK, votedMe, 0.5f);
+        weights.setBias(DecisionFeatures.ANTIDOTE, 1f);
+        weights.setWeight(DecisionFeatures.ANTIDOTE, day, -5f);
+        weights.setWeight(DecisionFeatures.ANTIDOTE, claimed, 1f);
+        weights.setBias(DecisionFeatures.POISON, -0.5f);
+        weights.setWeight(DecisionFeatures.POISON, votes, 2f);
+        weights.setWeight(DecisionFeatures.POISON, votedMe, 1f);
+        weights.setBias(DecisionFeatures.GUN, -0.3f);
+        weights.setWeight(DecisionFeatures.GUN, votes, 2f);
+        weights.setWeight(DecisionFeatures.GUN, votedMe, 1f);
+        weights.setWeight(DecisionFeatures.VOTE, votes, 1f);
+        weights.setWeight(DecisionFeatures.VOTE, claimed, -1f);
+        weights.setWeight(DecisionFeatures.VOTE, myVote, 0.5f);
+        weights.setWeight(DecisionFeatures.VOTE, votedMe, 1f);
+        return weights;
+    }
+
+    private void setWeight(int decision, int input, float weight) {
+        w2[(decision - 1) * inputs + input] = weight;
+    }
+
+    private void setBias(int decision, float bias) {
+        b2[decision - 1] = bias;
+    }
+
+    /**
+     * 从权重文件载入模型，输入维数和决策类型数必须与当前特征编码一致
+     */
+    public static PolicyWeights load(Path file) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            in.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || in.getShort() != VERSION) {
+                throw new IOException("不是模型权重文件：" + file);
+            }
+            int inputs = in.getShort();
+            int hidden = in.getShort();
+            int decisions = in.getShort();
+            if (inputs != DecisionFeatures.INPUTS || decisions != DECISIONS) {
+                throw new IOException("模型权重的输入维数为" + inputs + "、决策类型数为" + decisions
+                        + "，与当前特征编码的" + DecisionFeatures.INPUTS + "、" + DECISIONS + "不一致");
+            }
+            if (hidden < 0 || hidden > 1024) {
+                throw new IOException("模型权重的隐层宽度超出范围：" + hidden);
+            }
+            PolicyWeights weights = new PolicyWeights(inputs, hidden);
+            int outputs = hidden > 0 ? hidden : inputs;
+            for (int d = 0; d < DECISIONS; d++) {
+                in.asFloatBuffer().get(weights.w1, d * hidden * inputs, hidden * inputs);
+                in.position(in.position() + 4 * hidden * inputs);
+                in.asFloatBuffer().get(weights.b1, d * hidden, hidden);
+                in.position(in.position() + 4 * hidden);
+                in.asFloatBuffer().get(weights.w2, d * outputs, outputs);
+                in.position(in.position() + 4 * outputs);
+                weights.b2[d] = in.getFloat();
+            }
+            if (in.hasRemaining()) {
+                throw new IOException("模型权重文件末尾有多余数据：" + file);
+            }
+            return weights;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("模型权重文件不完整：" + file, e);
+        }
+    }
+
+    /**
+     * 对一个候选的输入向量打分，分数越高越倾向于选择
+     * @param decision 决策类型编码（{@link DecisionFeatures#KILL} 等）
+     * @param x 输入向量
+     * @param h 隐层数组，长度不小于 {@link #getHidden()}
+     */
+    public float score(int decision, float[] x, float[] h) {
+        int d = decision - 1;
+        if (hidden == 0) {
+            float sum = b2[d];
+            int offset = d * inputs;
+            for (int i = 0; i < inputs; i++) {
+                sum += w2[offset + i] * x[i];
+            }
+            return sum;
+        }
+        for (int j = 0; j < hidden; j++) {
+            float sum = b1[d * hidden + j];
+            int offset = (d * hidden + j) * inputs;
+            for (int i = 0; i < inputs; i++) {
+                sum += w1[offset + i] * x[i];
+            }
+            h[j] = Math.max(sum, 0f);
+        }
+        float sum = b2[d];
+        for (int j = 0; j < hidden; j++) {
+            sum += w2[d * hidden + j] * h[j];
+        }
+        return sum;
+    }
+
+    public int getInputs() {
+        return inputs;
+    }
+
+    public int getHidden() {
+        return hidden;
+    }
+}
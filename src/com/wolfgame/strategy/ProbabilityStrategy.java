@@ -1,44 +1,55 @@
 package com.wolfgame.strategy;
 
+import com.wolfgame.core.Knowledge;
+import com.wolfgame.core.MessageBus;
+import com.wolfgame.core.MessageType;
 import com.wolfgame.core.Player;
 import com.wolfgame.core.Role;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * 概率策略类，根据概率分布选择行动，特别是预言家会根据可疑度概率选择查验对象
  */
-public class ProbabilityStrategy implements Strategy {
-    private final Random random = new Random();
+public class ProbabilityStrategy implements Strategy, Parameterized {
+    public static final List<ParameterSpec> PARAMETERS = List.of(
+            new ParameterSpec("killSkillBias", "狼人优先击杀神职的概率", Role.WOLF, 0.7),
+            new ParameterSpec("antidoteSelf", "女巫自己被刀时用解药的概率", Role.WITCH, 0.8),
+            new ParameterSpec("antidoteSkill", "神职被刀时用解药的概率", Role.WITCH, 0.6),
+            new ParameterSpec("antidoteVillager", "村民被刀时用解药的概率", Role.WITCH, 0.3),
+            new ParameterSpec("poisonRate", "女巫每晚用毒的概率", Role.WITCH, 0.4),
+            new ParameterSpec("gunRate", "猎人开枪的概率", Role.HUNTER, 0.8),
+            new ParameterSpec("claimRate", "预言家跳身份公布查验的概率", Role.PROPHET, 0.6));
+    private static final int KILL_SKILL_BIAS = 0;
+    private static final int ANTIDOTE_SELF = 1;
+    private static final int ANTIDOTE_SKILL = 2;
+    private static final int ANTIDOTE_VILLAGER = 3;
+    private static final int POISON_RATE = 4;
+    private static final int GUN_RATE = 5;
+    private static final int CLAIM_RATE = 6;
+    
+    private RandomGenerator random = new Random();
+    private ParameterVector parameters = ParameterVector.defaults(PARAMETERS); // 决策参数
     private final String name = "概率策略";
-    // 存储每个玩家的可疑度，值越高越可疑
-    private final Map<Player, Double> suspicionLevel = new HashMap<>();
+    // 按座位存储每个玩家的可疑度（下标为座位号-1），值越高越可疑，每局开始时重置为1.0
+    private double[] suspicionLevel = new double[0];
+    private Player lastCheckTarget; // 预言家最近一次查验的玩家
     
     @Override
     public Player chooseKillTarget(List<Player> wolves, List<Player> allPlayers) {
-        // 狼人根据概率选择目标，优先攻击有技能的好人
-        List<Player> skillRoles = allPlayers.stream()
-                .filter(p -> !p.isWolf() && p.isAlive() && p.getRole().isHasSkill())
-                .toList();
-        
-        if (!skillRoles.isEmpty()) {
-            // 70%概率攻击有技能的角色
-            if (random.nextDouble() < 0.7) {
-                return skillRoles.get(random.nextInt(skillRoles.size()));
+        // 狼人根据概率选择目标，优先攻击公开声称有技能身份的好人
+        Knowledge knowledge = wolves.getFirst().getKnowledge();
+        if (countTargets(allPlayers, null, knowledge, true) > 0) {
+            // 以killSkillBias（默认70%）的概率攻击有技能的角色
+            if (random.nextDouble() < parameters.get(KILL_SKILL_BIAS)) {
+                return pickAlive(allPlayers, null, knowledge, true);
             }
         }
         
-        // 30%概率攻击普通村民
-        List<Player> villagers = allPlayers.stream()
-                .filter(p -> !p.isWolf() && p.isAlive() && p.getRole() == Role.VILLAGER)
-                .toList();
-        if (!villagers.isEmpty()) {
-            return villagers.get(random.nextInt(villagers.size()));
-        }
-        
-        return null;
+        // 否则攻击其他好人
+        return pickAlive(allPlayers, null, knowledge, false);
     }
     
     @Override
@@ -46,46 +57,52 @@ public class ProbabilityStrategy implements Strategy {
         // 预言家根据可疑度概率选择查验对象
         initializeSuspicionLevel(allPlayers);
         
-        List<Player> targets = allPlayers.stream()
-                .filter(p -> !p.equals(prophet) && p.isAlive())
-                .toList();
-        
-        if (targets.isEmpty()) {
+        if (countTargets(allPlayers, prophet, null, false) == 0) {
             return null;
         }
         
         // 计算总可疑度
-        double totalSuspicion = targets.stream()
-                .mapToDouble(p -> suspicionLevel.getOrDefault(p, 1.0))
-                .sum();
+        double totalSuspicion = 0;
+        for (int i = 0; i < allPlayers.size(); i++) {
+            Player target = allPlayers.get(i);
+            if (isTarget(target, prophet, null, false)) {
+                totalSuspicion += suspicionLevel[target.getId() - 1];
+            }
+        }
         
         // 根据可疑度概率选择目标
         double randomValue = random.nextDouble() * totalSuspicion;
         double currentSum = 0;
         
-        for (Player target : targets) {
-            currentSum += suspicionLevel.getOrDefault(target, 1.0);
+        for (int i = 0; i < allPlayers.size(); i++) {
+            Player target = allPlayers.get(i);
+            if (!isTarget(target, prophet, null, false)) {
+                continue;
+            }
+            currentSum += suspicionLevel[target.getId() - 1];
             if (randomValue <= currentSum) {
                 // 增加被查验玩家的可疑度
-                suspicionLevel.put(target, suspicionLevel.getOrDefault(target, 1.0) + 0.5);
+                suspicionLevel[target.getId() - 1] += 0.5;
+                lastCheckTarget = target;
                 return target;
             }
         }
         
         // 如果有问题，返回随机目标
-        return targets.get(random.nextInt(targets.size()));
+        lastCheckTarget = pickAlive(allPlayers, prophet, null, false);
+        return lastCheckTarget;
     }
     
     @Override
     public boolean useAntidote(Player witch, Player victim, List<Player> allPlayers) {
-        // 80%概率救自己，60%概率救有技能的好人，30%概率救村民
+        // 默认80%概率救自己，60%概率救声称有技能身份的玩家，30%概率救其他玩家
         if (victim != null && victim.isAlive()) {
             if (victim.equals(witch)) {
-                return random.nextDouble() < 0.8;
-            } else if (victim.getRole().isHasSkill()) {
-                return random.nextDouble() < 0.6;
+                return random.nextDouble() < parameters.get(ANTIDOTE_SELF);
+            } else if (witch.getKnowledge().hasClaimedSkill(victim)) {
+                return random.nextDouble() < parameters.get(ANTIDOTE_SKILL);
             } else {
-                return random.nextDouble() < 0.3;
+                return random.nextDouble() < parameters.get(ANTIDOTE_VILLAGER);
             }
         }
         return false;
@@ -93,69 +110,88 @@ public class ProbabilityStrategy implements Strategy {
     
     @Override
     public Player usePoison(Player witch, List<Player> allPlayers) {
-        // 40%概率使用毒药，并优先毒杀可疑度高的玩家
-        if (random.nextDouble() < 0.4) {
+        // 以poisonRate（默认40%）的概率使用毒药，并优先毒杀可疑度高的玩家
+        if (random.nextDouble() < parameters.get(POISON_RATE)) {
             initializeSuspicionLevel(allPlayers);
             
-            List<Player> targets = allPlayers.stream()
-                    .filter(p -> !p.equals(witch) && p.isAlive())
-                    .toList();
-            
-            if (targets.isEmpty()) {
-                return null;
-            }
-            
             // 选择可疑度最高的玩家
-            Player mostSuspicious = targets.get(0);
-            double maxSuspicion = suspicionLevel.getOrDefault(mostSuspicious, 1.0);
-            
-            for (Player target : targets) {
-                double suspicion = suspicionLevel.getOrDefault(target, 1.0);
-                if (suspicion > maxSuspicion) {
-                    maxSuspicion = suspicion;
-                    mostSuspicious = target;
-                }
-            }
-            
-            return mostSuspicious;
+            return mostSuspicious(allPlayers, witch);
         }
         return null;
     }
     
     @Override
     public Player useGun(Player hunter, boolean isPoisoned, List<Player> allPlayers) {
-        // 如果不是被毒死，80%概率开枪，并优先带走可疑度高的玩家
-        if (!isPoisoned && random.nextDouble() < 0.8) {
+        // 如果不是被毒死，以gunRate（默认80%）的概率开枪，并优先带走可疑度高的玩家
+        if (!isPoisoned && random.nextDouble() < parameters.get(GUN_RATE)) {
             initializeSuspicionLevel(allPlayers);
             
-            List<Player> targets = allPlayers.stream()
-                    .filter(p -> !p.equals(hunter) && p.isAlive())
-                    .toList();
-            
-            if (targets.isEmpty()) {
-                return null;
-            }
-            
             // 选择可疑度最高的玩家
-            Player mostSuspicious = targets.get(0);
-            double maxSuspicion = suspicionLevel.getOrDefault(mostSuspicious, 1.0);
-            
-            for (Player target : targets) {
-                double suspicion = suspicionLevel.getOrDefault(target, 1.0);
-                if (suspicion > maxSuspicion) {
-                    maxSuspicion = suspicion;
-                    mostSuspicious = target;
-                }
-            }
-            
-            return mostSuspicious;
+            return mostSuspicious(allPlayers, hunter);
         }
         return null;
     }
     
     @Override
     public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers) {
-        // 根据可疑度概率投票
+        return weightedVote(voter, candidates, allPlayers, null);
+    }
+    
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers, MessageBus bus) {
+        return weightedVote(voter, candidates, allPlayers, bus);
+    }
+    
+    @Override
+    public void speak(Player speaker, List<Player> alivePlayers, List<Player> allPlayers, MessageBus bus) {
+        // 预言家以claimRate（默认60%）的概率跳身份并公布最近一次查验结果
+        if (speaker.getRole() == Role.PROPHET && lastCheckTarget != null
+                && allPlayers.contains(lastCheckTarget) && random.nextDouble() < parameters.get(CLAIM_RATE)) {
+            bus.publish(speaker, MessageType.ROLE_CLAIM, null, Role.PROPHET);
+            bus.publish(speaker, speaker.getKnowledge().isKnownWolf(lastCheckTarget) ? MessageType.ACCUSE : MessageType.VOUCH,
+                    lastCheckTarget, null);
+        }
+    }
+    
+    @Override
+    public void startGame(List<Player> allPlayers) {
+        lastCheckTarget = null;
+        initializeSuspicionLevel(allPlayers);
+        Arrays.fill(suspicionLevel, 1.0);
+    }
+    
+    @Override
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+    
+    @Override
+    public List<ParameterSpec> getParameterSpecs() {
+        return PARAMETERS;
+    }
+    
+    @Override
+    public ParameterVector getParameters() {
+        return parameters;
+    }
+    
+    @Override
+    public void setParameters(ParameterVector parameters) {
+        if (!parameters.getSpecs().equals(PARAMETERS)) {
+            throw new IllegalArgumentException("参数定义与概率策略不一致");
+        }
+        this.parameters = parameters;
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * 根据可疑度概率投票，每条公开的狼人指认使目标可疑度加1.0，每条好人担保使目标可疑度减半
+     */
+    private Player weightedVote(Player voter, List<Player> candidates, List<Player> allPlayers, MessageBus bus) {
         initializeSuspicionLevel(allPlayers);
         
         if (candidates.isEmpty()) {
@@ -163,49 +199,142 @@ public class ProbabilityStrategy implements Strategy {
         }
         
         // 狼人优先投好人，好人优先投可疑度高的玩家
-        List<Player> filteredCandidates = candidates;
-        if (voter.isWolf()) {
-            filteredCandidates = candidates.stream()
-                    .filter(p -> !p.isWolf() && p.isAlive())
-                    .toList();
+        Knowledge knowledge = voter.isWolf() ? voter.getKnowledge() : null;
+        int count = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            if (isVoteCandidate(candidates.get(i), knowledge)) {
+                count++;
+            }
         }
         
-        if (filteredCandidates.isEmpty()) {
+        if (count == 0) {
             return candidates.get(random.nextInt(candidates.size()));
         }
         
         // 计算总可疑度
-        double totalSuspicion = filteredCandidates.stream()
-                .mapToDouble(p -> suspicionLevel.getOrDefault(p, 1.0))
-                .sum();
+        double totalSuspicion = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            Player candidate = candidates.get(i);
+            if (isVoteCandidate(candidate, knowledge)) {
+                totalSuspicion += voteWeight(candidate, bus);
+            }
+        }
         
         // 根据可疑度概率选择目标
         double randomValue = random.nextDouble() * totalSuspicion;
         double currentSum = 0;
         
-        for (Player candidate : filteredCandidates) {
-            currentSum += suspicionLevel.getOrDefault(candidate, 1.0);
+        for (int i = 0; i < candidates.size(); i++) {
+            Player candidate = candidates.get(i);
+            if (!isVoteCandidate(candidate, knowledge)) {
+                continue;
+            }
+            currentSum += voteWeight(candidate, bus);
             if (randomValue <= currentSum) {
                 return candidate;
             }
         }
         
-        return filteredCandidates.get(random.nextInt(filteredCandidates.size()));
+        int index = random.nextInt(count);
+        for (int i = 0; i < candidates.size(); i++) {
+            Player candidate = candidates.get(i);
+            if (isVoteCandidate(candidate, knowledge) && index-- == 0) {
+                return candidate;
+            }
+        }
+        return null;
     }
     
-    @Override
-    public String getName() {
-        return name;
+    /**
+     * 计算候选玩家的投票权重
+     */
+    private double voteWeight(Player candidate, MessageBus bus) {
+        double weight = suspicionLevel[candidate.getId() - 1];
+        if (bus == null) {
+            return weight;
+        }
+        for (long seq = bus.tail(); seq < bus.head(); seq++) {
+            if (bus.target(seq) != candidate.getId()) {
+                continue;
+            }
+            if (bus.type(seq) == MessageType.ACCUSE) {
+                weight += 1.0;
+            } else if (bus.type(seq) == MessageType.VOUCH) {
+                weight *= 0.5;
+            }
+        }
+        return weight;
     }
     
     /**
-     * 初始化所有玩家的可疑度
+     * 投票候选过滤：knowledge 不为null（狼人投票）时只保留存活且不是确知狼人的候选
      */
-    private void initializeSuspicionLevel(List<Player> allPlayers) {
-        for (Player player : allPlayers) {
-            if (!suspicionLevel.containsKey(player)) {
-                suspicionLevel.put(player, 1.0); // 初始可疑度为1.0
+    private static boolean isVoteCandidate(Player candidate, Knowledge knowledge) {
+        return knowledge == null || (!knowledge.isKnownWolf(candidate) && candidate.isAlive());
+    }
+    
+    /**
+     * 选择除 self 以外可疑度最高的存活玩家，同分时取座位靠前的，不存在时返回null
+     */
+    private Player mostSuspicious(List<Player> allPlayers, Player self) {
+        Player mostSuspicious = null;
+        double maxSuspicion = 0;
+        for (int i = 0; i < allPlayers.size(); i++) {
+            Player target = allPlayers.get(i);
+            if (!isTarget(target, self, null, false)) {
+                continue;
+            }
+            double suspicion = suspicionLevel[target.getId() - 1];
+            if (mostSuspicious == null || suspicion > maxSuspicion) {
+                maxSuspicion = suspicion;
+                mostSuspicious = target;
+            }
+        }
+        return mostSuspicious;
+    }
+    
+    /**
+     * 在存活玩家中等概率随机选择一个目标（排除指定玩家，knowledge 不为null时排除其中确知的狼人，
+     * claimedOnly 时只选声称过技能身份的玩家），不存在时返回null；先计数再按序号定位，不分配中间列表
+     */
+    private Player pickAlive(List<Player> players, Player excluded, Knowledge knowledge, boolean claimedOnly) {
+        int count = countTargets(players, excluded, knowledge, claimedOnly);
+        if (count == 0) {
+            return null;
+        }
+        int index = random.nextInt(count);
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            if (isTarget(p, excluded, knowledge, claimedOnly) && index-- == 0) {
+                return p;
+            }
+        }
+        return null;
+    }
+    
+    private static int countTargets(List<Player> players, Player excluded, Knowledge knowledge, boolean claimedOnly) {
+        int count = 0;
+        for (int i = 0; i < players.size(); i++) {
+            if (isTarget(players.get(i), excluded, knowledge, claimedOnly)) {
+                count++;
             }
         }
+        return count;
+    }
+    
+    private static boolean isTarget(Player p, Player excluded, Knowledge knowledge, boolean claimedOnly) {
+        return p.isAlive() && !p.equals(excluded) && !(knowledge != null && knowledge.isKnownWolf(p))
+                && !(claimedOnly && !knowledge.hasClaimedSkill(p));
+    }
+    
+    /**
+     * 确保可疑度数组覆盖所有座位，新增座位的初始可疑度为1.0
+     */
+    private void initializeSuspicionLevel(List<Player> allPlayers) {
+        if (suspicionLevel.length < allPlayers.size()) {
+            int old = suspicionLevel.length;
+            suspicionLevel = Arrays.copyOf(suspicionLevel, allPlayers.size());
+            Arrays.fill(suspicionLevel, old, suspicionLevel.length, 1.0); // 初始可疑度为1.0
+        }
     }
 }
\ No newline at end of file
@@ -1,38 +1,28 @@
 package com.wolfgame.strategy;
 
+import com.wolfgame.core.Knowledge;
 import com.wolfgame.core.Player;
 import java.util.List;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * 随机策略类，随机选择目标或行动，不考虑任何游戏状态
  */
 public class RandomStrategy implements Strategy {
-    private final Random random = new Random();
+    private RandomGenerator random = new Random();
     private final String name = "随机策略";
     
     @Override
     public Player chooseKillTarget(List<Player> wolves, List<Player> allPlayers) {
-        // 随机选择一个非狼人且存活的玩家
-        List<Player> targets = allPlayers.stream()
-                .filter(p -> !p.isWolf() && p.isAlive())
-                .toList();
-        if (targets.isEmpty()) {
-            return null;
-        }
-        return targets.get(random.nextInt(targets.size()));
+        // 随机选择一个非狼人且存活的玩家（狼人知道所有同伴）
+        return pickAlive(allPlayers, null, wolves.getFirst().getKnowledge());
     }
     
     @Override
     public Player chooseCheckTarget(Player prophet, List<Player> allPlayers) {
         // 随机选择一个非预言家且存活的玩家
-        List<Player> targets = allPlayers.stream()
-                .filter(p -> !p.equals(prophet) && p.isAlive())
-                .toList();
-        if (targets.isEmpty()) {
-            return null;
-        }
-        return targets.get(random.nextInt(targets.size()));
+        return pickAlive(allPlayers, prophet, null);
     }
     
     @Override
@@ -46,13 +36,7 @@ public class RandomStrategy implements Strategy {
         // 50%的概率使用毒药
         if (random.nextDouble() < 0.5) {
             // 随机选择一个非女巫且存活的玩家
-            List<Player> targets = allPlayers.stream()
-                    .filter(p -> !p.equals(witch) && p.isAlive())
-                    .toList();
-            if (targets.isEmpty()) {
-                return null;
-            }
-            return targets.get(random.nextInt(targets.size()));
+            return pickAlive(allPlayers, witch, null);
         }
         return null;
     }
@@ -62,13 +46,7 @@ public class RandomStrategy implements Strategy {
         // 如果不是被毒死，有50%的概率开枪
         if (!isPoisoned && random.nextDouble() < 0.5) {
             // 随机选择一个非猎人且存活的玩家
-            List<Player> targets = allPlayers.stream()
-                    .filter(p -> !p.equals(hunter) && p.isAlive())
-                    .toList();
-            if (targets.isEmpty()) {
-                return null;
-            }
-            return targets.get(random.nextInt(targets.size()));
+            return pickAlive(allPlayers, hunter, null);
         }
         return null;
     }
@@ -82,6 +60,40 @@ public class RandomStrategy implements Strategy {
         return candidates.get(random.nextInt(candidates.size()));
     }
     
+    /**
+     * 在存活玩家中等概率随机选择一个目标（排除指定玩家，knowledge 不为null时排除其中确知的狼人），不存在时返回null
+     * 先计数再按序号定位，不分配中间列表
+     */
+    private Player pickAlive(List<Player> allPlayers, Player excluded, Knowledge knowledge) {
+        int count = 0;
+        for (int i = 0; i < allPlayers.size(); i++) {
+            Player p = allPlayers.get(i);
+            if (isTarget(p, excluded, knowledge)) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        int index = random.nextInt(count);
+        for (int i = 0; i < allPlayers.size(); i++) {
+            Player p = allPlayers.get(i);
+            if (isTarget(p, excluded, knowledge) && index-- == 0) {
+                return p;
+            }
+        }
+        return null;
+    }
+    
+    private static boolean isTarget(Player p, Player excluded, Knowledge knowledge) {
+        return p.isAlive() && !p.equals(excluded) && !(knowledge != null && knowledge.isKnownWolf(p));
+    }
+    
+    @Override
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+    
     @Override
     public String getName() {
         return name;
@@ -1,10 +1,16 @@
 package com.wolfgame.strategy;
 
+import com.wolfgame.core.Camp;
+import com.wolfgame.core.DecisionBudget;
+import com.wolfgame.core.MessageBus;
 import com.wolfgame.core.Player;
+import com.wolfgame.core.TableConfig;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 /**
  * 策略接口，定义AI决策方法
+ * 实现应只通过决策玩家自己的 {@link Player#getKnowledge()} 了解其他玩家的身份，不直接读取其他玩家的角色
  */
 public interface Strategy {
     /**
@@ -58,6 +64,63 @@ public interface Strategy {
      */
     Player vote(Player voter, List<Player> candidates, List<Player> allPlayers);
     
+    /**
+     * 玩家读取白天公开消息后选择投票目标，默认忽略公开消息
+     * @param voter 投票玩家
+     * @param candidates 候选玩家列表（存活玩家）
+     * @param allPlayers 所有玩家列表
+     * @param bus 本局公开消息总线
+     * @return 投票目标玩家
+     */
+    default Player vote(Player voter, List<Player> candidates, List<Player> allPlayers, MessageBus bus) {
+        return vote(voter, candidates, allPlayers);
+    }
+    
+    /**
+     * 玩家白天发言，将声称身份、指认等消息发布到消息总线，默认不发言
+     * @param speaker 发言玩家
+     * @param alivePlayers 存活玩家列表
+     * @param allPlayers 所有玩家列表
+     * @param bus 本局公开消息总线
+     */
+    default void speak(Player speaker, List<Player> alivePlayers, List<Player> allPlayers, MessageBus bus) {
+    }
+    
+    /**
+     * 每局开始时调用（角色已分配），策略可以在此清理上一局的状态；同一个玩家对象可能在多局之间复用
+     * @param allPlayers 所有玩家列表
+     */
+    default void startGame(List<Player> allPlayers) {
+    }
+    
+    /**
+     * 每局结束时调用，策略可以在此根据胜负更新跨局学习的状态
+     * @param winner 胜利阵营
+     */
+    default void endGame(Camp winner) {
+    }
+    
+    /**
+     * 设置策略使用的随机数流，游戏在每局开始时为每个策略实例分配独立的子流，默认忽略
+     * @param random 随机数生成器
+     */
+    default void setRandom(RandomGenerator random) {
+    }
+    
+    /**
+     * 设置决策预算，游戏创建时调用一次；计算量大的策略可以在 {@link DecisionBudget#isExpired()} 之前逐步改进答案，默认忽略
+     * @param budget 游戏的决策预算，每次决策开始时重新计时
+     */
+    default void setBudget(DecisionBudget budget) {
+    }
+    
+    /**
+     * 设置对局阵容，游戏创建时调用一次；阵容是公开信息，策略可以据此预先分配只取决于阵容的状态，默认忽略
+     * @param table 游戏的对局阵容配置
+     */
+    default void setTable(TableConfig table) {
+    }
+    
     /**
      * 获取策略名称
      */
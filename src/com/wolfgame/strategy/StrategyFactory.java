@@ -0,0 +1,84 @@
+package com.wolfgame.strategy;
+
+import com.wolfgame.core.Role;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 策略工厂类，按名称创建策略实例
+ * 策略对象带有随机数生成器和对局内状态，不能在线程间共享，每个模拟线程需要创建自己的实例
+ */
+public final class StrategyFactory {
+    private static final Map<String, Supplier<Strategy>> REGISTRY = new LinkedHashMap<>();
+
+    static {
+        register("Random", RandomStrategy::new);
+        register("BasicLogic", BasicLogicStrategy::new);
+        register("Probability", ProbabilityStrategy::new);
+        register("Bayesian", BayesianStrategy::new);
+        register("Learning", LearningStrategy::new);
+        register("LearnedPolicy", LearnedPolicyStrategy::new);
+    }
+
+    private StrategyFactory() {
+    }
+
+    /**
+     * 注册新的策略，名称不区分大小写
+     */
+    public static synchronized void register(String name, Supplier<Strategy> supplier) {
+        REGISTRY.put(name, supplier);
+    }
+
+    /**
+     * 获取所有已注册的策略名称
+     */
+    public static synchronized Set<String> names() {
+        return Collections.unmodifiableSet(REGISTRY.keySet());
+    }
+
+    /**
+     * 按名称创建策略实例，名称后可用冒号附带参数，如 "Probability:poisonRate=0.5,gunRate=0.9"
+     */
+    public static synchronized Strategy create(String name) {
+        int colon = name.indexOf(':');
+        String baseName = colon >= 0 ? name.substring(0, colon) : name;
+        for (Map.Entry<String, Supplier<Strategy>> entry : REGISTRY.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(baseName)) {
+                Strategy strategy = entry.getValue().get();
+                if (colon >= 0) {
+                    if (!(strategy instanceof Parameterized parameterized)) {
+                        throw new IllegalArgumentException("策略不支持参数：" + baseName);
+                    }
+                    parameterized.setParameters(
+                            ParameterVector.parse(parameterized.getParameterSpecs(), name.substring(colon + 1)));
+                }
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("未知的策略：" + baseName + "，可选策略：" + REGISTRY.keySet());
+    }
+    
+    /**
+     * 获取策略的参数定义，策略不可参数化时返回空列表
+     */
+    public static List<ParameterSpec> parameterSpecs(String name) {
+        return create(name) instanceof Parameterized parameterized ? parameterized.getParameterSpecs() : List.of();
+    }
+
+    /**
+     * 按角色到策略名称的映射创建一组新的策略实例
+     */
+    public static Map<Role, Strategy> createAll(Map<Role, String> strategyNames) {
+        Map<Role, Strategy> strategies = new HashMap<>();
+        for (Map.Entry<Role, String> entry : strategyNames.entrySet()) {
+            strategies.put(entry.getKey(), create(entry.getValue()));
+        }
+        return strategies;
+    }
+}
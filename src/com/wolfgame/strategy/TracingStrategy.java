@@ -0,0 +1,151 @@
+package com.wolfgame.strategy;
+
+import com.wolfgame.core.Camp;
+import com.wolfgame.core.DecisionBudget;
+import com.wolfgame.core.MessageBus;
+import com.wolfgame.core.Player;
+import com.wolfgame.core.Role;
+import com.wolfgame.core.TableConfig;
+import com.wolfgame.stat.DecisionFeatures;
+import com.wolfgame.stat.DecisionTraceWriter;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * 决策轨迹装饰器，包装任意策略，把每次决策的特征和被包装策略的选择写入 {@link DecisionTraceWriter}
+ * 特征只取自策略自己收到的参数：消息总线是最近一次发言或投票时收到的总线，女巫药剂由本装饰器根据女巫自己的选择跟踪，
+ * 因此与在线决策时策略能看到的信息一致。记录的是策略的原始选择，超过决策硬上限后被引擎放弃的选择同样记录。
+ * 白天发言只发布消息、没有单一的行动目标，不记录
+ */
+public class TracingStrategy implements Strategy {
+    private final Strategy delegate;            // 被包装的策略
+    private final DecisionTraceWriter writer;   // 决策轨迹写入器
+    private MessageBus bus;                     // 最近看到的公开消息总线，首个白天之前为null
+    private boolean antidoteUsed;               // 本局女巫是否已经选择使用解药
+    private boolean poisonUsed;                 // 本局女巫是否已经选择使用毒药
+
+    public TracingStrategy(Strategy delegate, DecisionTraceWriter writer) {
+        this.delegate = delegate;
+        this.writer = writer;
+    }
+
+    /**
+     * 包装一组角色策略，多个角色共享的策略实例只包装一次，保持共享关系
+     */
+    public static Map<Role, Strategy> traceAll(Map<Role, Strategy> strategies, DecisionTraceWriter writer) {
+        Map<Strategy, Strategy> wrapped = new IdentityHashMap<>();
+        Map<Role, Strategy> result = new HashMap<>();
+        for (Map.Entry<Role, Strategy> entry : strategies.entrySet()) {
+            result.put(entry.getKey(), wrapped.computeIfAbsent(entry.getValue(), s -> new TracingStrategy(s, writer)));
+        }
+        return result;
+    }
+
+    private static int seatOf(Player target) {
+        return target != null ? target.getId() : 0;
+    }
+
+    private int potions() {
+        return (antidoteUsed ? 0 : 1) | (poisonUsed ? 0 : 2);
+    }
+
+    @Override
+    public Player chooseKillTarget(List<Player> wolves, List<Player> allPlayers) {
+        Player target = delegate.chooseKillTarget(wolves, allPlayers);
+        writer.record(wolves.get(0), DecisionFeatures.KILL, seatOf(target), 0, allPlayers, bus);
+        return target;
+    }
+
+    @Override
+    public Player chooseCheckTarget(Player prophet, List<Player> allPlayers) {
+        Player target = delegate.chooseCheckTarget(prophet, allPlayers);
+        writer.record(prophet, DecisionFeatures.CHECK, seatOf(target), 0, allPlayers, bus);
+        return target;
+    }
+
+    @Override
+    public boolean useAntidote(Player witch, Player victim, List<Player> allPlayers) {
+        boolean use = delegate.useAntidote(witch, victim, allPlayers);
+        writer.record(witch, DecisionFeatures.ANTIDOTE, use ? 1 : 0, potions(), allPlayers, bus);
+        antidoteUsed |= use;
+        return use;
+    }
+
+    @Override
+    public Player usePoison(Player witch, List<Player> allPlayers) {
+        Player target = delegate.usePoison(witch, allPlayers);
+        writer.record(witch, DecisionFeatures.POISON, seatOf(target), potions(), allPlayers, bus);
+        poisonUsed |= target != null;
+        return target;
+    }
+
+    @Override
+    public Player useGun(Player hunter, boolean isPoisoned, List<Player> allPlayers) {
+        Player target = delegate.useGun(hunter, isPoisoned, allPlayers);
+        writer.record(hunter, DecisionFeatures.GUN, seatOf(target), 0, allPlayers, bus);
+        return target;
+    }
+
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers) {
+        Player target = delegate.vote(voter, candidates, allPlayers);
+        writer.record(voter, DecisionFeatures.VOTE, seatOf(target), 0, allPlayers, bus);
+        return target;
+    }
+
+    @Override
+    public Player vote(Player voter, List<Player> candidates, List<Player> allPlayers, MessageBus bus) {
+        this.bus = bus;
+        Player target = delegate.vote(voter, candidates, allPlayers, bus);
+        writer.record(voter, DecisionFeatures.VOTE, seatOf(target), 0, allPlayers, bus);
+        return target;
+    }
+
+    @Override
+    public void speak(Player speaker, List<Player> alivePlayers, List<Player> allPlayers, MessageBus bus) {
+        this.bus = bus;
+        delegate.speak(speaker, alivePlayers, allPlayers, bus);
+    }
+
+    @Override
+    public void startGame(List<Player> allPlayers) {
+        bus = null;
+        antidoteUsed = false;
+        poisonUsed = false;
+        writer.startGame();
+        delegate.startGame(allPlayers);
+    }
+
+    @Override
+    public void endGame(Camp winner) {
+        delegate.endGame(winner);
+        writer.endGame(winner);
+    }
+
+    @Override
+    public void setRandom(RandomGenerator random) {
+        delegate.setRandom(random);
+    }
+
+    @Override
+    public void setBudget(DecisionBudget budget) {
+        delegate.setBudget(budget);
+    }
+
+    @Override
+    public void setTable(TableConfig table) {
+        delegate.setTable(table);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    public Strategy getDelegate() {
+        return delegate;
+    }
+}
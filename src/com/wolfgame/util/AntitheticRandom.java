@@ -0,0 +1,62 @@
+package com.wolfgame.util;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 对偶随机数生成器，包装另一个生成器并输出其镜像值：均匀小数 u 变为 1-u，区间整数 x 变为 bound-1-x，布尔值取反
+ * 用同一条底层随机数流分别按原值和镜像值运行一局游戏，两局结果负相关，取平均可以降低估计方差
+ */
+public final class AntitheticRandom implements RandomGenerator {
+    private RandomGenerator source; // 底层生成器
+
+    public AntitheticRandom(RandomGenerator source) {
+        this.source = source;
+    }
+
+    @Override
+    public long nextLong() {
+        return ~source.nextLong();
+    }
+
+    @Override
+    public int nextInt() {
+        return ~source.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return bound - 1 - source.nextInt(bound);
+    }
+
+    @Override
+    public int nextInt(int origin, int bound) {
+        return origin + bound - 1 - source.nextInt(origin, bound);
+    }
+
+    @Override
+    public double nextDouble() {
+        double u = 1.0 - source.nextDouble();
+        return u < 1.0 ? u : Math.nextDown(1.0);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return !source.nextBoolean();
+    }
+
+    @Override
+    public double nextGaussian() {
+        return -source.nextGaussian();
+    }
+
+    public RandomGenerator getSource() {
+        return source;
+    }
+
+    /**
+     * 替换底层生成器，复用包装对象
+     */
+    public void setSource(RandomGenerator source) {
+        this.source = source;
+    }
+}
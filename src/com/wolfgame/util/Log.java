@@ -1,10 +1,10 @@
 package com.wolfgame.util;
 
-import com.wolfgame.core.Camp;
+import com.wolfgame.core.Game;
+import com.wolfgame.core.GameEventListener;
+import com.wolfgame.core.MessageType;
 import com.wolfgame.core.Player;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
+import com.wolfgame.core.Role;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -12,29 +12,33 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * 日志类，负责记录游戏过程和结果
+ * 日志类，负责记录游戏过程和结果，作为游戏事件监听器注册到 {@link Game}
+ * 每局开始时清空日志内容，同一个实例可以随 {@link Game#reset(int)} 复用于多局；每局结束时日志追加到 {@link LogArchive}
  */
-public class Log {
-    private final int gameId;           // 游戏ID
+public class Log implements GameEventListener {
+    private int gameId;                 // 游戏ID
+    private final LogArchive archive;   // 日志归档
     private final StringBuilder logContent; // 日志内容
     private final SimpleDateFormat dateFormat; // 日期格式化
     
-    public Log(int gameId) {
-        this.gameId = gameId;
+    public Log(LogArchive archive) {
+        this.archive = archive;
         this.logContent = new StringBuilder();
         this.dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        
-        // 记录日志开始时间
-        logContent.append("=== 狼人杀游戏 #").append(gameId).append(" 日志 ===\n");
-        logContent.append("开始时间: ").append(dateFormat.format(new Date())).append("\n\n");
     }
     
     /**
-     * 记录角色分配信息
+     * 记录日志开始时间和角色分配信息
      */
-    public void logRoleAssignment(List<Player> players) {
+    @Override
+    public void onGameStart(Game game) {
+        gameId = game.getGameId();
+        logContent.setLength(0);
+        logContent.append("=== 狼人杀游戏 #").append(gameId).append(" 日志 ===\n");
+        logContent.append("开始时间: ").append(dateFormat.format(new Date())).append("\n\n");
+        
         logContent.append("【角色分配】\n");
-        for (Player player : players) {
+        for (Player player : game.getPlayers()) {
             logContent.append(player.getName()).append(" -> ").append(player.getRole().getName()).append("\n");
         }
         logContent.append("\n");
@@ -43,21 +47,24 @@ public class Log {
     /**
      * 记录白天开始
      */
-    public void logDayStart(int dayCount) {
+    @Override
+    public void onDayStart(int dayCount) {
         logContent.append("===== 第").append(dayCount).append("天 =====\n");
     }
     
     /**
      * 记录夜晚开始
      */
-    public void logNightStart() {
+    @Override
+    public void onNightStart(int day) {
         logContent.append("【夜晚】\n");
     }
     
     /**
      * 记录狼人击杀
      */
-    public void logWolfKill(Player victim) {
+    @Override
+    public void onKill(int day, Player victim) {
         if (victim != null) {
             logContent.append("狼人选择击杀：").append(victim.getName()).append("\n");
         }
@@ -66,7 +73,8 @@ public class Log {
     /**
      * 记录预言家查验
      */
-    public void logProphetCheck(Player prophet, Player target, boolean isWolf) {
+    @Override
+    public void onCheck(int day, Player prophet, Player target, boolean isWolf) {
         if (prophet != null && target != null) {
             logContent.append(prophet.getName()).append("查验了").append(target.getName())
                     .append("，结果：").append(isWolf ? "狼人" : "好人").append("\n");
@@ -76,7 +84,8 @@ public class Log {
     /**
      * 记录女巫救人
      */
-    public void logWitchSave(Player victim) {
+    @Override
+    public void onSave(int day, Player witch, Player victim) {
         if (victim != null) {
             logContent.append("女巫使用了解药，救活了").append(victim.getName()).append("\n");
         }
@@ -85,7 +94,8 @@ public class Log {
     /**
      * 记录女巫下毒
      */
-    public void logWitchPoison(Player target) {
+    @Override
+    public void onPoison(int day, Player witch, Player target) {
         if (target != null) {
             logContent.append("女巫使用了毒药，毒死了").append(target.getName()).append("\n");
         }
@@ -94,7 +104,8 @@ public class Log {
     /**
      * 记录猎人开枪
      */
-    public void logHunterShoot(Player hunter, Player target) {
+    @Override
+    public void onShot(int day, Player hunter, Player target) {
         if (hunter != null && target != null) {
             logContent.append(hunter.getName()).append("开枪带走了").append(target.getName()).append("\n");
         }
@@ -103,7 +114,8 @@ public class Log {
     /**
      * 记录夜晚结束
      */
-    public void logNightEnd(List<Player> deadPlayers) {
+    @Override
+    public void onNightEnd(int day, List<Player> deadPlayers) {
         if (!deadPlayers.isEmpty()) {
             logContent.append("夜晚结束，").append(
                     deadPlayers.stream()
@@ -119,15 +131,35 @@ public class Log {
     /**
      * 记录白天讨论开始
      */
-    public void logDayStartDiscussion() {
+    @Override
+    public void onDiscussionStart(int day) {
         logContent.append("【白天】\n");
         logContent.append("玩家们开始发言和讨论...\n");
     }
     
+    /**
+     * 记录发言消息
+     */
+    @Override
+    public void onMessage(int day, Player speaker, MessageType type, Player target, Role role) {
+        if (speaker == null) {
+            return;
+        }
+        logContent.append(speaker.getName()).append(" 发言：");
+        switch (type) {
+            case ROLE_CLAIM -> logContent.append("我是").append(role != null ? role.getName() : "未知身份");
+            case ACCUSE -> logContent.append(target != null ? target.getName() : "某人").append("是狼人");
+            case VOUCH -> logContent.append(target != null ? target.getName() : "某人").append("是好人");
+            case VOTE -> logContent.append("我投票给").append(target != null ? target.getName() : "无人");
+        }
+        logContent.append("\n");
+    }
+    
     /**
      * 记录投票
      */
-    public void logVote(Player voter, Player target) {
+    @Override
+    public void onVote(int day, Player voter, Player target) {
         if (voter != null && target != null) {
             logContent.append(voter.getName()).append(" 投票给了 ").append(target.getName()).append("\n");
         }
@@ -136,7 +168,8 @@ public class Log {
     /**
      * 记录公投结果
      */
-    public void logLynching(Player player, int votes) {
+    @Override
+    public void onLynch(int day, Player player, int votes) {
         if (player != null) {
             logContent.append(player.getName()).append(" 获得了").append(votes).append("票，被公投出局\n");
         }
@@ -145,27 +178,30 @@ public class Log {
     /**
      * 记录投票平局
      */
-    public void logVoteTie() {
+    @Override
+    public void onVoteTie(int day) {
         logContent.append("投票结果平局，无人出局\n");
     }
     
     /**
      * 记录白天结束
      */
-    public void logDayEnd() {
+    @Override
+    public void onDayEnd(int day) {
         logContent.append("\n");
     }
     
     /**
-     * 记录游戏结果
+     * 记录游戏结果并保存日志文件
      */
-    public void logGameResult(Camp winnerCamp, List<Player> players) {
+    @Override
+    public void onGameEnd(Game game) {
         logContent.append("=== 游戏结束 ===\n");
-        logContent.append("胜利者：").append(winnerCamp.getName()).append("阵营\n");
+        logContent.append("胜利者：").append(game.getWinnerCamp().getName()).append("阵营\n");
         
         // 记录存活玩家
         logContent.append("存活玩家：\n");
-        List<Player> alivePlayers = players.stream()
+        List<Player> alivePlayers = game.getPlayers().stream()
                 .filter(Player::isAlive)
                 .toList();
         
@@ -180,20 +216,17 @@ public class Log {
         // 记录结束时间
         logContent.append("结束时间: ").append(dateFormat.format(new Date())).append("\n");
         logContent.append("====================\n");
+        
+        // 保存日志到文件
+        saveToFile();
     }
     
     /**
-     * 将日志保存到文件
+     * 将日志追加到归档
      */
     public void saveToFile() {
-        File logDir = new File("res/logs");
-        if (!logDir.exists()) {
-            logDir.mkdirs();
-        }
-        String fileName = "res/logs/log" + gameId + ".txt";
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
-            writer.write(logContent.toString());
-            System.out.println("游戏日志已保存至：" + fileName);
+        try {
+            archive.append(gameId, logContent.toString());
         } catch (IOException e) {
             System.err.println("保存日志文件失败：" + e.getMessage());
         }
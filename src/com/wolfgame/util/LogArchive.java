@@ -0,0 +1,213 @@
+package com.wolfgame.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 游戏日志归档类，把每局日志作为一个数据块追加到分段归档文件中，并维护定长记录的偏移索引
+ * 目录结构：archive.idx（索引）和 archive-00000.dat、archive-00001.dat ...（数据分段，单个分段超过64MB后滚动）；
+ * 索引头为魔数、版本和是否压缩，每条记录为（游戏ID、分段号、偏移、存储长度、原始长度）共24字节，
+ * 读取某局日志只需在索引中二分查找，再对数据分段做一次定位读取
+ */
+public class LogArchive implements Closeable {
+    public static final String INDEX_FILE = "archive.idx";
+    private static final int MAGIC = 0x57474C49;        // "WGLI"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;          // 魔数、版本、压缩标志
+    private static final int RECORD_SIZE = 24;          // 每条索引记录的字节数
+    private static final long SEGMENT_SIZE = 64L << 20; // 单个数据分段的大小上限
+
+    private final Path directory;          // 归档目录
+    private final boolean compress;        // 是否逐块压缩
+    private final DataOutputStream index;  // 索引输出流
+    private final Deflater deflater;       // 块压缩器
+    private byte[] buffer;                 // 压缩输出缓冲区
+    private OutputStream segment;          // 当前数据分段输出流
+    private int segmentNumber;             // 当前数据分段号
+    private long segmentOffset;            // 当前数据分段已写入的字节数
+    private int entryCount;                // 已归档的日志数
+
+    /**
+     * 在目录中创建新的归档，覆盖目录中已有的归档文件
+     * @param directory 归档目录
+     * @param compress 是否对每局日志单独压缩
+     */
+    public LogArchive(Path directory, boolean compress) throws IOException {
+        this.directory = directory;
+        this.compress = compress;
+        Files.createDirectories(directory);
+        for (int i = 0; Files.deleteIfExists(segmentPath(directory, i)); i++) {
+            // 删除上一次运行留下的数据分段
+        }
+        this.index = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(directory.resolve(INDEX_FILE))));
+        index.writeInt(MAGIC);
+        index.writeInt(VERSION);
+        index.writeInt(compress ? 1 : 0);
+        this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        this.buffer = new byte[8192];
+        this.segment = openSegment(0);
+    }
+
+    /**
+     * 追加一局游戏的日志
+     */
+    public synchronized void append(int gameId, String content) throws IOException {
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        byte[] stored = raw;
+        int storedLength = raw.length;
+        if (compress) {
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            storedLength = 0;
+            while (!deflater.finished()) {
+                if (storedLength == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                storedLength += deflater.deflate(buffer, storedLength, buffer.length - storedLength);
+            }
+            stored = buffer;
+        }
+        if (segmentOffset > 0 && segmentOffset + storedLength > SEGMENT_SIZE) {
+            segment.close();
+            segment = openSegment(segmentNumber + 1);
+        }
+        segment.write(stored, 0, storedLength);
+        index.writeInt(gameId);
+        index.writeInt(segmentNumber);
+        index.writeLong(segmentOffset);
+        index.writeInt(storedLength);
+        index.writeInt(raw.length);
+        segmentOffset += storedLength;
+        entryCount++;
+    }
+
+    private OutputStream openSegment(int number) throws IOException {
+        segmentNumber = number;
+        segmentOffset = 0;
+        return new BufferedOutputStream(Files.newOutputStream(segmentPath(directory, number)), 1 << 16);
+    }
+
+    /**
+     * 关闭归档，刷新索引和数据分段
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        segment.close();
+        index.close();
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public int getSegmentCount() {
+        return segmentNumber + 1;
+    }
+
+    /**
+     * 从归档目录中读取第 gameId 局的日志原文，不存在时返回null
+     */
+    public static String read(Path directory, int gameId) throws IOException {
+        try (FileChannel indexChannel = FileChannel.open(directory.resolve(INDEX_FILE), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(indexChannel, header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("无效的日志归档索引：" + directory.resolve(INDEX_FILE));
+            }
+            boolean compressed = header.getInt(8) != 0;
+            long count = (indexChannel.size() - HEADER_SIZE) / RECORD_SIZE;
+            ByteBuffer record = findRecord(indexChannel, count, gameId);
+            if (record == null) {
+                return null;
+            }
+            int segmentNumber = record.getInt(4);
+            long offset = record.getLong(8);
+            int storedLength = record.getInt(16);
+            int rawLength = record.getInt(20);
+
+            ByteBuffer stored = ByteBuffer.allocate(storedLength);
+            try (FileChannel segmentChannel = FileChannel.open(segmentPath(directory, segmentNumber), StandardOpenOption.READ)) {
+                readFully(segmentChannel, stored, offset);
+            }
+            byte[] raw = stored.array();
+            if (compressed) {
+                raw = new byte[rawLength];
+                Inflater inflater = new Inflater();
+                try {
+                    inflater.setInput(stored.array());
+                    int n = 0;
+                    while (n < rawLength && !inflater.finished()) {
+                        n += inflater.inflate(raw, n, rawLength - n);
+                    }
+                } catch (DataFormatException e) {
+                    throw new IOException("日志数据块损坏：游戏#" + gameId, e);
+                } finally {
+                    inflater.end();
+                }
+            }
+            return new String(raw, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 在索引中查找游戏ID对应的记录：按顺序写入时索引有序，先二分查找，未命中再顺序扫描
+     */
+    private static ByteBuffer findRecord(FileChannel indexChannel, long count, int gameId) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        long low = 0;
+        long high = count - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            readFully(indexChannel, record.clear(), HEADER_SIZE + mid * RECORD_SIZE);
+            int id = record.getInt(0);
+            if (id == gameId) {
+                return record;
+            } else if (id < gameId) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        for (long i = 0; i < count; i++) {
+            readFully(indexChannel, record.clear(), HEADER_SIZE + i * RECORD_SIZE);
+            if (record.getInt(0) == gameId) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                throw new IOException("日志归档文件不完整");
+            }
+        }
+    }
+
+    private static Path segmentPath(Path directory, int number) {
+        return directory.resolve(String.format("archive-%05d.dat", number));
+    }
+}
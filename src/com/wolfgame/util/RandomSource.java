@@ -0,0 +1,167 @@
+package com.wolfgame.util;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.JumpableGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * 随机数源类，按算法名称（任意JDK {@link RandomGeneratorFactory} 算法，如 L64X128MixRandom、Xoroshiro128PlusPlus、
+ * SplittableRandom，或可原地重新播种的 {@link SplitMix64Random}）和基础种子为每局游戏派生独立的随机数流
+ * 第n局的随机数流只取决于基础种子和n，与运行顺序和线程无关，保证并行运行的可重复性；
+ * 对偶随机数源（{@link #antithetic()}）派生的每条流与普通随机数源的对应流相同，但输出镜像值（见 {@link AntitheticRandom}）。
+ * 默认算法为 SplitMix64：复用游戏对象时它的生成器原地重新播种，每局不分配对象；JDK算法无法原地播种，每局都会创建新的生成器
+ */
+public final class RandomSource {
+    public static final String DEFAULT_ALGORITHM = SplitMix64Random.ALGORITHM; // 默认算法
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;       // SplitMix64 步长
+
+    private final String algorithm;                               // 算法名称
+    private final RandomGeneratorFactory<RandomGenerator> factory; // 生成器工厂，SplitMix64时为null
+    private final long seed;                                      // 基础种子
+    private final boolean antithetic;                             // 是否输出对偶随机数
+
+    public RandomSource(String algorithm, long seed) {
+        this(algorithm, seed, false);
+    }
+
+    private RandomSource(String algorithm, long seed, boolean antithetic) {
+        this.algorithm = algorithm;
+        this.factory = isSplitMix(algorithm) ? null : factory(algorithm);
+        this.seed = seed;
+        this.antithetic = antithetic;
+    }
+
+    /**
+     * 获取与本随机数源派生相同底层流、但输出镜像值的对偶随机数源
+     */
+    public RandomSource antithetic() {
+        return new RandomSource(algorithm, seed, !antithetic);
+    }
+
+    /**
+     * 按名称获取生成器工厂，名称无效时抛出 IllegalArgumentException；不输出任何警告，过时算法由调用方用 {@link #isDeprecated} 提示
+     */
+    public static RandomGeneratorFactory<RandomGenerator> factory(String algorithm) {
+        return RandomGeneratorFactory.of(algorithm);
+    }
+
+    /**
+     * 判断算法是否已被JDK标记为过时，名称无效时抛出 IllegalArgumentException
+     */
+    public static boolean isDeprecated(String algorithm) {
+        return !isSplitMix(algorithm) && factory(algorithm).isDeprecated();
+    }
+
+    /**
+     * 校验算法名称，名称无效时抛出 IllegalArgumentException
+     */
+    public static void validate(String algorithm) {
+        if (!isSplitMix(algorithm)) {
+            factory(algorithm);
+        }
+    }
+
+    private static boolean isSplitMix(String algorithm) {
+        return SplitMix64Random.ALGORITHM.equalsIgnoreCase(algorithm);
+    }
+
+    /**
+     * 计算第 gameId 局游戏的种子，由基础种子按 SplitMix64 方式分裂得到
+     */
+    public long gameSeed(long gameId) {
+        return mix(seed + gameId * GOLDEN_GAMMA);
+    }
+
+    /**
+     * 派生第 gameId 局游戏的随机数流
+     */
+    public RandomGenerator forGame(long gameId) {
+        return create(gameSeed(gameId));
+    }
+
+    /**
+     * 用本随机数源的算法和指定种子创建生成器
+     */
+    public RandomGenerator create(long seed) {
+        RandomGenerator generator = createRaw(seed);
+        return antithetic ? new AntitheticRandom(generator) : generator;
+    }
+
+    private RandomGenerator createRaw(long seed) {
+        return factory == null ? new SplitMix64Random(seed) : factory.create(seed);
+    }
+
+    /**
+     * 用指定种子重新初始化生成器：可原地播种的生成器直接复用，否则创建新的生成器
+     */
+    public RandomGenerator reseed(RandomGenerator current, long seed) {
+        if (current instanceof AntitheticRandom mirror) {
+            mirror.setSource(reseedRaw(mirror.getSource(), seed));
+            return antithetic ? mirror : mirror.getSource();
+        }
+        RandomGenerator generator = reseedRaw(current, seed);
+        return antithetic ? new AntitheticRandom(generator) : generator;
+    }
+
+    private RandomGenerator reseedRaw(RandomGenerator current, long seed) {
+        if (factory == null && current instanceof SplitMix64Random splitMix) {
+            splitMix.setSeed(seed);
+            return splitMix;
+        }
+        return createRaw(seed);
+    }
+
+    /**
+     * 从父生成器分出一条独立的子流：可分裂算法使用 split，可跳跃算法使用 copyAndJump，其余算法用父流的输出重新播种
+     */
+    public RandomGenerator split(RandomGenerator parent) {
+        return split(parent, null);
+    }
+
+    /**
+     * 从父生成器分出一条独立的子流，可原地播种的子流生成器直接复用
+     */
+    public RandomGenerator split(RandomGenerator parent, RandomGenerator reuse) {
+        if (parent instanceof AntitheticRandom mirror) {
+            // 从底层流分裂，保证对偶子流与普通子流一一对应
+            if (reuse instanceof AntitheticRandom reused) {
+                reused.setSource(splitRaw(mirror.getSource(), reused.getSource()));
+                return reused;
+            }
+            return new AntitheticRandom(splitRaw(mirror.getSource(), reuse));
+        }
+        return splitRaw(parent, reuse);
+    }
+
+    private RandomGenerator splitRaw(RandomGenerator parent, RandomGenerator reuse) {
+        if (parent instanceof SplittableGenerator splittable) {
+            return splittable.split();
+        }
+        if (parent instanceof JumpableGenerator jumpable) {
+            return jumpable.copyAndJump();
+        }
+        return reseedRaw(reuse, mix(parent.nextLong()));
+    }
+
+    /**
+     * SplitMix64 混合函数
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isAntithetic() {
+        return antithetic;
+    }
+}